@@ -31,6 +31,7 @@ import com.osgifx.console.agent.dto.ConfigValue;
 import com.osgifx.console.agent.dto.DmtDataType;
 import com.osgifx.console.agent.dto.RuntimeDTO;
 import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.agent.dto.XBundleDeltaDTO;
 import com.osgifx.console.agent.dto.XBundleLoggerContextDTO;
 import com.osgifx.console.agent.dto.XComponentDTO;
 import com.osgifx.console.agent.dto.XConfigurationDTO;
@@ -38,6 +39,7 @@ import com.osgifx.console.agent.dto.XDmtNodeDTO;
 import com.osgifx.console.agent.dto.XHealthCheckDTO;
 import com.osgifx.console.agent.dto.XHealthCheckResultDTO;
 import com.osgifx.console.agent.dto.XHeapUsageDTO;
+import com.osgifx.console.agent.dto.XHeapdumpDTO;
 import com.osgifx.console.agent.dto.XHttpComponentDTO;
 import com.osgifx.console.agent.dto.XMemoryInfoDTO;
 import com.osgifx.console.agent.dto.XPropertyDTO;
@@ -49,6 +51,7 @@ import com.osgifx.console.agent.extension.AgentExtension;
 import com.osgifx.console.agent.extension.AgentExtensionName;
 import com.osgifx.console.agent.rpc.mqtt.api.Mqtt5Publisher;
 import com.osgifx.console.agent.rpc.mqtt.api.Mqtt5Subscriber;
+import com.osgifx.console.supervisor.Supervisor;
 
 /**
  * An agent runs on remote OSGi framework and provides the means to control this
@@ -82,6 +85,20 @@ public interface Agent {
      */
     String AGENT_SOCKET_SECURE_COMMUNICATION_SSL_CONTEXT_FILTER_KEY = "osgi.fx.agent.socket.secure.sslcontext.filter";
 
+    /**
+     * The property key to set the maximum number of concurrent socket sessions.
+     * <p>
+     * Every accepted socket connection is served by its own session. If the limit
+     * is reached, further connections wait until one of the active sessions gets
+     * closed.
+     */
+    String AGENT_SOCKET_MAX_SESSIONS_KEY = "osgi.fx.agent.socket.max.sessions";
+
+    /**
+     * The default maximum number of concurrent socket sessions
+     */
+    int AGENT_SOCKET_MAX_SESSIONS_DEFAULT_VALUE = 1;
+
     /**
      * The property key to specify the MQTT implementation type to use
      * <p>
@@ -112,11 +129,115 @@ public interface Agent {
      */
     String AGENT_MQTT_SUB_TOPIC_KEY = "osgi.fx.agent.mqtt.subtopic";
 
+    /**
+     * The property key to specify the maximum number of message bytes sent in a
+     * single MQTT publish. Larger messages are split into fragments. The value
+     * needs to stay below the maximum packet size of the broker.
+     */
+    String AGENT_MQTT_FRAGMENT_SIZE_KEY = "osgi.fx.agent.mqtt.fragment.size";
+
+    /**
+     * The default maximum number of message bytes in a single MQTT publish
+     */
+    int AGENT_MQTT_FRAGMENT_SIZE_DEFAULT_VALUE = 64 * 1024;
+
+    /**
+     * The property key to specify the duration in milliseconds after which a
+     * partially received MQTT message gets discarded
+     */
+    String AGENT_MQTT_REASSEMBLY_TIMEOUT_KEY = "osgi.fx.agent.mqtt.reassembly.timeout";
+
+    /**
+     * The default duration in milliseconds after which a partially received MQTT
+     * message gets discarded
+     */
+    long AGENT_MQTT_REASSEMBLY_TIMEOUT_DEFAULT_VALUE = 30_000L;
+
+    /**
+     * The property key to specify the maximum size in bytes of a fragmented MQTT
+     * message. Messages announcing a larger size are rejected before any memory
+     * gets allocated for their reassembly.
+     */
+    String AGENT_MQTT_MAX_MESSAGE_SIZE_KEY = "osgi.fx.agent.mqtt.max.message.size";
+
+    /**
+     * The default maximum size in bytes of a fragmented MQTT message
+     */
+    int AGENT_MQTT_MAX_MESSAGE_SIZE_DEFAULT_VALUE = 128 * 1024 * 1024;
+
+    /**
+     * The property key to specify the maximum number of MQTT RPC requests in
+     * flight at the same time. The effective window adapts to the observed
+     * round-trip times within this limit.
+     */
+    String AGENT_MQTT_WINDOW_SIZE_KEY = "osgi.fx.agent.mqtt.window.size";
+
+    /**
+     * The default maximum number of MQTT RPC requests in flight
+     */
+    int AGENT_MQTT_WINDOW_SIZE_DEFAULT_VALUE = 32;
+
     /**
      * The property key to enable agent RPC logs
      */
     String AGENT_RPC_TRACE_LOG_KEY = "osgi.fx.agent.rpc.logs.enabled";
 
+    /**
+     * The property key to specify the RPC codecs to offer during the codec
+     * negotiation (comma-separated in the order of preference, for example
+     * {@code binary,json}).
+     * <p>
+     * The {@code json} codec is always supported as fallback.
+     */
+    String AGENT_RPC_CODECS_KEY = "osgi.fx.agent.rpc.codecs";
+
+    /**
+     * The property key to specify the maximum number of OSGi events and log
+     * entries (each) buffered by the agent before they are pushed to the
+     * supervisor. If the buffer is full, the oldest entries get dropped.
+     */
+    String AGENT_PUSH_BUFFER_SIZE_KEY = "osgi.fx.agent.push.buffer.size";
+
+    /**
+     * The default maximum number of buffered OSGi events and log entries (each)
+     */
+    int AGENT_PUSH_BUFFER_SIZE_DEFAULT_VALUE = 4096;
+
+    /**
+     * The property key to specify the maximum number of OSGi events or log entries
+     * pushed to the supervisor in a single batch. Reaching this number also
+     * triggers an early flush.
+     */
+    String AGENT_PUSH_BATCH_SIZE_KEY = "osgi.fx.agent.push.batch.size";
+
+    /**
+     * The default maximum number of OSGi events or log entries in a single batch
+     */
+    int AGENT_PUSH_BATCH_SIZE_DEFAULT_VALUE = 256;
+
+    /**
+     * The property key to specify the interval in milliseconds in which the
+     * buffered OSGi events and log entries are pushed to the supervisor
+     */
+    String AGENT_PUSH_FLUSH_INTERVAL_KEY = "osgi.fx.agent.push.flush.interval";
+
+    /**
+     * The default interval in milliseconds for pushing the buffered OSGi events and
+     * log entries
+     */
+    long AGENT_PUSH_FLUSH_INTERVAL_DEFAULT_VALUE = 250L;
+
+    /**
+     * The property key to specify the maximum number of stack frames captured for
+     * every thread. The stack traces are not captured if the depth is {@code 0}.
+     */
+    String AGENT_THREADS_STACK_DEPTH_KEY = "osgi.fx.agent.threads.stack.depth";
+
+    /**
+     * The default maximum number of captured stack frames per thread
+     */
+    int AGENT_THREADS_STACK_DEPTH_DEFAULT_VALUE = 0;
+
     /**
      * The port for attaching to a remote Gogo CommandSession
      */
@@ -272,6 +393,26 @@ public interface Agent {
      */
     void disableReceivingEvent();
 
+    /**
+     * Updates the OSGi Event Admin subscription of the agent such that only the
+     * events the supervisor is interested in are converted and sent
+     *
+     * @param topics the event topics to subscribe to ({@code null} subscribes to
+     *            all topics whereas an empty collection does not subscribe to any
+     *            topic)
+     * @param filter the optional LDAP filter to match the event properties against
+     *            (can be {@code null})
+     */
+    void updateEventSubscription(Collection<String> topics, String filter);
+
+    /**
+     * Notifies the agent that the supervisor accepts batches of OSGi events and log
+     * entries, i.e. the agent can use {@link Supervisor#onOSGiEvents(List)} and
+     * {@link Supervisor#onLogEntries(List)} instead of pushing every single OSGi
+     * event and log entry separately.
+     */
+    void enableBatchedNotifications();
+
     /**
      * Executes the specified terminal (CLI) command in a separate process.
      *
@@ -298,6 +439,18 @@ public interface Agent {
      */
     List<XBundleDTO> getAllBundles();
 
+    /**
+     * Returns the changes of the installed bundles since the specified revision of
+     * the bundle model
+     *
+     * @param epoch the epoch of the previously received delta (or {@code null} to
+     *            receive a complete snapshot)
+     * @param revision the revision of the previously received delta
+     * @return the changes since the specified revision, or a complete snapshot if
+     *         the changes cannot be computed
+     */
+    XBundleDeltaDTO getBundleDelta(String epoch, long revision);
+
     /**
      * Get the detailed information of all the registered DS service components
      * <p>
@@ -354,6 +507,24 @@ public interface Agent {
      */
     XDmtNodeDTO readDmtNode(String rootURI);
 
+    /**
+     * Returns the specified DMT node together with a page of its children. The
+     * children are sorted by their names and the page is selected by the
+     * specified offset and limit. The descendants of the children are included
+     * up to the specified depth where every nested level is limited to its first
+     * {@code limit} children. The number of all the children of a node is
+     * available in {@link XDmtNodeDTO#childCount} to load further pages on
+     * demand.
+     *
+     * @param uri the URI of the DMT node to read
+     * @param depth the number of descendant levels to include ({@code 0} for
+     *            none)
+     * @param offset the index of the first child to include
+     * @param limit the maximum number of children to include per node
+     * @return the DMT node or {@code null} if the URI doesn't denote a node
+     */
+    XDmtNodeDTO readDmtNode(String uri, int depth, int offset, int limit);
+
     /**
      * Update the specified DMT leaf node with the specified value
      *
@@ -392,6 +563,17 @@ public interface Agent {
      */
     XResultDTO enableComponentById(long id);
 
+    /**
+     * Enables the component descriptions of the specified component
+     * configurations. The state changes are initiated together and hence, they
+     * are processed by SCR in parallel.
+     *
+     * @param ids the ids of the component configurations
+     * @return the detailed information about the operations whether they
+     *         succeeded or failed (key=id, value=result)
+     */
+    Map<Long, XResultDTO> enableComponentsById(long... ids);
+
     /**
      * Disables the component description by name
      *
@@ -410,6 +592,17 @@ public interface Agent {
      */
     XResultDTO disableComponentById(long id);
 
+    /**
+     * Disables the component descriptions of the specified component
+     * configurations. The state changes are initiated together and hence, they
+     * are processed by SCR in parallel.
+     *
+     * @param ids the ids of the component configurations
+     * @return the detailed information about the operations whether they
+     *         succeeded or failed (key=id, value=result)
+     */
+    Map<Long, XResultDTO> disableComponentsById(long... ids);
+
     /**
      * Creates or updates the associated {@code Configuration} objects with the
      * specified properties.
@@ -614,11 +807,50 @@ public interface Agent {
 
     /**
      * Performs a heap dump in the remote machine
+     * <p>
+     * Note that, the complete heap dump is kept in memory during the transfer.
+     * For large heaps, use {@link #captureHeapdump()} and
+     * {@link #readHeapdumpChunk(String, long, int, boolean)} instead.
      *
      * @return the heap dump information
      */
     byte[] heapdump() throws Exception;
 
+    /**
+     * Performs a heap dump in the remote machine and keeps it in the remote
+     * machine until it gets deleted using {@link #deleteHeapdump(String)}
+     *
+     * @return the heap dump information, otherwise {@code null} if the remote
+     *         runtime does not support heap dumps
+     */
+    XHeapdumpDTO captureHeapdump() throws Exception;
+
+    /**
+     * Reads a chunk of the specified heap dump
+     * <p>
+     * The chunks can be read in any order which allows resuming an interrupted
+     * transfer from the last successfully received offset.
+     *
+     * @param id the identifier of the heap dump
+     * @param offset the offset in the heap dump to start reading from
+     * @param length the maximum number of bytes to read (the remote runtime may
+     *            return less bytes)
+     * @param compress {@code true} if the chunk should be GZIP compressed,
+     *            otherwise {@code false}
+     * @return the (optionally compressed) chunk, or an empty array if the end of
+     *         the heap dump has been reached
+     */
+    byte[] readHeapdumpChunk(String id, long offset, int length, boolean compress) throws Exception;
+
+    /**
+     * Deletes the specified heap dump from the remote machine
+     *
+     * @param id the identifier of the heap dump
+     * @return the detailed information about the operation whether it succeeded or
+     *         failed
+     */
+    XResultDTO deleteHeapdump(String id);
+
     /**
      * Performs a garbage collection
      */
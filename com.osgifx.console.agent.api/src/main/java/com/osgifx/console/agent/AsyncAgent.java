@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * An asynchronous view of a remote {@link Agent}. The calls do not block the
+ * calling thread while the remote agent processes the request.
+ */
+@ProviderType
+public interface AsyncAgent {
+
+    /**
+     * Calls the agent method that the specified function invokes, for example,
+     * {@code asyncAgent.call(agent -> agent.getAllBundles())}. The function is
+     * not applied to the remote agent itself but only records the invoked method
+     * and its arguments.
+     *
+     * @param <T> the type of the result
+     * @param call the function invoking exactly one non-void method of the agent
+     *            (cannot be {@code null})
+     * @return the future of the result which completes exceptionally if the
+     *         remote agent fails to process the request, if no response is
+     *         received in time or if the agent gets disconnected
+     * @throws IllegalArgumentException if the function does not invoke exactly
+     *             one non-void method of the agent
+     */
+    <T> CompletableFuture<T> call(Function<Agent, T> call);
+
+}
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.dto;
+
+import java.util.List;
+
+import org.osgi.dto.DTO;
+
+/**
+ * Represents the changes of the installed bundles since a previously received
+ * revision of the bundle model.
+ * <p>
+ * The receiver keeps the {@code epoch} and the {@code revision} of the last
+ * applied delta and passes them to the next request. If the agent cannot
+ * compute the changes since that revision (for example, because the agent has
+ * been restarted in the meantime), a complete snapshot is sent instead.
+ */
+public class XBundleDeltaDTO extends DTO {
+
+    /** The identifier of the bundle model lifetime the revision belongs to */
+    public String epoch;
+
+    /** The revision of the bundle model this delta brings the receiver up to */
+    public long revision;
+
+    /** {@code true} if {@code updated} contains all installed bundles */
+    public boolean isSnapshot;
+
+    /** The installed or changed bundles */
+    public List<XBundleDTO> updated;
+
+    /** The identifiers of the uninstalled bundles */
+    public List<Long> removed;
+
+}
@@ -44,4 +44,7 @@ public class XDmtNodeDTO extends DTO {
     /** The list of child nodes belonging to the DMT node */
     public List<XDmtNodeDTO> children;
 
+    /** The total number of child nodes, irrespective of how many have been loaded */
+    public int childCount;
+
 }
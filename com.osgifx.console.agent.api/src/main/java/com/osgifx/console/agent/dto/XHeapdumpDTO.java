@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.dto;
+
+import org.osgi.dto.DTO;
+
+/**
+ * Represents a heap dump that has been captured in the remote runtime and can
+ * be transferred in chunks.
+ */
+public class XHeapdumpDTO extends DTO {
+
+    /** The identifier of the heap dump to use for reading its chunks */
+    public String id;
+
+    /** The size of the heap dump in bytes */
+    public long size;
+
+    /** The time when the heap dump has been captured */
+    public long capturedAt;
+
+}
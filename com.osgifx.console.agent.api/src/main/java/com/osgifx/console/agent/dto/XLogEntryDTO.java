@@ -30,7 +30,23 @@ import org.osgi.dto.DTO;
 public class XLogEntryDTO extends DTO {
 
     // Bundle Information
-    /** The bundle that generated the log entry. */
+    /**
+     * The identifier of the bundle that generated the log entry or {@code -1} if
+     * the log entry has not been generated by any bundle.
+     */
+    public long bundleId;
+
+    /** The symbolic name of the bundle that generated the log entry. */
+    public String bundleSymbolicName;
+
+    /** The version of the bundle that generated the log entry. */
+    public String bundleVersion;
+
+    /**
+     * The bundle that generated the log entry. This is not sent by the remote
+     * runtime agent anymore but resolved by the console from its cached bundles.
+     * It is {@code null} if the log entry has not been generated by any bundle.
+     */
     public XBundleDTO bundle;
 
     // Log Details
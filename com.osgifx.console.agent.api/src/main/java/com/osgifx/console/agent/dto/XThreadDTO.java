@@ -15,6 +15,8 @@
  ******************************************************************************/
 package com.osgifx.console.agent.dto;
 
+import java.util.List;
+
 import org.osgi.dto.DTO;
 
 /**
@@ -54,4 +56,37 @@ public class XThreadDTO extends DTO {
     /** Indicates whether the thread is in a deadlocked state. */
     public boolean isDeadlocked;
 
+    /** The total CPU time of the thread in nanoseconds, or {@code -1} if unsupported. */
+    public long cpuTime;
+
+    /**
+     * The CPU usage of the thread in percent of a single CPU since the previous
+     * retrieval, or {@code -1} if unknown.
+     */
+    public double cpuUsage;
+
+    /** The total number of bytes allocated by the thread, or {@code -1} if unsupported. */
+    public long allocatedBytes;
+
+    /**
+     * The number of bytes allocated by the thread per second since the previous
+     * retrieval, or {@code -1} if unknown.
+     */
+    public long allocationRate;
+
+    /** The total number of times the thread has been blocked, or {@code -1} if unknown. */
+    public long blockedCount;
+
+    /** The total number of times the thread has been waiting, or {@code -1} if unknown. */
+    public long waitedCount;
+
+    /** The name of the lock the thread is blocked on or waiting for, if any. */
+    public String lockName;
+
+    /** The ID of the thread owning the lock the thread is blocked on, or {@code -1} if none. */
+    public long lockOwnerId;
+
+    /** The top frames of the stack trace of the thread (empty if not captured). */
+    public List<String> stackTrace;
+
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.rpc;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * A method invocation on a remote proxy that has been recorded instead of being
+ * executed.
+ * <p>
+ * The asynchronous RPC calls are expressed as functions on the remote type,
+ * for example, {@code rpc.callAsync(agent -> agent.getAllBundles())}. The
+ * function is applied to a recording proxy which captures the invoked method
+ * and its arguments such that the RPC implementation can send the request
+ * without blocking the calling thread.
+ */
+public final class RemoteInvocation {
+
+    private static final ThreadLocal<RemoteInvocation> RECORDED  = new ThreadLocal<>();
+    private static final Map<Class<?>, Object>         RECORDERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Object>         DEFAULTS  = new HashMap<>();
+
+    static {
+        DEFAULTS.put(boolean.class, false);
+        DEFAULTS.put(byte.class, (byte) 0);
+        DEFAULTS.put(short.class, (short) 0);
+        DEFAULTS.put(char.class, (char) 0);
+        DEFAULTS.put(int.class, 0);
+        DEFAULTS.put(long.class, 0L);
+        DEFAULTS.put(float.class, 0F);
+        DEFAULTS.put(double.class, 0D);
+    }
+
+    public final Method   method;
+    public final Object[] args;
+
+    private RemoteInvocation(final Method method, final Object[] args) {
+        this.method = method;
+        this.args   = args;
+    }
+
+    /**
+     * Records the single method invocation that the specified function performs
+     * on the remote type
+     *
+     * @param <R> the remote type
+     * @param remoteClass the remote type
+     * @param call the function invoking exactly one method of the remote type
+     * @return the recorded invocation
+     * @throws IllegalArgumentException if the function does not invoke exactly
+     *             one non-void method of the remote type
+     */
+    public static <R> RemoteInvocation record(final Class<R> remoteClass, final Function<R, ?> call) {
+        final R recorder = remoteClass.cast(RECORDERS.computeIfAbsent(remoteClass, RemoteInvocation::newRecorder));
+        try {
+            call.apply(recorder);
+            final RemoteInvocation invocation = RECORDED.get();
+            if (invocation == null) {
+                throw new IllegalArgumentException("The call does not invoke any method of " + remoteClass.getName());
+            }
+            if (invocation.method.getReturnType() == void.class) {
+                throw new IllegalArgumentException("The call invokes a void method: " + invocation.method.getName());
+            }
+            return invocation;
+        } finally {
+            RECORDED.remove();
+        }
+    }
+
+    /**
+     * Completes the specified future exceptionally with a
+     * {@link TimeoutException} if it has not been completed within the specified
+     * duration
+     *
+     * @param <T> the type of the result
+     * @param future the future to observe
+     * @param timeout the maximum duration
+     * @param unit the unit of the duration
+     * @return the specified future
+     */
+    public static <T> CompletableFuture<T> orTimeout(final CompletableFuture<T> future,
+                                                     final long timeout,
+                                                     final TimeUnit unit) {
+        if (!future.isDone()) {
+            final ScheduledFuture<?> timer = Timer.INSTANCE.schedule(
+                    () -> future.completeExceptionally(new TimeoutException("RPC timed out after " + timeout + " " + unit)),
+                    timeout, unit);
+            future.whenComplete((r, e) -> timer.cancel(false));
+        }
+        return future;
+    }
+
+    private static Object newRecorder(final Class<?> remoteClass) {
+        return Proxy.newProxyInstance(remoteClass.getClassLoader(), new Class<?>[] { remoteClass },
+                (target, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        final Object hash = new Object();
+                        return method.invoke(hash, args);
+                    }
+                    if (RECORDED.get() != null) {
+                        throw new IllegalArgumentException("The call invokes more than one method of "
+                                + remoteClass.getName());
+                    }
+                    RECORDED.set(new RemoteInvocation(method, args));
+                    // the result is never used but it must be unboxable
+                    return DEFAULTS.get(method.getReturnType());
+                });
+    }
+
+    // lazily creates the timer thread once the first asynchronous call is made
+    private static final class Timer {
+        private static final ScheduledThreadPoolExecutor INSTANCE;
+
+        static {
+            INSTANCE = new ScheduledThreadPoolExecutor(1, r -> {
+                final Thread thread = new Thread(r, "fx-rpc-timeouts");
+                thread.setDaemon(true);
+                return thread;
+            });
+            INSTANCE.setRemoveOnCancelPolicy(true);
+        }
+    }
+
+}
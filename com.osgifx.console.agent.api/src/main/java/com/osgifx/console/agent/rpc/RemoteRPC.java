@@ -16,6 +16,8 @@
 package com.osgifx.console.agent.rpc;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * Defines a remote RPC mechanism over an underlying connection, such as a socket or MQTT.
@@ -44,6 +46,32 @@ public interface RemoteRPC<L, R> {
      */
     R getRemote();
 
+    /**
+     * Calls the remote method that the specified function invokes on the remote
+     * agent without blocking the calling thread, for example,
+     * {@code callAsync(agent -> agent.getAllBundles())}. The returned future is
+     * completed as soon as the response has been received. It completes
+     * exceptionally if the remote method fails, if no response is received in
+     * time or if the communication link gets closed.
+     *
+     * @param <T> the type of the result
+     * @param call the function invoking exactly one non-void method of the remote
+     *            agent
+     * @return the future of the result
+     */
+    <T> CompletableFuture<T> callAsync(Function<R, T> call);
+
+    /**
+     * Checks if the remote side has taken part in the protocol negotiation. Older
+     * agents and supervisors never negotiate and hence, do not support the
+     * methods that have been introduced together with the negotiation, such as
+     * the chunked heap dump transfer.
+     *
+     * @return {@code true} if the remote side has negotiated, otherwise
+     *         {@code false}
+     */
+    boolean isNegotiated();
+
     /**
      * Checks if the RPC communication link is open.
      *
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.rpc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.osgifx.console.agent.rpc.codec.RpcCodecs;
+
+/**
+ * The precomputed table of the methods of a local RPC endpoint that can be
+ * called by the remote side.
+ * <p>
+ * The table is built once per RPC connection such that the incoming calls are
+ * dispatched by their method name and number of arguments without scanning
+ * the methods of the endpoint and without reflective invocations.
+ */
+public final class RpcDispatchTable {
+
+    private static final Entry[] NONE = new Entry[0];
+
+    private final Map<String, Entry[]> entries = new HashMap<>(); // key: method name, index: number of arguments
+
+    /**
+     * Creates the dispatch table of the specified endpoint
+     *
+     * @param target the local endpoint that serves the remote calls
+     */
+    public RpcDispatchTable(final Object target) {
+        for (final Method m : target.getClass().getMethods()) {
+            if (m.getDeclaringClass() == RemoteRPC.class || m.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            final int arity   = m.getParameterCount();
+            Entry[]   byArity = entries.getOrDefault(m.getName(), NONE);
+            if (byArity.length <= arity) {
+                final Entry[] grown = new Entry[arity + 1];
+                System.arraycopy(byArity, 0, grown, 0, byArity.length);
+                byArity = grown;
+                entries.put(m.getName(), byArity);
+            }
+            // the first method with the same name and arity wins as before
+            if (byArity[arity] == null) {
+                byArity[arity] = new Entry(target, m);
+            }
+        }
+    }
+
+    /**
+     * Returns the method with the specified name and number of arguments
+     *
+     * @param name the method name
+     * @param arity the number of arguments
+     * @return the method or {@code null} if no such method exists
+     */
+    public Entry get(final String name, final int arity) {
+        final Entry[] byArity = entries.get(name);
+        if (byArity == null || arity >= byArity.length) {
+            return null;
+        }
+        return byArity[arity];
+    }
+
+    /**
+     * A method of the local endpoint with its argument types resolved upfront
+     */
+    public static final class Entry {
+
+        private final Object       target;
+        private final Method       method;
+        private final MethodHandle handle;        // null if the method is not accessible via method handles
+        private final Class<?>[]   parameterTypes;
+        private final Type[]       genericParameterTypes;
+        private final boolean      isVoid;
+
+        private Entry(final Object target, final Method method) {
+            this.target           = target;
+            this.method           = method;
+            parameterTypes        = method.getParameterTypes();
+            genericParameterTypes = method.getGenericParameterTypes();
+            isVoid                = method.getReturnType() == void.class;
+            handle                = spreader(target, method);
+        }
+
+        /**
+         * Decodes the received arguments to the parameter types of the method
+         *
+         * @param args the encoded arguments
+         * @return the decoded arguments
+         * @throws Exception if any argument cannot be decoded
+         */
+        public Object[] decode(final List<byte[]> args) throws Exception {
+            final Object[] parameters = new Object[args.size()];
+            for (int i = 0; i < parameters.length; i++) {
+                if (parameterTypes[i] == byte[].class) {
+                    parameters[i] = args.get(i);
+                } else {
+                    parameters[i] = RpcCodecs.decode(args.get(i), genericParameterTypes[i]);
+                }
+            }
+            return parameters;
+        }
+
+        /**
+         * Invokes the method with the specified arguments
+         *
+         * @param parameters the decoded arguments
+         * @return the result or {@code null} if the method is void
+         * @throws Throwable if the method fails
+         */
+        public Object invoke(final Object[] parameters) throws Throwable {
+            if (handle != null) {
+                return (Object) handle.invokeExact(parameters);
+            }
+            return method.invoke(target, parameters);
+        }
+
+        public boolean isVoid() {
+            return isVoid;
+        }
+
+        private static MethodHandle spreader(final Object target, final Method method) {
+            try {
+                return MethodHandles.publicLookup()
+                                    .unreflect(method)
+                                    .bindTo(target)
+                                    .asSpreader(Object[].class, method.getParameterCount())
+                                    .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (final IllegalAccessException e) {
+                // for example, public methods of non-public classes
+                return null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,665 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.rpc.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A compact binary codec for DTO graphs.
+ * <p>
+ * Values are written as tagged entries. Strings are interned per payload such
+ * that repeating values (symbolic names, package names, states etc.) are only
+ * written once, and the field layout of every DTO class is only written once
+ * per payload as well. The public fields of every DTO class are looked up only
+ * once and cached for subsequent encodings and decodings.
+ */
+public final class BinaryRpcCodec implements RpcCodec {
+
+    public static final String NAME = "binary";
+
+    private static final byte MAGIC     = (byte) 0xB1;
+    private static final byte VERSION   = 1;
+    private static final int  MAX_DEPTH = 512;
+
+    private static final byte NULL       = 0;
+    private static final byte TRUE       = 1;
+    private static final byte FALSE      = 2;
+    private static final byte BYTE       = 3;
+    private static final byte SHORT      = 4;
+    private static final byte INT        = 5;
+    private static final byte LONG       = 6;
+    private static final byte FLOAT      = 7;
+    private static final byte DOUBLE     = 8;
+    private static final byte CHAR       = 9;
+    private static final byte STRING     = 10;
+    private static final byte STRING_REF = 11;
+    private static final byte BYTES      = 12;
+    private static final byte LIST       = 13;
+    private static final byte MAP        = 14;
+    private static final byte OBJECT     = 15;
+
+    // bound to the lifetime of each class such that DTO class loaders can still be unloaded
+    private static final ClassValue<ClassAccessor> ACCESSORS = new ClassValue<ClassAccessor>() {
+        @Override
+        protected ClassAccessor computeValue(final Class<?> clazz) {
+            return new ClassAccessor(clazz);
+        }
+    };
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean accepts(final byte[] data) {
+        return data.length > 1 && data[0] == MAGIC && data[1] == VERSION;
+    }
+
+    @Override
+    public byte[] encode(final Object value) throws Exception {
+        final Writer writer = new Writer();
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+        writer.writeValue(value, 0);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Object decode(final byte[] data, final Type type) throws Exception {
+        if (!accepts(data)) {
+            throw new IllegalArgumentException("Payload has not been encoded using the binary codec");
+        }
+        final Reader reader = new Reader(data, 2);
+        return reader.readValue(type, 0);
+    }
+
+    private static ClassAccessor accessor(final Class<?> clazz) {
+        return ACCESSORS.get(clazz);
+    }
+
+    private static final class ClassAccessor {
+
+        private final Class<?>           clazz;
+        private final Field[]            fields;
+        private final String[]           names;
+        private final Map<String, Field> byName;
+        private final Constructor<?>     constructor;
+
+        ClassAccessor(final Class<?> clazz) {
+            this.clazz = clazz;
+            // @formatter:off
+            fields = Arrays.stream(clazz.getFields())
+                           .filter(f -> !Modifier.isStatic(f.getModifiers()))
+                           .filter(f -> !Modifier.isTransient(f.getModifiers()))
+                           .filter(f -> !f.isSynthetic())
+                           .sorted(Comparator.comparing(Field::getName))
+                           .toArray(Field[]::new);
+            // @formatter:on
+            names  = new String[fields.length];
+            byName = new HashMap<>();
+            for (int i = 0; i < fields.length; i++) {
+                names[i] = fields[i].getName();
+                byName.put(names[i], fields[i]);
+            }
+            Constructor<?> ctor;
+            try {
+                ctor = clazz.getConstructor();
+            } catch (final NoSuchMethodException e) {
+                ctor = null;
+            }
+            constructor = ctor;
+        }
+
+        boolean isDTO() {
+            return fields.length > 0;
+        }
+
+        Object newInstance() throws Exception {
+            if (constructor == null) {
+                throw new IllegalArgumentException("No public no-arg constructor in " + clazz.getName());
+            }
+            return constructor.newInstance();
+        }
+    }
+
+    private static final class Writer {
+
+        private byte[]                       buffer  = new byte[256];
+        private int                          count;
+        private final Map<String, Integer>   strings = new HashMap<>();
+        private final Map<Class<?>, Integer> shapes  = new HashMap<>();
+
+        void writeValue(final Object value, final int depth) throws Exception {
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("Value is either cyclic or too deeply nested");
+            }
+            if (value == null) {
+                writeByte(NULL);
+            } else if (value instanceof String) {
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof Integer) {
+                writeByte(INT);
+                writeVarLong(zigzag((Integer) value));
+            } else if (value instanceof Long) {
+                writeByte(LONG);
+                writeVarLong(zigzag((Long) value));
+            } else if (value instanceof Double) {
+                writeByte(DOUBLE);
+                writeLong(Double.doubleToRawLongBits((Double) value));
+            } else if (value instanceof Float) {
+                writeByte(FLOAT);
+                writeVarLong(Float.floatToRawIntBits((Float) value) & 0xFFFFFFFFL);
+            } else if (value instanceof Short) {
+                writeByte(SHORT);
+                writeVarLong(zigzag((Short) value));
+            } else if (value instanceof Byte) {
+                writeByte(BYTE);
+                writeByte((Byte) value);
+            } else if (value instanceof Character) {
+                writeByte(CHAR);
+                writeVarLong((Character) value);
+            } else if (value instanceof Enum<?>) {
+                writeString(((Enum<?>) value).name());
+            } else if (value instanceof byte[]) {
+                final byte[] bytes = (byte[]) value;
+                writeByte(BYTES);
+                writeVarLong(bytes.length);
+                writeBytes(bytes);
+            } else if (value instanceof Collection<?>) {
+                final Collection<?> collection = (Collection<?>) value;
+                writeByte(LIST);
+                writeVarLong(collection.size());
+                for (final Object element : collection) {
+                    writeValue(element, depth + 1);
+                }
+            } else if (value.getClass().isArray()) {
+                final int length = Array.getLength(value);
+                writeByte(LIST);
+                writeVarLong(length);
+                for (int i = 0; i < length; i++) {
+                    writeValue(Array.get(value, i), depth + 1);
+                }
+            } else if (value instanceof Map<?, ?>) {
+                final Map<?, ?> map = (Map<?, ?>) value;
+                writeByte(MAP);
+                writeVarLong(map.size());
+                for (final Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(entry.getKey(), depth + 1);
+                    writeValue(entry.getValue(), depth + 1);
+                }
+            } else {
+                final ClassAccessor accessor = accessor(value.getClass());
+                if (!accessor.isDTO()) {
+                    writeString(value.toString());
+                    return;
+                }
+                writeByte(OBJECT);
+                writeShape(value.getClass(), accessor);
+                for (final Field field : accessor.fields) {
+                    writeValue(field.get(value), depth + 1);
+                }
+            }
+        }
+
+        private void writeShape(final Class<?> clazz, final ClassAccessor accessor) {
+            final Integer ref = shapes.get(clazz);
+            if (ref != null) {
+                writeVarLong(ref);
+                return;
+            }
+            final int newRef = shapes.size();
+            shapes.put(clazz, newRef);
+            writeVarLong(newRef);
+            writeVarLong(accessor.names.length);
+            for (final String name : accessor.names) {
+                writeString(name);
+            }
+        }
+
+        private void writeString(final String value) {
+            final Integer ref = strings.get(value);
+            if (ref != null) {
+                writeByte(STRING_REF);
+                writeVarLong(ref);
+                return;
+            }
+            strings.put(value, strings.size());
+            final byte[] bytes = value.getBytes(UTF_8);
+            writeByte(STRING);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        private static long zigzag(final long value) {
+            return value << 1 ^ value >> 63;
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[count++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            buffer[count++] = (byte) value;
+        }
+
+        private void writeLong(final long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[count++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeByte(final int value) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) value;
+        }
+
+        private void writeBytes(final byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, count, bytes.length);
+            count += bytes.length;
+        }
+
+        private void ensureCapacity(final int length) {
+            if (count + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, count + length));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, count);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[]         data;
+        private int                  position;
+        private final List<String>   strings = new ArrayList<>();
+        private final List<String[]> shapes  = new ArrayList<>();
+
+        Reader(final byte[] data, final int position) {
+            this.data     = data;
+            this.position = position;
+        }
+
+        Object readValue(final Type type, final int depth) throws Exception {
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("Payload is too deeply nested");
+            }
+            final byte tag = data[position++];
+            switch (tag) {
+                case NULL:
+                    return null;
+                case TRUE:
+                    return convertBoolean(true, type);
+                case FALSE:
+                    return convertBoolean(false, type);
+                case BYTE:
+                    return convertNumber(data[position++], type);
+                case SHORT:
+                    return convertNumber((short) unzigzag(readVarLong()), type);
+                case INT:
+                    return convertNumber((int) unzigzag(readVarLong()), type);
+                case LONG:
+                    return convertNumber(unzigzag(readVarLong()), type);
+                case FLOAT:
+                    return convertNumber(Float.intBitsToFloat((int) readVarLong()), type);
+                case DOUBLE:
+                    return convertNumber(Double.longBitsToDouble(readLong()), type);
+                case CHAR:
+                    return convertChar((char) readVarLong(), type);
+                case STRING:
+                case STRING_REF:
+                    return convertString(readString(tag), type);
+                case BYTES:
+                    final byte[] bytes = new byte[readLength()];
+                    System.arraycopy(data, position, bytes, 0, bytes.length);
+                    position += bytes.length;
+                    return bytes;
+                case LIST:
+                    return readList(type, depth);
+                case MAP:
+                    return readMap(type, depth);
+                case OBJECT:
+                    return readObject(type, depth);
+                default:
+                    throw new IllegalArgumentException("Unknown tag in binary payload: " + tag);
+            }
+        }
+
+        private Object readList(final Type type, final int depth) throws Exception {
+            final int      size = readLength();
+            final Class<?> raw  = rawClass(type);
+            if (raw.isArray()) {
+                final Class<?> componentType = raw.getComponentType();
+                final Type     elementType   = type instanceof GenericArrayType
+                        ? ((GenericArrayType) type).getGenericComponentType()
+                        : componentType;
+                final Object   array         = Array.newInstance(componentType, size);
+                for (int i = 0; i < size; i++) {
+                    final Object element = readValue(elementType, depth + 1);
+                    if (element != null || !componentType.isPrimitive()) {
+                        Array.set(array, i, element);
+                    }
+                }
+                return array;
+            }
+            final Type               elementType = typeArgument(type, 0);
+            final Collection<Object> collection  = newCollection(raw, size);
+            for (int i = 0; i < size; i++) {
+                collection.add(readValue(elementType, depth + 1));
+            }
+            return collection;
+        }
+
+        private Object readMap(final Type type, final int depth) throws Exception {
+            final int                 size      = readLength();
+            final Type                keyType   = typeArgument(type, 0);
+            final Type                valueType = typeArgument(type, 1);
+            final Map<Object, Object> map       = newMap(rawClass(type), size);
+            for (int i = 0; i < size; i++) {
+                final Object key = readValue(keyType, depth + 1);
+                map.put(key, readValue(valueType, depth + 1));
+            }
+            return map;
+        }
+
+        private Object readObject(final Type type, final int depth) throws Exception {
+            final String[] names = readShape();
+            final Class<?> raw   = rawClass(type);
+            if (raw == Object.class || Map.class.isAssignableFrom(raw)) {
+                final Type                valueType = typeArgument(type, 1);
+                final Map<Object, Object> map       = newMap(raw, names.length);
+                for (final String name : names) {
+                    map.put(name, readValue(valueType, depth + 1));
+                }
+                return map;
+            }
+            final ClassAccessor accessor = accessor(raw);
+            final Object        instance = accessor.newInstance();
+            for (final String name : names) {
+                final Field field = accessor.byName.get(name);
+                if (field == null) {
+                    // unknown field (different DTO version on the other side)
+                    readValue(Object.class, depth + 1);
+                    continue;
+                }
+                final Object value = readValue(field.getGenericType(), depth + 1);
+                if (value != null || !field.getType().isPrimitive()) {
+                    field.set(instance, value);
+                }
+            }
+            return instance;
+        }
+
+        private String[] readShape() {
+            final int ref = (int) readVarLong();
+            if (ref < shapes.size()) {
+                return shapes.get(ref);
+            }
+            final String[] names = new String[readLength()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = readString(data[position++]);
+            }
+            shapes.add(names);
+            return names;
+        }
+
+        private String readString(final byte tag) {
+            if (tag == STRING_REF) {
+                return strings.get((int) readVarLong());
+            }
+            if (tag != STRING) {
+                throw new IllegalArgumentException("Expected string in binary payload but found tag " + tag);
+            }
+            final int    length = readLength();
+            final String value  = new String(data, position, length, UTF_8);
+            position += length;
+            strings.add(value);
+            return value;
+        }
+
+        /**
+         * Reads the length of a byte sequence or the size of a container. Every
+         * byte or element occupies at least one byte in the payload, hence a
+         * length exceeding the remaining bytes can only stem from a corrupt or
+         * malicious payload and must be rejected before anything is allocated.
+         */
+        private int readLength() {
+            final long length = readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new IllegalArgumentException("Invalid length in binary payload: " + length);
+            }
+            return (int) length;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int  shift = 0;
+            byte b;
+            do {
+                b      = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = value << 8 | data[position++] & 0xFF;
+            }
+            return value;
+        }
+
+        private static long unzigzag(final long value) {
+            return value >>> 1 ^ -(value & 1);
+        }
+    }
+
+    private static Object convertBoolean(final boolean value, final Type type) {
+        final Class<?> raw = rawClass(type);
+        if (raw == String.class) {
+            return String.valueOf(value);
+        }
+        return value;
+    }
+
+    private static Object convertChar(final char value, final Type type) {
+        final Class<?> raw = rawClass(type);
+        if (raw == String.class) {
+            return String.valueOf(value);
+        }
+        if (raw == char.class || raw == Character.class || raw == Object.class) {
+            return value;
+        }
+        return convertNumber((int) value, type);
+    }
+
+    private static Object convertNumber(final Number value, final Type type) {
+        final Class<?> raw = rawClass(type);
+        if (raw == Object.class || raw == Number.class || raw.isInstance(value)) {
+            return value;
+        }
+        if (raw == int.class || raw == Integer.class) {
+            return value.intValue();
+        }
+        if (raw == long.class || raw == Long.class) {
+            return value.longValue();
+        }
+        if (raw == double.class || raw == Double.class) {
+            return value.doubleValue();
+        }
+        if (raw == float.class || raw == Float.class) {
+            return value.floatValue();
+        }
+        if (raw == short.class || raw == Short.class) {
+            return value.shortValue();
+        }
+        if (raw == byte.class || raw == Byte.class) {
+            return value.byteValue();
+        }
+        if (raw == char.class || raw == Character.class) {
+            return (char) value.intValue();
+        }
+        if (raw == boolean.class || raw == Boolean.class) {
+            return value.longValue() != 0;
+        }
+        if (raw == String.class) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object convertString(final String value, final Type type) throws Exception {
+        final Class<?> raw = rawClass(type);
+        if (raw == String.class || raw == Object.class || raw == CharSequence.class) {
+            return value;
+        }
+        if (raw.isEnum()) {
+            return Enum.valueOf((Class<Enum>) raw, value);
+        }
+        if (raw == int.class || raw == Integer.class) {
+            return Integer.valueOf(value);
+        }
+        if (raw == long.class || raw == Long.class) {
+            return Long.valueOf(value);
+        }
+        if (raw == double.class || raw == Double.class) {
+            return Double.valueOf(value);
+        }
+        if (raw == float.class || raw == Float.class) {
+            return Float.valueOf(value);
+        }
+        if (raw == short.class || raw == Short.class) {
+            return Short.valueOf(value);
+        }
+        if (raw == byte.class || raw == Byte.class) {
+            return Byte.valueOf(value);
+        }
+        if (raw == boolean.class || raw == Boolean.class) {
+            return Boolean.valueOf(value);
+        }
+        if (raw == char.class || raw == Character.class) {
+            return value.isEmpty() ? null : value.charAt(0);
+        }
+        try {
+            return raw.getConstructor(String.class).newInstance(value);
+        } catch (final NoSuchMethodException e) {
+            return value;
+        }
+    }
+
+    private static Collection<Object> newCollection(final Class<?> raw, final int size) throws Exception {
+        if (!raw.isInterface() && !Modifier.isAbstract(raw.getModifiers()) && Collection.class.isAssignableFrom(raw)) {
+            @SuppressWarnings("unchecked")
+            final Collection<Object> collection = (Collection<Object>) raw.getConstructor().newInstance();
+            return collection;
+        }
+        if (SortedSet.class.isAssignableFrom(raw)) {
+            return new TreeSet<>();
+        }
+        if (Set.class.isAssignableFrom(raw)) {
+            return new LinkedHashSet<>(capacity(size));
+        }
+        if (Queue.class.isAssignableFrom(raw)) {
+            return new ArrayDeque<>(size);
+        }
+        return new ArrayList<>(size);
+    }
+
+    private static Map<Object, Object> newMap(final Class<?> raw, final int size) throws Exception {
+        if (!raw.isInterface() && !Modifier.isAbstract(raw.getModifiers()) && Map.class.isAssignableFrom(raw)) {
+            @SuppressWarnings("unchecked")
+            final Map<Object, Object> map = (Map<Object, Object>) raw.getConstructor().newInstance();
+            return map;
+        }
+        if (SortedMap.class.isAssignableFrom(raw)) {
+            return new TreeMap<>();
+        }
+        return new LinkedHashMap<>(capacity(size));
+    }
+
+    private static int capacity(final int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    private static Type typeArgument(final Type type, final int index) {
+        if (type instanceof ParameterizedType) {
+            final Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (index < arguments.length) {
+                return arguments[index];
+            }
+        }
+        return Object.class;
+    }
+
+    private static Class<?> rawClass(final Type type) {
+        if (type instanceof Class<?>) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return rawClass(((ParameterizedType) type).getRawType());
+        }
+        if (type instanceof GenericArrayType) {
+            final Class<?> component = rawClass(((GenericArrayType) type).getGenericComponentType());
+            return Array.newInstance(component, 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return rawClass(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable<?>) {
+            final Type[] bounds = ((TypeVariable<?>) type).getBounds();
+            return bounds.length == 0 ? Object.class : rawClass(bounds[0]);
+        }
+        return Object.class;
+    }
+
+}
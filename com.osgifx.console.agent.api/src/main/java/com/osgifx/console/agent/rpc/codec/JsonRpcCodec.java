@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.rpc.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+
+import aQute.lib.json.JSONCodec;
+
+/**
+ * The deflated JSON codec which is compatible with all agent and supervisor
+ * versions and is therefore used as the fallback.
+ */
+public final class JsonRpcCodec implements RpcCodec {
+
+    public static final String NAME = "json";
+
+    private static final int ZLIB_HEADER = 0x78;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean accepts(final byte[] data) {
+        return data.length > 0 && (data[0] & 0xFF) == ZLIB_HEADER;
+    }
+
+    @Override
+    public byte[] encode(final Object value) throws Exception {
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        new JSONCodec().enc().deflate().to(bout).put(value);
+        return bout.toByteArray();
+    }
+
+    @Override
+    public Object decode(final byte[] data, final Type type) throws Exception {
+        return new JSONCodec().dec().inflate().from(data).get(type);
+    }
+
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.rpc.codec;
+
+import java.lang.reflect.Type;
+
+/**
+ * Encodes and decodes the values that are exchanged between the remote agent
+ * and the supervisor.
+ * <p>
+ * Every encoded payload must be self-identifying such that the receiving side
+ * can always decode it, irrespective of the codec it has negotiated for the
+ * values it sends itself.
+ */
+public interface RpcCodec {
+
+    /**
+     * Returns the unique name of the codec that is exchanged during the codec
+     * negotiation
+     *
+     * @return the name of the codec
+     */
+    String name();
+
+    /**
+     * Checks if the specified payload has been encoded by this codec
+     *
+     * @param data the encoded payload
+     * @return {@code true} if the payload can be decoded by this codec, otherwise
+     *         {@code false}
+     */
+    boolean accepts(byte[] data);
+
+    /**
+     * Encodes the specified value
+     *
+     * @param value the value to encode (can be {@code null})
+     * @return the encoded payload
+     * @throws Exception if the value cannot be encoded
+     */
+    byte[] encode(Object value) throws Exception;
+
+    /**
+     * Decodes the specified payload to the specified type
+     *
+     * @param data the encoded payload
+     * @param type the type to decode to
+     * @return the decoded value
+     * @throws Exception if the payload cannot be decoded
+     */
+    Object decode(byte[] data, Type type) throws Exception;
+
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.rpc.codec;
+
+import static com.osgifx.console.agent.Agent.AGENT_RPC_CODECS_KEY;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The registry of all supported RPC codecs.
+ * <p>
+ * During the codec negotiation, both sides exchange the names of the codecs
+ * they support (in the order of preference). The sending side then uses the
+ * most preferred codec that the remote side supports. Since every payload is
+ * self-identifying, the receiving side always detects the codec from the
+ * payload itself. If the remote side does not take part in the negotiation
+ * (older agents or supervisors), the JSON codec is used.
+ */
+public final class RpcCodecs {
+
+    /** The reserved command used to negotiate the codec */
+    public static final String CODEC_NEGOTIATION_COMMAND = "$codecs";
+
+    private static final RpcCodec       FALLBACK = new JsonRpcCodec();
+    private static final List<RpcCodec> CODECS   = Arrays.asList(new BinaryRpcCodec(), FALLBACK);
+
+    private RpcCodecs() {
+        throw new IllegalAccessError("Non-instantiable");
+    }
+
+    /**
+     * Returns the codec that is compatible with every agent and supervisor
+     *
+     * @return the fallback codec
+     */
+    public static RpcCodec fallback() {
+        return FALLBACK;
+    }
+
+    /**
+     * Returns the names of the locally enabled codecs in the order of preference.
+     * The order can be customized using the {@code osgi.fx.agent.rpc.codecs}
+     * system property (comma-separated codec names).
+     *
+     * @return the names of the enabled codecs
+     */
+    public static String[] enabled() {
+        final List<String> names    = new ArrayList<>();
+        final String       property = System.getProperty(AGENT_RPC_CODECS_KEY);
+        if (property != null) {
+            for (final String name : property.split(",")) {
+                final RpcCodec codec = find(name.trim());
+                if (codec != null && !names.contains(codec.name())) {
+                    names.add(codec.name());
+                }
+            }
+        } else {
+            CODECS.forEach(c -> names.add(c.name()));
+        }
+        if (!names.contains(FALLBACK.name())) {
+            names.add(FALLBACK.name());
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * Selects the most preferred local codec that is also supported by the remote
+     * side
+     *
+     * @param remoteCodecs the names of the codecs supported by the remote side
+     * @return the selected codec, or the fallback codec if none matches
+     */
+    public static RpcCodec select(final Collection<String> remoteCodecs) {
+        for (final String name : enabled()) {
+            if (remoteCodecs.contains(name)) {
+                return find(name);
+            }
+        }
+        return FALLBACK;
+    }
+
+    /**
+     * Decodes the specified payload using the codec that has encoded it
+     *
+     * @param data the encoded payload
+     * @param type the type to decode to
+     * @return the decoded value
+     * @throws Exception if the payload cannot be decoded
+     */
+    public static Object decode(final byte[] data, final Type type) throws Exception {
+        for (final RpcCodec codec : CODECS) {
+            if (codec.accepts(data)) {
+                return codec.decode(data, type);
+            }
+        }
+        return FALLBACK.decode(data, type);
+    }
+
+    private static RpcCodec find(final String name) {
+        return CODECS.stream().filter(c -> c.name().equals(name)).findFirst().orElse(null);
+    }
+
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.rpc.mqtt;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of round-trip times with exponentially growing buckets.
+ * The bucket {@code i} counts the latencies between {@code 2^(i-1)} (exclusive)
+ * and {@code 2^i} (inclusive) microseconds.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 32;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray stats   = new AtomicLongArray(3);       // count, sum, min in nanos
+
+    public LatencyHistogram() {
+        stats.set(2, Long.MAX_VALUE);
+    }
+
+    public void record(final long latencyInNanos) {
+        final long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyInNanos));
+        final int  bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+
+        buckets.incrementAndGet(bucket);
+        stats.incrementAndGet(0);
+        stats.addAndGet(1, latencyInNanos);
+
+        long min;
+        while ((min = stats.get(2)) > latencyInNanos && !stats.compareAndSet(2, min, latencyInNanos)) {
+            // retry
+        }
+    }
+
+    public long count() {
+        return stats.get(0);
+    }
+
+    public long minInNanos() {
+        final long min = stats.get(2);
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    public long meanInNanos() {
+        final long count = count();
+        return count == 0 ? 0 : stats.get(1) / count;
+    }
+
+    /**
+     * Returns the upper bound of the bucket containing the specified percentile
+     *
+     * @param percentile the percentile between {@code 0} and {@code 100}
+     * @return the latency in microseconds
+     */
+    public long percentileInMicros(final double percentile) {
+        final long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        final long threshold  = (long) Math.ceil(count * percentile / 100);
+        long       cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += buckets.get(i);
+            if (cumulative >= threshold) {
+                return 1L << i;
+            }
+        }
+        return 1L << BUCKETS - 1;
+    }
+
+    public long[] buckets() {
+        final long[] values = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            values[i] = buckets.get(i);
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        final long mean = TimeUnit.NANOSECONDS.toMicros(meanInNanos());
+        return "[count=" + count() + ", mean=" + mean + "us, p50<=" + percentileInMicros(50) + "us, p90<="
+                + percentileInMicros(90) + "us, p99<=" + percentileInMicros(99) + "us]";
+    }
+
+}
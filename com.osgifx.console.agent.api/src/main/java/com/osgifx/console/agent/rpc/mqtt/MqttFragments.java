@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.rpc.mqtt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Splits RPC messages into binary fragments which fit into a single MQTT
+ * publish and reassembles them on the receiving side.
+ * <p>
+ * Every fragment starts with the following header followed by the fragment
+ * data:
+ *
+ * <pre>
+ * magic (1) | version (1) | kind (1) | message ID (4) | sequence (4) | count (4) | total length (4) | offset (4)
+ * </pre>
+ *
+ * The reassembled message consists of the method name (modified UTF-8),
+ * followed by the number of arguments and every argument as length-prefixed raw
+ * bytes. The magic byte never starts a deflated JSON message and hence, the
+ * fragments can be distinguished from the legacy messages.
+ */
+final class MqttFragments {
+
+    /** The version of the fragment format */
+    static final int VERSION = 1;
+
+    /** The kind of a message invoking a method on the remote side */
+    static final byte REQUEST = 0;
+
+    /** The kind of a message carrying the result of a previous request */
+    static final byte RESPONSE = 1;
+
+    private static final byte MAGIC        = (byte) 0xFD;
+    private static final int  HEADER_SIZE  = 23;
+    // twice the default request window, such that the responses and the pushes fit
+    private static final int  MAX_PARTIALS = 64;
+
+    static final class Message {
+        final byte         kind;
+        final int          id;
+        final String       methodName;
+        final List<byte[]> methodArgs;
+
+        private Message(final byte kind, final int id, final String methodName, final List<byte[]> methodArgs) {
+            this.kind       = kind;
+            this.id         = id;
+            this.methodName = methodName;
+            this.methodArgs = methodArgs;
+        }
+
+        @Override
+        public String toString() {
+            return "[id=" + id + ", methodName=" + methodName + "]";
+        }
+    }
+
+    private static final class PartialMessage {
+        private final long   createdAt;
+        private final int    count;
+        private final byte[] data;
+        private final BitSet received;
+        private int          remaining;
+        private int          fragmentLength; // of the sender, 0 until the first fragment has been received
+
+        private PartialMessage(final int count, final int total, final long createdAt) {
+            this.count     = count;
+            this.createdAt = createdAt;
+            data           = new byte[total];
+            received       = new BitSet(count);
+            remaining      = count;
+        }
+    }
+
+    private final int                       fragmentSize;
+    private final long                      timeoutInNanos;
+    private final int                       maxMessageSize;
+    private final Map<Long, PartialMessage> partials = new ConcurrentHashMap<>(); // key: kind and message ID
+
+    MqttFragments(final int fragmentSize, final long timeoutInNanos, final int maxMessageSize) {
+        this.fragmentSize   = fragmentSize;
+        this.timeoutInNanos = timeoutInNanos;
+        this.maxMessageSize = maxMessageSize;
+    }
+
+    static boolean isFragment(final byte[] data) {
+        return data.length >= HEADER_SIZE && data[0] == MAGIC;
+    }
+
+    /**
+     * Encodes the specified message and splits it into fragments
+     *
+     * @param kind the kind of the message
+     * @param id the message ID
+     * @param methodName the method name
+     * @param methodArgs the encoded method arguments
+     * @return the fragments to publish in order
+     * @throws IOException if the message cannot be encoded
+     */
+    List<byte[]> split(final byte kind,
+                       final int id,
+                       final String methodName,
+                       final List<byte[]> methodArgs) throws IOException {
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bout)) {
+            out.writeUTF(methodName);
+            out.writeInt(methodArgs.size());
+            for (final byte[] arg : methodArgs) {
+                out.writeInt(arg.length);
+                out.write(arg);
+            }
+        }
+        final byte[]       body      = bout.toByteArray();
+        final int          count     = Math.max(1, (body.length + fragmentSize - 1) / fragmentSize);
+        final List<byte[]> fragments = new ArrayList<>(count);
+
+        for (int seq = 0; seq < count; seq++) {
+            final int        offset   = seq * fragmentSize;
+            final int        length   = Math.min(fragmentSize, body.length - offset);
+            final ByteBuffer fragment = ByteBuffer.allocate(HEADER_SIZE + length);
+
+            fragment.put(MAGIC).put((byte) VERSION).put(kind);
+            fragment.putInt(id).putInt(seq).putInt(count).putInt(body.length).putInt(offset);
+            fragment.put(body, offset, length);
+
+            fragments.add(fragment.array());
+        }
+        return fragments;
+    }
+
+    /**
+     * Accepts a received fragment
+     *
+     * @param fragment the received fragment
+     * @return the reassembled message or {@code null} if fragments are still
+     *         missing
+     * @throws IOException if the fragment is malformed or the message exceeds the
+     *             maximum size
+     */
+    Message accept(final byte[] fragment) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(fragment);
+        buffer.get(); // magic
+
+        final int version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported fragment version " + version);
+        }
+        final byte kind   = buffer.get();
+        final int  id     = buffer.getInt();
+        final int  seq    = buffer.getInt();
+        final int  count  = buffer.getInt();
+        final int  total  = buffer.getInt();
+        final int  offset = buffer.getInt();
+        final int  length = buffer.remaining();
+
+        if (count <= 0 || seq < 0 || seq >= count || total < 0 || offset < 0 || offset > total - length) {
+            throw new IOException("Malformed fragment " + seq + "/" + count + " of message " + id);
+        }
+        // the announced size is untrusted and must not drive the allocation below
+        if (total > maxMessageSize) {
+            throw new IOException("Message " + id + " exceeds the maximum size (" + total + " > " + maxMessageSize
+                    + " bytes)");
+        }
+        if (count == 1) {
+            if (offset != 0 || length != total) {
+                throw new IOException("Malformed fragment " + seq + "/" + count + " of message " + id);
+            }
+            return decode(kind, id, fragment, HEADER_SIZE, length);
+        }
+        final int  fragmentLength = fragmentLength(id, seq, count, total, offset, length);
+        final long now            = System.nanoTime();
+        evictExpired(now);
+
+        final long key = (long) kind << 32 | id & 0xFFFFFFFFL;
+        // a flood of first fragments must not allocate the maximum message size over and over again
+        if (partials.size() >= MAX_PARTIALS && !partials.containsKey(key)) {
+            throw new IOException("Message " + id + " dropped as " + MAX_PARTIALS
+                    + " messages are already being reassembled");
+        }
+        final PartialMessage partial = partials.computeIfAbsent(key, k -> new PartialMessage(count, total, now));
+        synchronized (partial) {
+            if (partial.fragmentLength == 0) {
+                partial.fragmentLength = fragmentLength;
+            }
+            if (partial.count != count || partial.data.length != total || partial.fragmentLength != fragmentLength) {
+                partials.remove(key, partial);
+                throw new IOException("Inconsistent fragments of message " + id);
+            }
+            // duplicate deliveries (QoS 1) are ignored
+            if (!partial.received.get(seq)) {
+                System.arraycopy(fragment, HEADER_SIZE, partial.data, offset, length);
+                partial.received.set(seq);
+                partial.remaining--;
+            }
+            if (partial.remaining > 0) {
+                return null;
+            }
+            partials.remove(key, partial);
+            return decode(kind, id, partial.data, 0, partial.data.length);
+        }
+    }
+
+    /**
+     * Validates the position of a fragment of a message consisting of multiple
+     * fragments. All fragments except the last one have the fragment length of
+     * the sender, which is not necessarily the one configured on this side, and
+     * the last one ends with the message.
+     *
+     * @return the fragment length of the sender
+     */
+    private static int fragmentLength(final int id,
+                                      final int seq,
+                                      final int count,
+                                      final int total,
+                                      final int offset,
+                                      final int length) throws IOException {
+        final boolean isLast         = seq == count - 1;
+        final int     fragmentLength = isLast ? offset / seq : length;
+        // @formatter:off
+        final boolean isValid = length > 0
+                && length <= fragmentLength
+                && offset == (long) seq * fragmentLength
+                && (!isLast || offset + length == total)
+                && count == (total + (long) fragmentLength - 1) / fragmentLength;
+        // @formatter:on
+        if (!isValid) {
+            throw new IOException("Misplaced fragment " + seq + "/" + count + " of message " + id);
+        }
+        return fragmentLength;
+    }
+
+    private void evictExpired(final long now) {
+        final Iterator<PartialMessage> iterator = partials.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().createdAt > timeoutInNanos) {
+                // the remaining fragments got lost and the requester times out anyway
+                iterator.remove();
+            }
+        }
+    }
+
+    private static Message decode(final byte kind,
+                                  final int id,
+                                  final byte[] data,
+                                  final int offset,
+                                  final int length) throws IOException {
+        final DataInputStream in         = new DataInputStream(new ByteArrayInputStream(data, offset, length));
+        final String          methodName = in.readUTF();
+        final int             argCount   = in.readInt();
+        if (argCount < 0 || argCount > length) {
+            throw new IOException("Malformed message " + id);
+        }
+        final List<byte[]> methodArgs = new ArrayList<>(argCount);
+        for (int i = 0; i < argCount; i++) {
+            final int argLength = in.readInt();
+            if (argLength < 0 || argLength > length) {
+                throw new IOException("Malformed message " + id);
+            }
+            final byte[] arg = new byte[argLength];
+            in.readFully(arg);
+            methodArgs.add(arg);
+        }
+        return new Message(kind, id, methodName, methodArgs);
+    }
+
+}
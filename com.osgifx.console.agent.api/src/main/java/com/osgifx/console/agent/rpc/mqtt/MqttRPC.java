@@ -15,6 +15,18 @@
  ******************************************************************************/
 package com.osgifx.console.agent.rpc.mqtt;
 
+import static com.osgifx.console.agent.Agent.AGENT_MQTT_FRAGMENT_SIZE_DEFAULT_VALUE;
+import static com.osgifx.console.agent.Agent.AGENT_MQTT_FRAGMENT_SIZE_KEY;
+import static com.osgifx.console.agent.Agent.AGENT_MQTT_MAX_MESSAGE_SIZE_DEFAULT_VALUE;
+import static com.osgifx.console.agent.Agent.AGENT_MQTT_MAX_MESSAGE_SIZE_KEY;
+import static com.osgifx.console.agent.Agent.AGENT_MQTT_REASSEMBLY_TIMEOUT_DEFAULT_VALUE;
+import static com.osgifx.console.agent.Agent.AGENT_MQTT_REASSEMBLY_TIMEOUT_KEY;
+import static com.osgifx.console.agent.Agent.AGENT_MQTT_WINDOW_SIZE_DEFAULT_VALUE;
+import static com.osgifx.console.agent.Agent.AGENT_MQTT_WINDOW_SIZE_KEY;
+import static com.osgifx.console.agent.rpc.codec.RpcCodecs.CODEC_NEGOTIATION_COMMAND;
+import static com.osgifx.console.agent.rpc.mqtt.MqttFragments.REQUEST;
+import static com.osgifx.console.agent.rpc.mqtt.MqttFragments.RESPONSE;
+
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
@@ -24,22 +36,34 @@ import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.osgi.framework.BundleContext;
 
 import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
 import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.rpc.RemoteInvocation;
 import com.osgifx.console.agent.rpc.RemoteRPC;
+import com.osgifx.console.agent.rpc.RpcDispatchTable;
+import com.osgifx.console.agent.rpc.codec.RpcCodec;
+import com.osgifx.console.agent.rpc.codec.RpcCodecs;
 import com.osgifx.console.agent.rpc.mqtt.api.Mqtt5Message;
 import com.osgifx.console.agent.rpc.mqtt.api.Mqtt5Publisher;
 
@@ -53,17 +77,29 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
     private final String                  subTopic;
     private final BundleContext           bundleContext;
     private final AtomicInteger           id       = new AtomicInteger(10_000);
-    private final Map<Integer, RpcResult> promises = new ConcurrentHashMap<>();
+    private final Map<Integer, Pending>   promises = new ConcurrentHashMap<>();
     private final AtomicBoolean           started  = new AtomicBoolean();
     private final AtomicBoolean           stopped  = new AtomicBoolean();
     private final ThreadLocal<Integer>    msgId    = new ThreadLocal<>();
     private final FluentLogger            logger   = LoggerFactory.getFluentLogger(getClass());
 
-    private final L        local;
-    private R              remote;
-    private final Class<R> remoteClass;
+    private final L                local;
+    private R                      remote;
+    private final Class<R>         remoteClass;
+    private final RpcDispatchTable dispatchTable;
+
+    private final ExecutorService               executor;
+    private volatile RpcCodec                   codec     = RpcCodecs.fallback();
+    private final MqttFragments                 fragments;
+    private volatile boolean                    isFragmentationSupported;
+    private volatile boolean                    negotiated;
+    private volatile long                       negotiatedAt;
+    private volatile boolean                    isLegacyPeerPresent;
+    private final MqttRequestWindow             window;
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>(); // key: method name
 
-    private final ExecutorService executor;
+    private static final long RESPONSE_TIMEOUT_IN_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int  INITIAL_WINDOW_SIZE       = 5;
 
     public static class RpcMessage {
         public int      id;
@@ -82,6 +118,16 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
         public boolean exception;
     }
 
+    private static final class Pending {
+        private final String                       methodName;
+        private volatile long                      sentAt;
+        private final CompletableFuture<RpcResult> result = new CompletableFuture<>();
+
+        private Pending(final String methodName) {
+            this.methodName = methodName;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public MqttRPC(final BundleContext bundleContext,
                    final Class<R> remoteClass,
@@ -95,6 +141,15 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
         this.pubTopic      = pubTopic;
         this.subTopic      = subTopic;
         this.executor      = executor;
+        dispatchTable      = new RpcDispatchTable(this.local);
+        fragments          = new MqttFragments(
+                (int) extractPositive(AGENT_MQTT_FRAGMENT_SIZE_KEY, AGENT_MQTT_FRAGMENT_SIZE_DEFAULT_VALUE),
+                TimeUnit.MILLISECONDS.toNanos(extractPositive(AGENT_MQTT_REASSEMBLY_TIMEOUT_KEY,
+                        AGENT_MQTT_REASSEMBLY_TIMEOUT_DEFAULT_VALUE)),
+                (int) Math.min(Integer.MAX_VALUE,
+                        extractPositive(AGENT_MQTT_MAX_MESSAGE_SIZE_KEY, AGENT_MQTT_MAX_MESSAGE_SIZE_DEFAULT_VALUE)));
+        window             = new MqttRequestWindow(INITIAL_WINDOW_SIZE,
+                (int) extractPositive(AGENT_MQTT_WINDOW_SIZE_KEY, AGENT_MQTT_WINDOW_SIZE_DEFAULT_VALUE));
     }
 
     @Override
@@ -105,7 +160,15 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
         mqttClient = new MqttClient(bundleContext, subscriber -> {
             subscriber.subscribe(subTopic).forEach(msg -> {
                 try {
-                    final ByteBuffer   payload    = msg.payload;
+                    final byte[] payload = toByteArray(msg.payload);
+                    if (MqttFragments.isFragment(payload)) {
+                        final MqttFragments.Message message = fragments.accept(payload);
+                        if (message != null) {
+                            trace("Received MQTT RPC: " + message);
+                            dispatch(message.id, message.methodName, message.methodArgs, false);
+                        }
+                        return;
+                    }
                     final RpcMessage   message    = decodeMessage(payload);
                     final List<byte[]> methodArgs = new ArrayList<>();
                     if (message.methodArgs != null) {
@@ -113,26 +176,63 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
                             methodArgs.add(Base64.getDecoder().decode(arg));
                         }
                     }
-                    final Runnable r = () -> {
-                        try {
-                            msgId.set(message.id);
-                            executeCommand(message.methodName, message.id, methodArgs);
-                        } catch (final Exception e) {
-                            // nothing to do
-                        }
-                        msgId.remove();
-                    };
-                    executor.execute(r);
+                    onLegacyMessage(message.methodName);
+                    dispatch(message.id, message.methodName, methodArgs, true);
                 } catch (final Exception e) {
-                    return;
+                    trace("Received MQTT RPC message cannot be decoded: " + e.getMessage());
                 }
             });
         });
         mqttClient.open();
+        offerCodecs(false);
     }
 
-    private RpcMessage decodeMessage(final ByteBuffer payload) throws Exception {
-        return new JSONCodec().dec().inflate().from(payload.array()).get(RpcMessage.class);
+    /**
+     * The topics are shared by all peers connected to the same broker and hence,
+     * an older peer can be connected at the same time as peers that negotiated
+     * the codec and the fragmentation. A legacy message from a peer that has not
+     * negotiated (i.e. received beyond the handshake of the last negotiation)
+     * makes all requests initiated by this side fall back to the legacy format
+     * which every peer understands.
+     */
+    private void onLegacyMessage(final String methodName) {
+        if (!negotiated || isLegacyPeerPresent || CODEC_NEGOTIATION_COMMAND.equals(methodName)) {
+            return;
+        }
+        // the negotiating peer itself sends legacy messages until it receives the reply to its offer
+        if (System.nanoTime() - negotiatedAt > RESPONSE_TIMEOUT_IN_NANOS) {
+            isLegacyPeerPresent = true;
+            trace("Legacy MQTT RPC peer detected: " + methodName);
+        }
+    }
+
+    private void dispatch(final int id, final String methodName, final List<byte[]> methodArgs, final boolean legacy) {
+        if (methodName.isEmpty()) {
+            // responses only complete the pending requests and hence, need no pooled thread
+            response(id, methodArgs.get(0));
+            return;
+        }
+        final Runnable r = () -> {
+            try {
+                msgId.set(id);
+                executeCommand(methodName, id, methodArgs, legacy);
+            } catch (final Exception e) {
+                // nothing to do
+            }
+            msgId.remove();
+        };
+        executor.execute(r);
+    }
+
+    private RpcMessage decodeMessage(final byte[] payload) throws Exception {
+        return new JSONCodec().dec().inflate().from(payload).get(RpcMessage.class);
+    }
+
+    private static byte[] toByteArray(final ByteBuffer payload) {
+        final ByteBuffer buffer = payload.duplicate();
+        final byte[]     data   = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
     }
 
     @Override
@@ -149,6 +249,9 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
         }
         mqttClient.close();
         executor.shutdownNow();
+        // the waiting callers do not need to wait for their timeouts
+        promises.values().forEach(p -> p.result.cancel(false));
+        trace("MQTT RPC latencies: " + latencies);
     }
 
     @Override
@@ -165,18 +268,16 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
                                 final Object hash = new Object();
                                 return method.invoke(hash, args);
                             }
-                            int msgId;
-                            try {
-                                msgId = send(msg(id.getAndIncrement(), method, args));
-                                if (method.getReturnType() == void.class) {
-                                    promises.remove(msgId);
-                                    return null;
+                            if (method.getReturnType() == void.class) {
+                                // fire and forget as no response will be sent
+                                try {
+                                    send(id.getAndIncrement(), method.getName(), args, isLegacy());
+                                } catch (final Exception e1) {
+                                    terminate();
                                 }
-                            } catch (final Exception e1) {
-                                terminate();
                                 return null;
                             }
-                            return waitForResult(msgId, method.getGenericReturnType());
+                            return invoke(method, args);
                         } catch (final InvocationTargetException ite) {
                             throw Exceptions.unrollCause(ite, InvocationTargetException.class);
                         } catch (final Exception e) {
@@ -187,6 +288,44 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
         return remote;
     }
 
+    @Override
+    public <T> CompletableFuture<T> callAsync(final Function<R, T> call) {
+        final RemoteInvocation invocation = RemoteInvocation.record(remoteClass, call);
+        final Type             type       = invocation.method.getGenericReturnType();
+        final int              msgId      = id.getAndIncrement();
+        final Pending          pending    = new Pending(invocation.method.getName());
+
+        RemoteInvocation.orTimeout(pending.result, RESPONSE_TIMEOUT_IN_NANOS, TimeUnit.NANOSECONDS)
+                        .whenComplete((r, e) -> {
+                            if (e instanceof TimeoutException && promises.remove(msgId, pending)) {
+                                window.onTimeout();
+                            }
+                        });
+        // the requests exceeding the window are sent as soon as a response releases the window
+        window.whenAcquired(() -> {
+            try {
+                executor.execute(() -> sendAsync(msgId, pending, invocation.args));
+            } catch (final RejectedExecutionException e) {
+                window.onCancel();
+                pending.result.cancel(false);
+            }
+        });
+        return pending.result.thenApplyAsync(result -> {
+            try {
+                return this.<T> decode(result, type);
+            } catch (final RuntimeException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    @Override
+    public boolean isNegotiated() {
+        return negotiated;
+    }
+
     @Override
     public boolean isOpen() {
         return !stopped.get();
@@ -200,22 +339,118 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
         }
     }
 
-    private Method getMethod(final String cmd, final int count) {
-        for (final Method m : local.getClass().getMethods()) {
-            if (m.getDeclaringClass() == RemoteRPC.class) {
-                continue;
+    /**
+     * Returns the per-method histograms of the round-trip times of the requests
+     * sent to the remote side
+     *
+     * @return the latency histograms (key: method name)
+     */
+    public Map<String, LatencyHistogram> getLatencyHistograms() {
+        return Collections.unmodifiableMap(latencies);
+    }
+
+    /**
+     * Returns the number of requests that can currently be in flight at the same
+     * time
+     *
+     * @return the current window size
+     */
+    public int getWindowSize() {
+        return window.size();
+    }
+
+    private Object invoke(final Method method, final Object[] args) throws Exception {
+        final long startInNanos = System.nanoTime();
+        // the requests exceeding the window are queued locally instead of piling up at the broker
+        if (!window.acquire(RESPONSE_TIMEOUT_IN_NANOS)) {
+            // unlike a timeout, the request has never been sent
+            logger.atWarn().msg("MQTT RPC request '{}' not sent as all {} in-flight slots remained occupied")
+                    .arg(method.getName()).arg(window.size()).log();
+            return null;
+        }
+        final int     msgId   = id.getAndIncrement();
+        final Pending pending = new Pending(method.getName());
+        promises.put(msgId, pending);
+        pending.sentAt = System.nanoTime();
+        try {
+            send(msgId, method.getName(), args, isLegacy());
+        } catch (final Exception e) {
+            promises.remove(msgId);
+            window.onCancel();
+            terminate();
+            return null;
+        }
+        final long remainingInNanos = RESPONSE_TIMEOUT_IN_NANOS - (System.nanoTime() - startInNanos);
+        return waitForResult(msgId, pending, remainingInNanos, method.getGenericReturnType());
+    }
+
+    private void sendAsync(final int msgId, final Pending pending, final Object[] args) {
+        promises.put(msgId, pending);
+        // the request might have timed out or got cancelled while waiting for the window
+        if (pending.result.isDone()) {
+            if (promises.remove(msgId, pending)) {
+                window.onCancel();
             }
-            if (m.getName().equals(cmd) && m.getParameterTypes().length == count) {
-                return m;
+            return;
+        }
+        pending.sentAt = System.nanoTime();
+        try {
+            send(msgId, pending.methodName, args, isLegacy());
+        } catch (final Exception e) {
+            if (promises.remove(msgId, pending)) {
+                window.onCancel();
             }
+            pending.result.completeExceptionally(e);
+            terminate();
         }
-        return null;
     }
 
-    private int send(final RpcMessage msg) throws Exception {
-        if (msg.methodName != null) {
-            promises.put(msg.id, new RpcResult());
+    private boolean isLegacy() {
+        return !isFragmentationSupported || isLegacyPeerPresent;
+    }
+
+    /**
+     * Sends the given message either in the legacy format (JSON messages with
+     * JSON encoded arguments) or fragmented with the arguments encoded by the
+     * negotiated codec. Responses always mirror the format of their request such
+     * that every requester receives a response it can decode.
+     */
+    private int send(final int msgId,
+                     final String methodName,
+                     final Object[] args,
+                     final boolean legacy) throws Exception {
+        if (legacy) {
+            return send(msg(msgId, methodName, encodeArgs(args, RpcCodecs.fallback())));
+        }
+        final List<byte[]> methodArgs = encodeArgs(args, codec);
+        final String msg = "[id=" + msgId + ", methodName=" + methodName + "]";
+        trace("Sending MQTT RPC: " + msg);
+        final Optional<Mqtt5Publisher> msgPublisher = mqttClient.pub();
+        if (msgPublisher.isPresent()) {
+            final Mqtt5Publisher publisher = msgPublisher.get();
+            final byte           kind      = methodName.isEmpty() ? RESPONSE : REQUEST;
+            final List<byte[]>   frames;
+            try {
+                frames = fragments.split(kind, msgId, methodName, methodArgs);
+            } catch (final Exception e) {
+                throw new RuntimeException("Message cannot be encoded");
+            }
+            // fragments of concurrent messages can interleave as every fragment is self-describing
+            for (final byte[] frame : frames) {
+                final Mqtt5Message message = new Mqtt5Message();
+                message.channel = pubTopic;
+                message.payload = ByteBuffer.wrap(frame);
+
+                synchronized (publisher) {
+                    publisher.publish(message);
+                }
+            }
+            trace("Sent MQTT RPC: " + msg + " in " + frames.size() + " fragment(s)");
         }
+        return msgId;
+    }
+
+    private int send(final RpcMessage msg) throws Exception {
         trace("Sending MQTT RPC: " + msg);
         final Optional<Mqtt5Publisher> msgPublisher = mqttClient.pub();
         if (msgPublisher.isPresent()) {
@@ -246,58 +481,58 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
             msgId     = -msgId;
             exception = true;
         }
-        final RpcResult result = promises.get(msgId);
-        if (result != null) {
-            synchronized (result) {
-                trace("Resolved RPC");
-                result.value     = data;
-                result.exception = exception;
-                result.resolved  = true;
-                result.notifyAll();
+        final Pending pending = promises.remove(msgId);
+        if (pending == null) {
+            // the caller has already timed out
+            return;
+        }
+        final long rttInNanos = System.nanoTime() - pending.sentAt;
+        final LatencyHistogram histogram = latencies.computeIfAbsent(pending.methodName, k -> new LatencyHistogram());
+        histogram.record(rttInNanos);
+        window.onResponse(rttInNanos, histogram.minInNanos());
+
+        final RpcResult result = new RpcResult();
+        result.value     = data;
+        result.exception = exception;
+        result.resolved  = true;
+
+        trace("Resolved RPC");
+        pending.result.complete(result);
+    }
+
+    private <T> T waitForResult(final int id,
+                                final Pending pending,
+                                final long timeoutInNanos,
+                                final Type type) throws Exception {
+        final RpcResult result;
+        try {
+            result = pending.result.get(Math.max(0, timeoutInNanos), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            if (promises.remove(id, pending)) {
+                window.onTimeout();
             }
+            trace("MQTT RPC timed out: " + pending.methodName);
+            return null;
+        } catch (final CancellationException e) {
+            return null;
         }
+        return decode(result, type);
     }
 
     @SuppressWarnings("unchecked")
-    private <T> T waitForResult(final int id, final Type type) throws Exception {
-        final long      deadlineInMillis = 10_000L;
-        final long      startInNanos     = System.nanoTime();
-        final RpcResult result           = promises.get(id);
-        try {
-            do {
-                synchronized (result) {
-                    if (result.resolved) {
-                        if (result.value == null) {
-                            return null;
-                        }
-                        if (result.exception) {
-                            final String msg = new JSONCodec().dec().inflate().from(result.value).get(String.class);
-                            trace("Exception during agent communication: " + msg);
-                            throw new RuntimeException(msg);
-                        }
-                        if (type == byte[].class) {
-                            return (T) result.value;
-                        }
-                        return (T) new JSONCodec().dec().inflate().from(result.value).get(type);
-                    }
-                    long elapsedInNanos = System.nanoTime() - startInNanos;
-                    long delayInMillis  = deadlineInMillis - TimeUnit.NANOSECONDS.toMillis(elapsedInNanos);
-                    if (delayInMillis <= 0L) {
-                        return null;
-                    }
-                    trace("Start Delay (MQTT RPC)" + delayInMillis);
-                    result.wait(delayInMillis);
-                    elapsedInNanos = System.nanoTime() - startInNanos;
-                    delayInMillis  = deadlineInMillis - TimeUnit.NANOSECONDS.toMillis(elapsedInNanos);
-                    if (delayInMillis <= 0L) {
-                        return null;
-                    }
-                    trace("End Delay (MQTT RPC)" + delayInMillis);
-                }
-            } while (true);
-        } finally {
-            promises.remove(id);
+    private <T> T decode(final RpcResult result, final Type type) throws Exception {
+        if (result.value == null) {
+            return null;
         }
+        if (result.exception) {
+            final String msg = (String) RpcCodecs.decode(result.value, String.class);
+            trace("Exception during agent communication: " + msg);
+            throw new RuntimeException(msg);
+        }
+        if (type == byte[].class) {
+            return (T) result.value;
+        }
+        return (T) RpcCodecs.decode(result.value, type);
     }
 
     private void trace(final String message) {
@@ -307,38 +542,34 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
         }
     }
 
-    private void executeCommand(final String cmd, final int id, final List<byte[]> args) throws Exception {
+    private void executeCommand(final String cmd,
+                                final int id,
+                                final List<byte[]> args,
+                                final boolean legacy) throws Exception {
         if (cmd.isEmpty()) {
             response(id, args.get(0));
+        } else if (CODEC_NEGOTIATION_COMMAND.equals(cmd)) {
+            onCodecOffer(args);
         } else {
-            final Method m = getMethod(cmd, args.size());
+            final RpcDispatchTable.Entry m = dispatchTable.get(cmd, args.size());
             if (m == null) {
                 return;
             }
-            final Object[] parameters = new Object[args.size()];
-            for (int i = 0; i < args.size(); i++) {
-                final Class<?> type = m.getParameterTypes()[i];
-                if (type == byte[].class) {
-                    parameters[i] = args.get(i);
-                } else {
-                    parameters[i] = new JSONCodec().dec().inflate().from(args.get(i))
-                            .get(m.getGenericParameterTypes()[i]);
-                }
-            }
+            final Object[] parameters = m.decode(args);
             try {
-                final Object result = m.invoke(local, parameters);
-                if (m.getReturnType() == void.class) {
+                final Object result = m.invoke(parameters);
+                if (m.isVoid()) {
                     return;
                 }
                 try {
-                    send(msg(id, null, new Object[] { result }));
+                    send(id, "", new Object[] { result }, legacy);
                 } catch (final Exception e) {
                     terminate();
                 }
             } catch (Throwable t) {
                 t = Exceptions.unrollCause(t, InvocationTargetException.class);
                 try {
-                    send(msg(-id, null, new Object[] { t + "" }));
+                    send(-id, "", new Object[] { t + "" }, legacy);
                 } catch (final Exception e) {
                     terminate();
                 }
@@ -346,28 +577,77 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
         }
     }
 
-    private RpcMessage msg(final int msgId, final Method method, final Object[] args) throws Exception {
-        final RpcMessage msg = new RpcMessage();
-        msg.methodName = method == null ? "" : method.getName();
-        msg.id         = msgId;
+    private void offerCodecs(final boolean reply) {
+        try {
+            // the supported fragment format is ignored by older versions
+            send(id.getAndIncrement(), CODEC_NEGOTIATION_COMMAND,
+                    new Object[] { RpcCodecs.enabled(), reply, MqttFragments.VERSION }, true);
+        } catch (final Exception e) {
+            trace("Codec negotiation could not be initiated: " + e.getMessage());
+        }
+    }
 
-        final List<String> methodArgs = new ArrayList<>();
+    private void onCodecOffer(final List<byte[]> args) throws Exception {
+        final String[] remoteCodecs = (String[]) RpcCodecs.decode(args.get(0), String[].class);
+        final boolean  reply        = (Boolean) RpcCodecs.decode(args.get(1), Boolean.class);
+
+        codec        = RpcCodecs.select(Arrays.asList(remoteCodecs));
+        negotiatedAt = System.nanoTime();
+        negotiated   = true;
+        trace("Negotiated MQTT RPC codec: " + codec.name());
+        if (args.size() > 2) {
+            final Number version = (Number) RpcCodecs.decode(args.get(2), Integer.class);
+            isFragmentationSupported = version != null && version.intValue() == MqttFragments.VERSION;
+            trace("MQTT RPC fragmentation supported by remote: " + isFragmentationSupported);
+        }
+        if (!reply) {
+            offerCodecs(true);
+        }
+    }
+
+    private List<byte[]> encodeArgs(final Object[] args, final RpcCodec codec) throws Exception {
+        final List<byte[]> methodArgs = new ArrayList<>();
         if (args != null) {
             for (final Object arg : args) {
-                byte[] argValue;
                 if (arg instanceof byte[]) {
-                    argValue = (byte[]) arg;
+                    methodArgs.add((byte[]) arg);
                 } else {
-                    final ByteArrayOutputStream bout = new ByteArrayOutputStream();
-                    new JSONCodec().enc().deflate().to(bout).put(arg);
-                    argValue = bout.toByteArray();
+                    methodArgs.add(codec.encode(arg));
                 }
-                final String encodedValue = Base64.getEncoder().encodeToString(argValue);
-                methodArgs.add(encodedValue);
             }
         }
+        return methodArgs;
+    }
+
+    private RpcMessage msg(final int msgId, final String methodName, final List<byte[]> args) {
+        final RpcMessage msg = new RpcMessage();
+        msg.methodName = methodName;
+        msg.id         = msgId;
+
+        // legacy messages are JSON and hence, the binary arguments need to be encoded
+        final List<String> methodArgs = new ArrayList<>();
+        for (final byte[] arg : args) {
+            methodArgs.add(Base64.getEncoder().encodeToString(arg));
+        }
         msg.methodArgs = methodArgs.toArray(new String[0]);
         return msg;
     }
 
+    private long extractPositive(final String key, final long defaultValue) {
+        final String spec = bundleContext == null ? null : bundleContext.getProperty(key);
+        if (spec == null) {
+            return defaultValue;
+        }
+        try {
+            final long value = Long.parseLong(spec.trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (final NumberFormatException e) {
+            // fall back to the default value
+        }
+        logger.atWarn().msg("Invalid value in property '{}': {}").arg(key).arg(spec).log();
+        return defaultValue;
+    }
+
 }
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.rpc.mqtt;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of requests which are concurrently in flight. The window
+ * grows by about one request per round trip as long as the round-trip times
+ * stay close to the fastest observed ones of the same method and shrinks as
+ * soon as responses get delayed by queueing or time out.
+ */
+final class MqttRequestWindow {
+
+    /** Round trips slower than this factor times the fastest one indicate queueing */
+    private static final double QUEUEING_FACTOR = 2.0;
+
+    private final int             maxSize;
+    private double                size;
+    private int                   inFlight;
+    private final Deque<Runnable> deferred = new ArrayDeque<>();
+
+    MqttRequestWindow(final int initialSize, final int maxSize) {
+        this.maxSize = maxSize;
+        size         = Math.min(initialSize, maxSize);
+    }
+
+    /**
+     * Waits until the window permits another request to be sent
+     *
+     * @param timeoutInNanos the maximum time to wait
+     * @return {@code true} if the request can be sent, {@code false} if the
+     *         window did not open in time
+     * @throws InterruptedException if the current thread got interrupted
+     */
+    synchronized boolean acquire(final long timeoutInNanos) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeoutInNanos;
+        while (inFlight >= (int) size) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Runs the specified action as soon as the window permits another request to
+     * be sent without blocking the calling thread. The action is either run
+     * immediately in the calling thread or later in the thread that releases a
+     * request.
+     *
+     * @param onAcquired the action sending the request
+     */
+    void whenAcquired(final Runnable onAcquired) {
+        synchronized (this) {
+            if (inFlight >= (int) size) {
+                deferred.add(onAcquired);
+                return;
+            }
+            inFlight++;
+        }
+        onAcquired.run();
+    }
+
+    /**
+     * Releases a request that has been answered
+     *
+     * @param rttInNanos the round-trip time of the request
+     * @param minRttInNanos the fastest observed round-trip time of the same method
+     */
+    void onResponse(final long rttInNanos, final long minRttInNanos) {
+        final Runnable next;
+        synchronized (this) {
+            if (rttInNanos <= QUEUEING_FACTOR * minRttInNanos) {
+                size = Math.min(maxSize, size + 1.0 / size);
+            } else {
+                size = Math.max(1.0, size - 0.5 / size);
+            }
+            next = release();
+        }
+        runDeferred(next);
+    }
+
+    /**
+     * Releases a request that has not been answered in time
+     */
+    void onTimeout() {
+        final Runnable next;
+        synchronized (this) {
+            size = Math.max(1.0, size / 2);
+            next = release();
+        }
+        runDeferred(next);
+    }
+
+    /**
+     * Releases a request without adapting the window, for example, if the
+     * request could not be sent at all
+     */
+    void onCancel() {
+        final Runnable next;
+        synchronized (this) {
+            next = release();
+        }
+        runDeferred(next);
+    }
+
+    synchronized int size() {
+        return (int) size;
+    }
+
+    // the deferred requests take precedence over the blocked callers
+    private Runnable release() {
+        inFlight = Math.max(0, inFlight - 1);
+        if (!deferred.isEmpty() && inFlight < (int) size) {
+            inFlight++;
+            return deferred.poll();
+        }
+        notifyAll();
+        return null;
+    }
+
+    private void runDeferred(final Runnable next) {
+        if (next != null) {
+            next.run();
+        }
+    }
+
+}
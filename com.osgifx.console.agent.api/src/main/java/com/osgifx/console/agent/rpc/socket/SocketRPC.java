@@ -15,7 +15,8 @@
  ******************************************************************************/
 package com.osgifx.console.agent.rpc.socket;
 
-import java.io.ByteArrayOutputStream;
+import static com.osgifx.console.agent.rpc.codec.RpcCodecs.CODEC_NEGOTIATION_COMMAND;
+
 import java.io.Closeable;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -29,40 +30,54 @@ import java.lang.reflect.Type;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
 import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.rpc.RemoteInvocation;
 import com.osgifx.console.agent.rpc.RemoteRPC;
+import com.osgifx.console.agent.rpc.RpcDispatchTable;
+import com.osgifx.console.agent.rpc.codec.RpcCodec;
+import com.osgifx.console.agent.rpc.codec.RpcCodecs;
 
 import aQute.bnd.exceptions.Exceptions;
-import aQute.lib.json.JSONCodec;
 
 public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R> {
 
-    private final DataInputStream         in;
-    private final DataOutputStream        out;
-    private final AtomicInteger           id       = new AtomicInteger(10_000);
-    private final Map<Integer, RpcResult> promises = new ConcurrentHashMap<>();
-    private final AtomicBoolean           stopped  = new AtomicBoolean();
-    private final ThreadLocal<Integer>    msgId    = new ThreadLocal<>();
-    private final FluentLogger            logger   = LoggerFactory.getFluentLogger(getClass());
+    private final DataInputStream                            in;
+    private final DataOutputStream                           out;
+    private final AtomicInteger                              id       = new AtomicInteger(10_000);
+    private final Map<Integer, CompletableFuture<RpcResult>> promises = new ConcurrentHashMap<>();
+    private final AtomicBoolean                              stopped  = new AtomicBoolean();
+    private final ThreadLocal<Integer>                       msgId    = new ThreadLocal<>();
+    private final FluentLogger                               logger   = LoggerFactory.getFluentLogger(getClass());
+
+    private L                      local;
+    private R                      remote;
+    private final Class<R>         remoteClass;
+    private final RpcDispatchTable dispatchTable;
 
-    private L              local;
-    private R              remote;
-    private final Class<R> remoteClass;
+    private ExecutorService   executor;
+    private volatile RpcCodec codec = RpcCodecs.fallback();
+    private volatile boolean  negotiated;
 
-    private ExecutorService executor;
+    private static final long RESPONSE_TIMEOUT_IN_MILLIS = 300_000L;
 
     private static class RpcResult {
-        boolean resolved;
         byte[]  value;
         boolean exception;
     }
@@ -96,6 +111,7 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
         this.in          = new DataInputStream(in);
         this.out         = new DataOutputStream(out);
         this.executor    = executor;
+        dispatchTable    = new RpcDispatchTable(this.local);
     }
 
     @Override
@@ -105,6 +121,7 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
         }
         if (in != null) {
             start();
+            offerCodecs(false);
         }
     }
 
@@ -135,6 +152,8 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
             }
         }
         executor.shutdownNow();
+        // the waiting callers do not need to wait for their timeouts
+        promises.values().forEach(p -> p.cancel(false));
     }
 
     @Override
@@ -151,18 +170,17 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
                                 final Object hash = new Object();
                                 return method.invoke(hash, args);
                             }
-                            int msgId;
-                            try {
-                                msgId = send(id.getAndIncrement(), method, args);
-                                if (method.getReturnType() == void.class) {
-                                    promises.remove(msgId);
-                                    return null;
+                            if (method.getReturnType() == void.class) {
+                                // fire and forget as no response will be sent
+                                try {
+                                    write(id.getAndIncrement(), method.getName(), args);
+                                } catch (final Exception e1) {
+                                    terminate();
                                 }
-                            } catch (final Exception e1) {
-                                terminate();
                                 return null;
                             }
-                            return waitForResult(msgId, method.getGenericReturnType());
+                            final int msgId = id.getAndIncrement();
+                            return waitForResult(msgId, request(msgId, method, args), method.getGenericReturnType());
                         } catch (final InvocationTargetException e2) {
                             throw Exceptions.unrollCause(e2, InvocationTargetException.class);
                         } catch (final InterruptedException e3) {
@@ -176,6 +194,32 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
         return remote;
     }
 
+    @Override
+    public <T> CompletableFuture<T> callAsync(final Function<R, T> call) {
+        final RemoteInvocation             invocation = RemoteInvocation.record(remoteClass, call);
+        final Type                         type       = invocation.method.getGenericReturnType();
+        final int                          msgId      = id.getAndIncrement();
+        final CompletableFuture<RpcResult> promise    = request(msgId, invocation.method, invocation.args);
+
+        RemoteInvocation.orTimeout(promise, RESPONSE_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS)
+                        .whenComplete((r, e) -> promises.remove(msgId));
+        // the reader thread only completes the promise and leaves the decoding to the executor
+        return promise.thenApplyAsync(result -> {
+            try {
+                return this.<T> decode(result, type);
+            } catch (final RuntimeException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    @Override
+    public boolean isNegotiated() {
+        return negotiated;
+    }
+
     @Override
     public boolean isOpen() {
         return !stopped.get();
@@ -195,6 +239,11 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
                     in.readFully(data);
                     args.add(data);
                 }
+                if (cmd.isEmpty()) {
+                    // responses only complete the promises and hence, need no pooled thread
+                    response(id, args.get(0));
+                    continue;
+                }
                 final Runnable r = () -> {
                     try {
                         msgId.set(id);
@@ -222,25 +271,23 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
         }
     }
 
-    private Method getMethod(final String cmd, final int count) {
-        for (final Method m : local.getClass().getMethods()) {
-            if (m.getDeclaringClass() == RemoteRPC.class) {
-                continue;
-            }
-            if (m.getName().equals(cmd) && m.getParameterTypes().length == count) {
-                return m;
-            }
+    private CompletableFuture<RpcResult> request(final int msgId, final Method m, final Object[] values) {
+        final CompletableFuture<RpcResult> promise = new CompletableFuture<>();
+        promises.put(msgId, promise);
+        try {
+            write(msgId, m.getName(), values);
+        } catch (final Exception e) {
+            promises.remove(msgId);
+            promise.completeExceptionally(e);
+            terminate();
         }
-        return null;
+        return promise;
     }
 
-    private int send(final int msgId, final Method m, Object[] values) throws Exception {
-        if (m != null) {
-            promises.put(msgId, new RpcResult());
-        }
+    private void write(final int msgId, final String cmd, Object[] values) throws Exception {
         trace("Sending Socket RPC");
         synchronized (out) {
-            out.writeUTF(m != null ? m.getName() : "");
+            out.writeUTF(cmd);
             out.writeInt(msgId);
             if (values == null) {
                 values = new String[] {};
@@ -252,9 +299,7 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
                     out.writeInt(data.length);
                     out.write(data);
                 } else {
-                    final ByteArrayOutputStream bout = new ByteArrayOutputStream();
-                    new JSONCodec().enc().deflate().to(bout).put(value);
-                    final byte[] data = bout.toByteArray();
+                    final byte[] data = codec.encode(value);
                     out.writeInt(data.length);
                     out.write(data);
                 }
@@ -262,7 +307,26 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
             out.flush();
             trace("Sent Socket RPC");
         }
-        return msgId;
+    }
+
+    private void offerCodecs(final boolean reply) {
+        try {
+            write(id.getAndIncrement(), CODEC_NEGOTIATION_COMMAND, new Object[] { RpcCodecs.enabled(), reply });
+        } catch (final Exception e) {
+            trace("Codec negotiation could not be initiated: " + e.getMessage());
+        }
+    }
+
+    private void onCodecOffer(final List<byte[]> args) throws Exception {
+        final String[] remoteCodecs = (String[]) RpcCodecs.decode(args.get(0), String[].class);
+        final boolean  reply        = (Boolean) RpcCodecs.decode(args.get(1), Boolean.class);
+
+        codec      = RpcCodecs.select(Arrays.asList(remoteCodecs));
+        negotiated = true;
+        trace("Negotiated Socket RPC codec: " + codec.name());
+        if (!reply) {
+            offerCodecs(true);
+        }
     }
 
     private void response(int msgId, final byte[] data) {
@@ -271,57 +335,45 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
             msgId     = -msgId;
             exception = true;
         }
-        final RpcResult result = promises.get(msgId);
-        if (result != null) {
-            synchronized (result) {
-                trace("Resolved Socket RPC");
-                result.value     = data;
-                result.exception = exception;
-                result.resolved  = true;
-                result.notifyAll();
-            }
+        final CompletableFuture<RpcResult> promise = promises.remove(msgId);
+        if (promise != null) {
+            trace("Resolved Socket RPC");
+            final RpcResult result = new RpcResult();
+            result.value     = data;
+            result.exception = exception;
+            promise.complete(result);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> T waitForResult(final int id, final Type type) throws Exception {
-        final long      deadlineInMillis = 300_000L;
-        final long      startInNanos     = System.nanoTime();
-        final RpcResult result           = promises.get(id);
+    private <T> T waitForResult(final int id,
+                                final CompletableFuture<RpcResult> promise,
+                                final Type type) throws Exception {
         try {
-            do {
-                synchronized (result) {
-                    if (result.resolved) {
-                        if (result.value == null) {
-                            return null;
-                        }
-                        if (result.exception) {
-                            final String msg = new JSONCodec().dec().inflate().from(result.value).get(String.class);
-                            trace("Exception during agent communication: " + msg);
-                            throw new RuntimeException(msg);
-                        }
-                        if (type == byte[].class) {
-                            return (T) result.value;
-                        }
-                        return (T) new JSONCodec().dec().inflate().from(result.value).get(type);
-                    }
-                    long elapsedInNanos = System.nanoTime() - startInNanos;
-                    long delayInMillis  = deadlineInMillis - TimeUnit.NANOSECONDS.toMillis(elapsedInNanos);
-                    if (delayInMillis <= 0L) {
-                        return null;
-                    }
-                    trace("Start Delay (Socket RPC)" + delayInMillis);
-                    result.wait(delayInMillis);
-                    elapsedInNanos = System.nanoTime() - startInNanos;
-                    delayInMillis  = deadlineInMillis - TimeUnit.NANOSECONDS.toMillis(elapsedInNanos);
-                    trace("End Delay (Socket RPC)" + delayInMillis);
-                }
-            } while (true);
+            return decode(promise.get(RESPONSE_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS), type);
+        } catch (final TimeoutException | CancellationException | ExecutionException e) {
+            // timed out, closed or not sent at all
+            return null;
         } finally {
             promises.remove(id);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> T decode(final RpcResult result, final Type type) throws Exception {
+        if (result.value == null) {
+            return null;
+        }
+        if (result.exception) {
+            final String msg = (String) RpcCodecs.decode(result.value, String.class);
+            trace("Exception during agent communication: " + msg);
+            throw new RuntimeException(msg);
+        }
+        if (type == byte[].class) {
+            return (T) result.value;
+        }
+        return (T) RpcCodecs.decode(result.value, type);
+    }
+
     private void trace(final String message) {
         final boolean isTracingEnabled = Boolean.getBoolean(Agent.AGENT_RPC_TRACE_LOG_KEY);
         if (isTracingEnabled) {
@@ -332,35 +384,28 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
     private void executeCommand(final String cmd, final int id, final List<byte[]> args) throws Exception {
         if (cmd.isEmpty()) {
             response(id, args.get(0));
+        } else if (CODEC_NEGOTIATION_COMMAND.equals(cmd)) {
+            onCodecOffer(args);
         } else {
-            final Method m = getMethod(cmd, args.size());
+            final RpcDispatchTable.Entry m = dispatchTable.get(cmd, args.size());
             if (m == null) {
                 return;
             }
-            final Object[] parameters = new Object[args.size()];
-            for (int i = 0; i < args.size(); i++) {
-                final Class<?> type = m.getParameterTypes()[i];
-                if (type == byte[].class) {
-                    parameters[i] = args.get(i);
-                } else {
-                    parameters[i] = new JSONCodec().dec().inflate().from(args.get(i))
-                            .get(m.getGenericParameterTypes()[i]);
-                }
-            }
+            final Object[] parameters = m.decode(args);
             try {
-                final Object result = m.invoke(local, parameters);
-                if (m.getReturnType() == void.class) {
+                final Object result = m.invoke(parameters);
+                if (m.isVoid()) {
                     return;
                 }
                 try {
-                    send(id, null, new Object[] { result });
+                    write(id, "", new Object[] { result });
                 } catch (final Exception e) {
                     terminate();
                 }
             } catch (Throwable t) {
                 t = Exceptions.unrollCause(t, InvocationTargetException.class);
                 try {
-                    send(-id, null, new Object[] { t + "" });
+                    write(-id, "", new Object[] { t + "" });
                 } catch (final Exception e) {
                     terminate();
                 }
@@ -40,6 +40,17 @@ public interface EventListener {
         return Collections.singleton("*");
     }
 
+    /**
+     * By default, the events are not filtered by their properties. However, you can
+     * also specify an LDAP filter which will be evaluated by the remote agent
+     * against the event properties.
+     *
+     * @return the LDAP filter (can be {@code null})
+     */
+    default String filter() {
+        return null;
+    }
+
     /**
      * The callback to be executed when the event will be received
      *
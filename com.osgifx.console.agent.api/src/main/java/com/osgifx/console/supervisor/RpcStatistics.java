@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.supervisor;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The RpcStatistics class represents the statistics of the requests that have
+ * been sent to the associated agent in the current session.
+ */
+public class RpcStatistics {
+
+    /**
+     * The statistics of a communication link that does not record any
+     */
+    public static final RpcStatistics EMPTY = new RpcStatistics(0, emptyMap());
+
+    // The number of requests that can currently be in flight at the same time (0 if not limited)
+    private final int                  windowSize;
+    // The round-trip times of the requests (key: method name)
+    private final Map<String, Latency> latencies;
+
+    public RpcStatistics(final int windowSize, final Map<String, Latency> latencies) {
+        this.windowSize = windowSize;
+        this.latencies  = unmodifiableMap(new LinkedHashMap<>(latencies));
+    }
+
+    public int windowSize() {
+        return windowSize;
+    }
+
+    public Map<String, Latency> latencies() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        return "[windowSize=" + windowSize + ", latencies=" + latencies + "]";
+    }
+
+    /**
+     * The round-trip times of the requests of a single method. The percentiles
+     * are upper bounds in microseconds.
+     */
+    public static class Latency {
+
+        private final long count;
+        private final long meanInMicros;
+        private final long p50InMicros;
+        private final long p90InMicros;
+        private final long p99InMicros;
+
+        public Latency(final long count,
+                       final long meanInMicros,
+                       final long p50InMicros,
+                       final long p90InMicros,
+                       final long p99InMicros) {
+            this.count        = count;
+            this.meanInMicros = meanInMicros;
+            this.p50InMicros  = p50InMicros;
+            this.p90InMicros  = p90InMicros;
+            this.p99InMicros  = p99InMicros;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long meanInMicros() {
+            return meanInMicros;
+        }
+
+        public long p50InMicros() {
+            return p50InMicros;
+        }
+
+        public long p90InMicros() {
+            return p90InMicros;
+        }
+
+        public long p99InMicros() {
+            return p99InMicros;
+        }
+
+        @Override
+        public String toString() {
+            return "[count=" + count + ", mean=" + meanInMicros + "us, p50<=" + p50InMicros + "us, p90<="
+                    + p90InMicros + "us, p99<=" + p99InMicros + "us]";
+        }
+    }
+
+}
@@ -15,9 +15,12 @@
  ******************************************************************************/
 package com.osgifx.console.supervisor;
 
+import java.util.List;
+
 import org.osgi.annotation.versioning.ProviderType;
 
 import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.AsyncAgent;
 import com.osgifx.console.agent.dto.XEventDTO;
 import com.osgifx.console.agent.dto.XLogEntryDTO;
 
@@ -105,6 +108,17 @@ public interface Supervisor {
      */
     void logged(XLogEntryDTO event);
 
+    /**
+     * Callback method for a batch of OSGi Event Admin Events (in the order of their
+     * occurrence)
+     */
+    void onOSGiEvents(List<XEventDTO> events);
+
+    /**
+     * Callback method for a batch of logs (in the order of their occurrence)
+     */
+    void onLogEntries(List<XLogEntryDTO> events);
+
     /**
      * Registers the specified listener to listen to the OSGi events from the remote
      * machine
@@ -120,6 +134,15 @@ public interface Supervisor {
      */
     void removeOSGiEventListener(EventListener eventListener);
 
+    /**
+     * Notifies that the topics or the filter of the specified listener have been
+     * changed such that the event subscription of the remote agent gets updated.
+     * This does nothing if the listener is not registered.
+     *
+     * @param eventListener the updated event listener
+     */
+    void updateOSGiEventListener(EventListener eventListener);
+
     /**
      * Registers the specified listener to receive to the OSGi logs from the remote
      * machine
@@ -141,4 +164,29 @@ public interface Supervisor {
      * @return the agent
      */
     Agent getAgent();
+
+    /**
+     * Returns the asynchronous view of the associated agent
+     *
+     * @return the asynchronous agent or {@code null} if no agent is associated
+     */
+    AsyncAgent getAsyncAgent();
+
+    /**
+     * Checks if the associated agent has taken part in the protocol negotiation.
+     * Older agents do not negotiate and hence, do not support the methods that
+     * have been introduced together with the negotiation.
+     *
+     * @return {@code true} if the agent has negotiated, otherwise {@code false}
+     */
+    boolean isNegotiated();
+
+    /**
+     * Returns the statistics of the requests that have been sent to the
+     * associated agent, such as the round-trip times per method
+     *
+     * @return the statistics or {@link RpcStatistics#EMPTY} if the communication
+     *         link does not record any
+     */
+    RpcStatistics getRpcStatistics();
 }
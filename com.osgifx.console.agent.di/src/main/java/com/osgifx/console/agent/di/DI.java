@@ -78,6 +78,35 @@ public final class DI {
      */
     private final Map<Class<?>, Provider<?>> providers = new HashMap<>();
 
+    /**
+     * The enclosing scope (if this instance has been created using {@link #newScope()}), otherwise {@code null}.
+     */
+    private final DI parentScope;
+
+    public DI() {
+        this(null);
+    }
+
+    private DI(final DI parentScope) {
+        this.parentScope = parentScope;
+    }
+
+    /**
+     * Creates a new child scope of this instance.
+     * <p>
+     * Types that are bound in the child scope are only visible to the child scope, whereas types that are known to
+     * this instance (bound instances, providers, interface mappings and singletons) are resolved from this instance.
+     * All other types are instantiated in the child scope such that their dependencies are resolved against the
+     * child scope bindings first.
+     *
+     * @return the new child scope
+     */
+    public DI newScope() {
+        final DI scope = new DI(this);
+        scope.bindInstance(DI.class, scope);
+        return scope;
+    }
+
     /**
      * Get an instance of the given class type.
      *
@@ -91,8 +120,16 @@ public final class DI {
         return getInstance(requestedType, null);
     }
 
+    /**
+     * Resolves the given type. Resolution is serialized per scope as child scopes of concurrent sessions resolve the
+     * singletons of their enclosing scope at the same time. Locks are only ever acquired from a child scope towards
+     * its enclosing scopes.
+     */
     @SuppressWarnings("unchecked")
-    private <T> T getInstance(final Class<T> requestedType, final Class<?> parent) {
+    private synchronized <T> T getInstance(final Class<T> requestedType, final Class<?> parent) {
+        if (!providers.containsKey(requestedType) && isKnownInParentScope(requestedType)) {
+            return parentScope.getInstance(requestedType, parent);
+        }
         try {
             Class<?> type = requestedType;
 
@@ -221,7 +258,8 @@ public final class DI {
      * @throws java.lang.IllegalArgumentException if the first parameter is <b>not</b> an interface or the second
      *             parameter <b>is</b> an interface or an abstract class.
      */
-    public <T> void bindInterface(final Class<T> interfaceType, final Class<? extends T> implementationType) {
+    public synchronized <T> void bindInterface(final Class<T> interfaceType,
+                                               final Class<? extends T> implementationType) {
         if (!interfaceType.isInterface()) {
             throw new IllegalArgumentException("The given type is not an interface. Expecting the first argument to be an interface.");
         }
@@ -253,7 +291,7 @@ public final class DI {
      * @param provider the provider that will be called to get an instance of the given type.
      * @param <T> the generic type of the class/interface.
      */
-    public <T> void bindProvider(final Class<T> classType, final Provider<T> provider) {
+    public synchronized <T> void bindProvider(final Class<T> classType, final Provider<T> provider) {
         providers.put(classType, provider);
     }
 
@@ -284,7 +322,7 @@ public final class DI {
      *
      * @param type the type that will be marked as singleton.
      */
-    public void markAsSingleton(final Class<?> type) {
+    public synchronized void markAsSingleton(final Class<?> type) {
         if (type.isInterface()) {
             throw new IllegalArgumentException("The given type is an interface. Expecting the param to be an actual class");
         }
@@ -323,6 +361,26 @@ public final class DI {
                 + "you need to define a type parameter for this provider!");
     }
 
+    /**
+     * Check if the given class type can be resolved by one of the enclosing scopes.
+     */
+    private boolean isKnownInParentScope(final Class<?> type) {
+        return parentScope != null && parentScope.isKnown(type);
+    }
+
+    /**
+     * Check if the given class type has been bound to or is shared by this scope or any of its enclosing scopes.
+     */
+    private synchronized boolean isKnown(final Class<?> type) {
+        // @formatter:off
+        return providers.containsKey(type)
+                || interfaceMappings.containsKey(type)
+                || singletonInstances.containsKey(type)
+                || isSingleton(type)
+                || isKnownInParentScope(type);
+        // @formatter:on
+    }
+
     /**
      * Mark the given type as instantiable.
      */
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.admin;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.component.runtime.ServiceComponentRuntime;
+import org.osgi.service.component.runtime.dto.ComponentConfigurationDTO;
+import org.osgi.service.component.runtime.dto.ComponentDescriptionDTO;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.LoggerFactory;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Maintains an index of the component descriptions by their component
+ * configuration IDs and by their names to avoid introspecting all components
+ * for every single component to be enabled or disabled.
+ * <p>
+ * SCR updates the {@code service.changecount} property of its service whenever
+ * the state of any component changes. The resulting service events only mark
+ * the index as stale and it gets rebuilt on the next {@link #sync(Object)}. If
+ * the SCR implementation does not maintain the property (pre R7), the index is
+ * rebuilt on every synchronization.
+ */
+@Singleton
+public final class ComponentIndex implements ServiceListener {
+
+    private static final String SCR_SERVICE         = "org.osgi.service.component.runtime.ServiceComponentRuntime";
+    private static final String SCR_SERVICE_FILTER  = "(objectClass=" + SCR_SERVICE + ")";
+    private static final String SERVICE_CHANGECOUNT = "service.changecount";
+
+    private final BundleContext                        context;
+    private final Map<Long, ComponentDescriptionDTO>   ids    = new HashMap<>();
+    private final Map<String, ComponentDescriptionDTO> names  = new HashMap<>();
+    private final FluentLogger                         logger = LoggerFactory.getFluentLogger(getClass());
+    private volatile boolean                           stale  = true;
+    private ServiceComponentRuntime                    scr;
+
+    @Inject
+    public ComponentIndex(final BundleContext context) {
+        this.context = context;
+        try {
+            context.addServiceListener(this, SCR_SERVICE_FILTER);
+        } catch (final InvalidSyntaxException e) {
+            logger.atError().msg("SCR service cannot be tracked").throwable(e).log();
+        }
+    }
+
+    @Override
+    public void serviceChanged(final ServiceEvent event) {
+        stale = true;
+    }
+
+    /**
+     * Brings the index up to date if any component has changed since the last
+     * synchronization
+     *
+     * @param scrService the SCR service to introspect the components from
+     */
+    public synchronized void sync(final Object scrService) {
+        final ServiceComponentRuntime service = (ServiceComponentRuntime) scrService;
+        if (scr == service && !stale && isChangeCountMaintained()) {
+            return;
+        }
+        scr = service;
+        // reset before introspecting so that concurrent changes are not missed
+        stale = false;
+        ids.clear();
+        names.clear();
+        // as before, the first description wins if multiple bundles declare the same name
+        for (final ComponentDescriptionDTO description : scr.getComponentDescriptionDTOs()) {
+            names.putIfAbsent(description.name, description);
+            final Collection<ComponentConfigurationDTO> configurations = scr
+                    .getComponentConfigurationDTOs(description);
+            for (final ComponentConfigurationDTO configuration : configurations) {
+                ids.putIfAbsent(configuration.id, description);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the index even if no change has been reported. SCR implementations
+     * may update the {@code service.changecount} property with a delay (Felix SCR
+     * delays it by several seconds) and hence, a component that cannot be found
+     * in the index might have been registered in the meantime.
+     *
+     * @param scrService the SCR service to introspect the components from
+     */
+    public synchronized void resync(final Object scrService) {
+        stale = true;
+        sync(scrService);
+    }
+
+    /**
+     * Returns the description of the component configuration with the specified
+     * ID
+     *
+     * @param id the component configuration ID
+     * @return the component description or {@code null} if no such component
+     *         configuration exists
+     */
+    public synchronized ComponentDescriptionDTO forId(final long id) {
+        return ids.get(id);
+    }
+
+    /**
+     * Returns the component description with the specified name
+     *
+     * @param name the component name
+     * @return the component description or {@code null} if no such component
+     *         description exists
+     */
+    public synchronized ComponentDescriptionDTO forName(final String name) {
+        return names.get(name);
+    }
+
+    private boolean isChangeCountMaintained() {
+        final ServiceReference<?> reference = context.getServiceReference(SCR_SERVICE);
+        return reference != null && reference.getProperty(SERVICE_CHANGECOUNT) != null;
+    }
+
+}
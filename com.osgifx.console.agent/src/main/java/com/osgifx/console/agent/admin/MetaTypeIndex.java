@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.admin;
+
+import static org.osgi.framework.Bundle.ACTIVE;
+import static org.osgi.framework.Bundle.INSTALLED;
+import static org.osgi.framework.Bundle.RESOLVED;
+import static org.osgi.framework.Bundle.STARTING;
+import static org.osgi.framework.Bundle.STOPPING;
+import static org.osgi.framework.Bundle.UNINSTALLED;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.service.cm.Configuration;
+import org.osgi.service.metatype.MetaTypeInformation;
+import org.osgi.service.metatype.MetaTypeService;
+import org.osgi.util.tracker.BundleTracker;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.LoggerFactory;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Maintains an index of the metatype information of all installed bundles by
+ * their (factory) PIDs to avoid scanning the metatype information of all
+ * bundles for every configuration.
+ * <p>
+ * The bundle events only mark the affected bundles as stale. Their metatype
+ * information is (re-)read on the next {@link #sync(Object)} and hence, the
+ * framework event delivery is never blocked by parsing metatype resources.
+ */
+@Singleton
+public final class MetaTypeIndex extends BundleTracker<Bundle> implements ServiceListener {
+
+    private static final String METATYPE_SERVICES_FILTER = "(|(objectClass=org.osgi.service.metatype.MetaTypeProvider)"
+            + "(metatype.pid=*)(metatype.factory.pid=*))";
+
+    private final Set<Bundle>                      stale       = ConcurrentHashMap.newKeySet();
+    private final Map<Long, MetaTypeInformation>   infos       = new TreeMap<>();             // key: bundle ID
+    private final Map<String, MetaTypeInformation> pids        = new HashMap<>();
+    private final Map<String, MetaTypeInformation> factoryPids = new HashMap<>();
+    private final FluentLogger                     logger      = LoggerFactory.getFluentLogger(getClass());
+    private MetaTypeService                        metatype;
+
+    @Inject
+    public MetaTypeIndex(final BundleContext context) {
+        super(context, INSTALLED | RESOLVED | STARTING | ACTIVE | STOPPING, null);
+        try {
+            // the metatype information can also be provided by services
+            context.addServiceListener(this, METATYPE_SERVICES_FILTER);
+        } catch (final InvalidSyntaxException e) {
+            logger.atError().msg("Metatype services cannot be tracked").throwable(e).log();
+        }
+        open();
+    }
+
+    @Override
+    public Bundle addingBundle(final Bundle bundle, final BundleEvent event) {
+        stale.add(bundle);
+        return bundle;
+    }
+
+    @Override
+    public void modifiedBundle(final Bundle bundle, final BundleEvent event, final Bundle object) {
+        if (event != null && event.getType() == BundleEvent.UPDATED) {
+            stale.add(bundle);
+        }
+    }
+
+    @Override
+    public void removedBundle(final Bundle bundle, final BundleEvent event, final Bundle object) {
+        stale.add(bundle);
+    }
+
+    @Override
+    public void serviceChanged(final ServiceEvent event) {
+        final Bundle bundle = event.getServiceReference().getBundle();
+        if (bundle != null) {
+            stale.add(bundle);
+        }
+    }
+
+    /**
+     * Brings the index up to date by reading the metatype information of the
+     * bundles which have changed since the last synchronization
+     *
+     * @param metatypeService the metatype service to read the information from
+     */
+    public synchronized void sync(final Object metatypeService) {
+        final MetaTypeService service = (MetaTypeService) metatypeService;
+        if (metatype != service) {
+            // the information provided by a different metatype service cannot be reused
+            metatype = service;
+            infos.clear();
+            stale.addAll(getTracked().keySet());
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+        for (final Iterator<Bundle> it = stale.iterator(); it.hasNext();) {
+            final Bundle bundle = it.next();
+            it.remove();
+            infos.remove(bundle.getBundleId());
+            if (bundle.getState() != UNINSTALLED) {
+                final MetaTypeInformation info = metatype.getMetaTypeInformation(bundle);
+                if (info != null) {
+                    infos.put(bundle.getBundleId(), info);
+                }
+            }
+        }
+        pids.clear();
+        factoryPids.clear();
+        // as before, the bundle with the lowest ID wins if multiple bundles declare the same PID
+        for (final MetaTypeInformation info : infos.values()) {
+            for (final String pid : info.getPids()) {
+                pids.putIfAbsent(pid, info);
+            }
+            for (final String factoryPid : info.getFactoryPids()) {
+                factoryPids.putIfAbsent(factoryPid, info);
+            }
+        }
+    }
+
+    /**
+     * Returns the metatype information which declares the specified PID
+     *
+     * @param pid the PID
+     * @return the metatype information or {@code null} if no bundle declares the
+     *         PID
+     */
+    public synchronized MetaTypeInformation forPid(final String pid) {
+        return pid == null ? null : pids.get(pid);
+    }
+
+    /**
+     * Returns the metatype information which declares the specified factory PID
+     *
+     * @param factoryPid the factory PID
+     * @return the metatype information or {@code null} if no bundle declares the
+     *         factory PID
+     */
+    public synchronized MetaTypeInformation forFactoryPid(final String factoryPid) {
+        return factoryPid == null ? null : factoryPids.get(factoryPid);
+    }
+
+    /**
+     * Checks if the specified configuration is described by any metatype
+     * information
+     *
+     * @param config the configuration
+     * @return {@code true} if the (factory) PID is declared by any bundle,
+     *         otherwise {@code false}
+     */
+    public synchronized boolean hasMetatype(final Configuration config) {
+        return pids.containsKey(config.getPid())
+                || config.getFactoryPid() != null && factoryPids.containsKey(config.getFactoryPid());
+    }
+
+    /**
+     * Returns the metatype information of all bundles in the order of their IDs
+     *
+     * @return the metatype information
+     */
+    public synchronized List<MetaTypeInformation> all() {
+        return new ArrayList<>(infos.values());
+    }
+
+}
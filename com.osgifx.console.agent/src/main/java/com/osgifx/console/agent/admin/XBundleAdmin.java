@@ -61,10 +61,13 @@ import org.osgi.framework.wiring.dto.BundleRevisionDTO;
 import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
 import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.agent.dto.XBundleDeltaDTO;
 import com.osgifx.console.agent.dto.XBundleInfoDTO;
 import com.osgifx.console.agent.dto.XPackageDTO;
 import com.osgifx.console.agent.dto.XPackageDTO.XpackageType;
 import com.osgifx.console.agent.dto.XServiceInfoDTO;
+import com.osgifx.console.agent.provider.BundleChangeTracker;
+import com.osgifx.console.agent.provider.BundleChangeTracker.BundleChanges;
 import com.osgifx.console.agent.provider.BundleStartTimeCalculator;
 import com.osgifx.console.agent.provider.BundleStartTimeCalculator.BundleStartDuration;
 
@@ -74,13 +77,17 @@ public final class XBundleAdmin {
 
     private final BundleContext             context;
     private final BundleStartTimeCalculator bundleStartTimeCalculator;
+    private final BundleChangeTracker       bundleChangeTracker;
 
     private static final FluentLogger logger = LoggerFactory.getFluentLogger(XBundleAdmin.class);
 
     @Inject
-    public XBundleAdmin(final BundleContext context, final BundleStartTimeCalculator bundleStartTimeCalculator) {
+    public XBundleAdmin(final BundleContext context,
+                        final BundleStartTimeCalculator bundleStartTimeCalculator,
+                        final BundleChangeTracker bundleChangeTracker) {
         this.context                   = context;
         this.bundleStartTimeCalculator = bundleStartTimeCalculator;
+        this.bundleChangeTracker       = bundleChangeTracker;
     }
 
     public List<XBundleDTO> get() {
@@ -96,6 +103,44 @@ public final class XBundleAdmin {
         }
     }
 
+    public XBundleDeltaDTO getDelta(final String epoch, final long revision) {
+        final XBundleDeltaDTO delta = new XBundleDeltaDTO();
+        if (context == null) {
+            logger.atWarn().msg("Bundle context is null").log();
+            delta.isSnapshot = true;
+            delta.updated    = Collections.emptyList();
+            delta.removed    = Collections.emptyList();
+            return delta;
+        }
+        // the changes need to be captured before the DTOs are created so that a
+        // concurrent change is rather sent twice than never
+        final BundleChanges changes = bundleChangeTracker.getChanges(epoch, revision);
+
+        delta.epoch      = changes.getEpoch();
+        delta.revision   = changes.getRevision();
+        delta.isSnapshot = changes.isSnapshot();
+        delta.removed    = new ArrayList<>(changes.getRemoved());
+
+        if (changes.isSnapshot()) {
+            delta.updated = get();
+            return delta;
+        }
+        delta.updated = new ArrayList<>();
+        for (final Long id : changes.getUpdated()) {
+            final Bundle bundle = context.getBundle(id);
+            if (bundle == null || bundle.getState() == UNINSTALLED) {
+                delta.removed.add(id);
+                continue;
+            }
+            try {
+                delta.updated.add(toDTO(bundle, bundleStartTimeCalculator));
+            } catch (final Exception e) {
+                logger.atError().msg("Error occurred while retrieving bundle '{}'").arg(id).throwable(e).log();
+            }
+        }
+        return delta;
+    }
+
     public static XBundleDTO toDTO(final Bundle bundle, final BundleStartTimeCalculator bundleStartTimeCalculator) {
         final XBundleDTO dto = new XBundleDTO();
 
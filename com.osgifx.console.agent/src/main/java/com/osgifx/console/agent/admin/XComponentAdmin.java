@@ -35,10 +35,12 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.osgi.framework.dto.ServiceReferenceDTO;
@@ -49,6 +51,7 @@ import org.osgi.service.component.runtime.dto.ReferenceDTO;
 import org.osgi.service.component.runtime.dto.SatisfiedReferenceDTO;
 import org.osgi.service.component.runtime.dto.UnsatisfiedReferenceDTO;
 import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
 
 import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
@@ -65,11 +68,13 @@ import jakarta.inject.Inject;
 public final class XComponentAdmin {
 
     private final ServiceComponentRuntime scr;
+    private final ComponentIndex          componentIndex;
     private final FluentLogger            logger = LoggerFactory.getFluentLogger(getClass());
 
     @Inject
-    public XComponentAdmin(final Object scr) {
-        this.scr = (ServiceComponentRuntime) scr;
+    public XComponentAdmin(final Object scr, final ComponentIndex componentIndex) {
+        this.scr            = (ServiceComponentRuntime) scr;
+        this.componentIndex = componentIndex;
     }
 
     public List<XComponentDTO> getComponents() {
@@ -97,33 +102,40 @@ public final class XComponentAdmin {
     }
 
     public XResultDTO enableComponent(final long id) {
+        return enableComponents(id).get(id);
+    }
+
+    public Map<Long, XResultDTO> enableComponents(final long... ids) {
         if (scr == null) {
             logger.atWarn().msg(serviceUnavailable(SCR)).log();
-            return createResult(SKIPPED, serviceUnavailable(SCR));
+            return skipped(ids);
         }
-        final StringBuilder                       builder         = new StringBuilder();
-        final Collection<ComponentDescriptionDTO> descriptionDTOs = scr.getComponentDescriptionDTOs();
-
-        for (final ComponentDescriptionDTO dto : descriptionDTOs) {
-            final Collection<ComponentConfigurationDTO> configurationDTOs = scr.getComponentConfigurationDTOs(dto);
-            for (final ComponentConfigurationDTO configDTO : configurationDTOs) {
-                if (configDTO.id == id) {
-                    try {
-                        final Promise<Void> promise = scr.enableComponent(dto);
-                        promise.getValue();
-                    } catch (final Exception e) {
-                        builder.append(e.getMessage()).append(System.lineSeparator());
-                    }
-                    final String response = builder.toString();
-                    return response.isEmpty()
-                            ? createResult(SUCCESS, "Component with id '" + id + "' has been successfully enabled")
-                            : createResult(ERROR, response);
-                }
+        final Map<Long, ComponentDescriptionDTO> descriptions = lookup(ids);
+
+        // SCR processes the state changes asynchronously and hence, all are initiated before awaiting any
+        final Map<Long, Promise<Void>> promises = new LinkedHashMap<>();
+        for (final long id : ids) {
+            final ComponentDescriptionDTO dto = descriptions.get(id);
+            if (dto != null) {
+                promises.put(id, initiate(() -> scr.enableComponent(dto)));
+            }
+        }
+        final Map<Long, XResultDTO> results = new LinkedHashMap<>();
+        for (final long id : ids) {
+            final Promise<Void> promise = promises.get(id);
+            if (promise == null) {
+                results.put(id, createResult(SUCCESS, "Component with id '" + id
+                        + "' has not been found. Probably the component has not yet been enabled and that's why there is no associated id yet. "
+                        + "Try to disable the component by name."));
+                continue;
             }
+            final String response = await(promise);
+            results.put(id,
+                    response.isEmpty()
+                            ? createResult(SUCCESS, "Component with id '" + id + "' has been successfully enabled")
+                            : createResult(ERROR, response));
         }
-        return createResult(SUCCESS, "Component with id '" + id
-                + "' has not been found. Probably the component has not yet been enabled and that's why there is no associated id yet. "
-                + "Try to disable the component by name.");
+        return results;
     }
 
     public XResultDTO enableComponent(final String name) {
@@ -131,52 +143,49 @@ public final class XComponentAdmin {
             logger.atWarn().msg(serviceUnavailable(SCR)).log();
             return createResult(SKIPPED, serviceUnavailable(SCR));
         }
-        final StringBuilder                       builder         = new StringBuilder();
-        final Collection<ComponentDescriptionDTO> descriptionDTOs = scr.getComponentDescriptionDTOs();
-
-        for (final ComponentDescriptionDTO dto : descriptionDTOs) {
-            if (dto.name.equals(name)) {
-                try {
-                    final Promise<Void> promise = scr.enableComponent(dto);
-                    promise.getValue();
-                } catch (final Exception e) {
-                    builder.append(e.getMessage()).append(System.lineSeparator());
-                }
-                final String response = builder.toString();
-                return response.isEmpty()
-                        ? createResult(SUCCESS, "Component with name '" + name + "' has been successfully enabled")
-                        : createResult(ERROR, response);
-            }
+        final ComponentDescriptionDTO dto = lookup(name);
+        if (dto == null) {
+            return createResult(SUCCESS, "Component with name '" + name + "' has not been found");
         }
-        return createResult(SUCCESS, "Component with name '" + name + "' has not been found");
+        final String response = await(initiate(() -> scr.enableComponent(dto)));
+        return response.isEmpty()
+                ? createResult(SUCCESS, "Component with name '" + name + "' has been successfully enabled")
+                : createResult(ERROR, response);
     }
 
     public XResultDTO disableComponent(final long id) {
+        return disableComponents(id).get(id);
+    }
+
+    public Map<Long, XResultDTO> disableComponents(final long... ids) {
         if (scr == null) {
             logger.atWarn().msg(serviceUnavailable(SCR)).log();
-            return createResult(SKIPPED, serviceUnavailable(SCR));
+            return skipped(ids);
         }
-        final StringBuilder                       builder         = new StringBuilder();
-        final Collection<ComponentDescriptionDTO> descriptionDTOs = scr.getComponentDescriptionDTOs();
-
-        for (final ComponentDescriptionDTO dto : descriptionDTOs) {
-            final Collection<ComponentConfigurationDTO> configurationDTOs = scr.getComponentConfigurationDTOs(dto);
-            for (final ComponentConfigurationDTO configDTO : configurationDTOs) {
-                if (configDTO.id == id) {
-                    try {
-                        final Promise<Void> promise = scr.disableComponent(dto);
-                        promise.getValue();
-                    } catch (final Exception e) {
-                        builder.append(e.getMessage()).append(System.lineSeparator());
-                    }
-                    final String response = builder.toString();
-                    return response.isEmpty()
-                            ? createResult(SUCCESS, "Component with id '" + id + "' has been successfully disabled")
-                            : createResult(ERROR, response);
-                }
+        final Map<Long, ComponentDescriptionDTO> descriptions = lookup(ids);
+
+        // SCR processes the state changes asynchronously and hence, all are initiated before awaiting any
+        final Map<Long, Promise<Void>> promises = new LinkedHashMap<>();
+        for (final long id : ids) {
+            final ComponentDescriptionDTO dto = descriptions.get(id);
+            if (dto != null) {
+                promises.put(id, initiate(() -> scr.disableComponent(dto)));
             }
         }
-        return createResult(SUCCESS, "Component with id '" + id + "' has not been found");
+        final Map<Long, XResultDTO> results = new LinkedHashMap<>();
+        for (final long id : ids) {
+            final Promise<Void> promise = promises.get(id);
+            if (promise == null) {
+                results.put(id, createResult(SUCCESS, "Component with id '" + id + "' has not been found"));
+                continue;
+            }
+            final String response = await(promise);
+            results.put(id,
+                    response.isEmpty()
+                            ? createResult(SUCCESS, "Component with id '" + id + "' has been successfully disabled")
+                            : createResult(ERROR, response));
+        }
+        return results;
     }
 
     public XResultDTO disableComponent(final String name) {
@@ -184,24 +193,74 @@ public final class XComponentAdmin {
             logger.atWarn().msg(serviceUnavailable(SCR)).log();
             return createResult(SKIPPED, serviceUnavailable(SCR));
         }
-        final StringBuilder                       builder         = new StringBuilder();
-        final Collection<ComponentDescriptionDTO> descriptionDTOs = scr.getComponentDescriptionDTOs();
-
-        for (final ComponentDescriptionDTO dto : descriptionDTOs) {
-            if (dto.name.equals(name)) {
-                try {
-                    final Promise<Void> promise = scr.disableComponent(dto);
-                    promise.getValue();
-                } catch (final Exception e) {
-                    builder.append(e.getMessage()).append(System.lineSeparator());
-                }
-                final String response = builder.toString();
-                return response.isEmpty()
-                        ? createResult(SUCCESS, "Component with name '" + name + "' has been successfully disabled")
-                        : createResult(ERROR, response);
+        final ComponentDescriptionDTO dto = lookup(name);
+        if (dto == null) {
+            return createResult(SUCCESS, "Component with name '" + name + "' has not been found");
+        }
+        final String response = await(initiate(() -> scr.disableComponent(dto)));
+        return response.isEmpty()
+                ? createResult(SUCCESS, "Component with name '" + name + "' has been successfully disabled")
+                : createResult(ERROR, response);
+    }
+
+    /**
+     * Looks up the descriptions of the specified component configurations. The
+     * index is rebuilt once if any of them cannot be found, as the change count
+     * of SCR might not have been updated yet.
+     */
+    private Map<Long, ComponentDescriptionDTO> lookup(final long... ids) {
+        componentIndex.sync(scr);
+
+        final Map<Long, ComponentDescriptionDTO> descriptions = new LinkedHashMap<>();
+        boolean                                  isResynced   = false;
+        for (final long id : ids) {
+            ComponentDescriptionDTO dto = componentIndex.forId(id);
+            if (dto == null && !isResynced) {
+                componentIndex.resync(scr);
+                isResynced = true;
+                dto        = componentIndex.forId(id);
             }
+            if (dto != null) {
+                descriptions.put(id, dto);
+            }
+        }
+        return descriptions;
+    }
+
+    private ComponentDescriptionDTO lookup(final String name) {
+        componentIndex.sync(scr);
+
+        final ComponentDescriptionDTO dto = componentIndex.forName(name);
+        if (dto != null) {
+            return dto;
+        }
+        componentIndex.resync(scr);
+        return componentIndex.forName(name);
+    }
+
+    private static Promise<Void> initiate(final Supplier<Promise<Void>> stateChange) {
+        try {
+            return stateChange.get();
+        } catch (final Exception e) {
+            return Promises.failed(e);
+        }
+    }
+
+    private static String await(final Promise<Void> promise) {
+        try {
+            promise.getValue();
+            return "";
+        } catch (final Exception e) {
+            return e.getMessage() + System.lineSeparator();
+        }
+    }
+
+    private static Map<Long, XResultDTO> skipped(final long... ids) {
+        final Map<Long, XResultDTO> results = new LinkedHashMap<>();
+        for (final long id : ids) {
+            results.put(id, createResult(SKIPPED, serviceUnavailable(SCR)));
         }
-        return createResult(SUCCESS, "Component with name '" + name + "' has not been found");
+        return results;
     }
 
     private XComponentDTO toDTO(final ComponentConfigurationDTO compConfDTO,
@@ -33,7 +33,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 
-import org.osgi.framework.BundleContext;
 import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.service.cm.Configuration;
 import org.osgi.service.cm.ConfigurationAdmin;
@@ -55,19 +54,19 @@ import jakarta.inject.Inject;
 
 public final class XConfigurationAdmin {
 
-    private final BundleContext      context;
     private final Object             metatype;
+    private final MetaTypeIndex      metatypeIndex;
     private final ConfigurationAdmin configAdmin;
     private final XComponentAdmin    componentAdmin;
     private final FluentLogger       logger = LoggerFactory.getFluentLogger(getClass());
 
     @Inject
-    public XConfigurationAdmin(final BundleContext context,
-                               final Object configAdmin,
+    public XConfigurationAdmin(final Object configAdmin,
                                final Object metatype,
+                               final MetaTypeIndex metatypeIndex,
                                final XComponentAdmin componentAdmin) {
-        this.context        = context;
         this.metatype       = metatype;
+        this.metatypeIndex  = metatypeIndex;
         this.configAdmin    = (ConfigurationAdmin) configAdmin;
         this.componentAdmin = componentAdmin;
     }
@@ -169,8 +168,23 @@ public final class XConfigurationAdmin {
     }
 
     public void setComponentReferenceFilters(final XConfigurationDTO configuration) {
+        setComponentReferenceFilters(configuration, componentAdmin.getComponents());
+    }
+
+    public void setComponentReferenceFilters(final List<XConfigurationDTO> configurations) {
+        if (configurations.isEmpty()) {
+            return;
+        }
+        // introspect SCR only once for the whole request and join in memory
+        final ComponentSnapshot snapshot = new ComponentSnapshot(componentAdmin.getComponents());
+        for (final XConfigurationDTO configuration : configurations) {
+            setComponentReferenceFilters(configuration, snapshot.componentsOf(configuration));
+        }
+    }
+
+    private void setComponentReferenceFilters(final XConfigurationDTO configuration,
+                                              final List<XComponentDTO> components) {
         final List<XComponentReferenceFilterDTO> componentReferenceFilters = new ArrayList<>();
-        final List<XComponentDTO>                components                = componentAdmin.getComponents();
         for (final XComponentDTO component : components) {
             if (!matchPID(component, configuration)) {
                 continue;
@@ -244,9 +258,11 @@ public final class XConfigurationAdmin {
         if (configs == null) {
             return dtos;
         }
+        if (metatype != null) {
+            metatypeIndex.sync(metatype);
+        }
         for (final Configuration config : configs) {
-            final boolean hasMetatype = metatype == null ? false
-                    : XMetaTypeAdmin.hasMetatype(context, metatype, config);
+            final boolean hasMetatype = metatype != null && metatypeIndex.hasMetatype(config);
             if (!hasMetatype) {
                 dtos.add(toConfigDTO(config));
             }
@@ -266,4 +282,64 @@ public final class XConfigurationAdmin {
         return dto;
     }
 
+    /**
+     * Point-in-time view of the SCR components indexed by their configuration
+     * PIDs. The components of a configuration are returned in the same order
+     * as the snapshot so that the reference filters are assigned exactly as a
+     * linear scan would assign them.
+     */
+    private static final class ComponentSnapshot {
+
+        private final List<XComponentDTO>        components;
+        private final Map<String, List<Integer>> positionsByPid;
+
+        ComponentSnapshot(final List<XComponentDTO> components) {
+            this.components     = components;
+            this.positionsByPid = new HashMap<>();
+
+            for (int i = 0; i < components.size(); i++) {
+                final List<String> pids = components.get(i).configurationPid;
+                if (pids == null) {
+                    continue;
+                }
+                for (final String pid : pids) {
+                    final List<Integer> positions = positionsByPid.computeIfAbsent(pid, k -> new ArrayList<>());
+                    if (positions.isEmpty() || positions.get(positions.size() - 1) != i) {
+                        positions.add(i);
+                    }
+                }
+            }
+        }
+
+        List<XComponentDTO> componentsOf(final XConfigurationDTO configuration) {
+            final List<Integer>       byPid        = positionsOf(configuration.pid);
+            final List<Integer>       byFactoryPid = positionsOf(configuration.factoryPid);
+            final List<XComponentDTO> result       = new ArrayList<>(byPid.size() + byFactoryPid.size());
+
+            // merge the two ascending position lists without duplicates
+            int i = 0;
+            int j = 0;
+            while (i < byPid.size() || j < byFactoryPid.size()) {
+                final int next;
+                if (j == byFactoryPid.size() || i < byPid.size() && byPid.get(i) < byFactoryPid.get(j)) {
+                    next = byPid.get(i++);
+                } else if (i == byPid.size() || byFactoryPid.get(j) < byPid.get(i)) {
+                    next = byFactoryPid.get(j++);
+                } else {
+                    next = byPid.get(i++);
+                    j++;
+                }
+                result.add(components.get(next));
+            }
+            return result;
+        }
+
+        private List<Integer> positionsOf(final String pid) {
+            if (pid == null) {
+                return Collections.emptyList();
+            }
+            return positionsByPid.getOrDefault(pid, Collections.emptyList());
+        }
+    }
+
 }
@@ -22,10 +22,12 @@ import static com.osgifx.console.agent.helper.AgentHelper.createResult;
 import static com.osgifx.console.agent.helper.AgentHelper.serviceUnavailable;
 import static com.osgifx.console.agent.helper.OSGiCompendiumService.DMT;
 import static org.osgi.service.dmt.DmtSession.LOCK_TYPE_EXCLUSIVE;
+import static org.osgi.service.dmt.DmtSession.LOCK_TYPE_SHARED;
 import static org.osgi.service.dmt.MetaNode.CMD_GET;
 import static org.osgi.service.dmt.Uri.PATH_SEPARATOR;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -45,7 +47,6 @@ import jakarta.inject.Inject;
 
 public final class XDmtAdmin {
 
-    private XDmtNodeDTO        parent;
     private final DmtAdmin     dmtAdmin;
     private final FluentLogger logger = LoggerFactory.getFluentLogger(getClass());
 
@@ -55,12 +56,34 @@ public final class XDmtAdmin {
     }
 
     public XDmtNodeDTO readDmtNode(final String rootURI) {
+        return readDmtNode(rootURI, Integer.MAX_VALUE, 0, Integer.MAX_VALUE);
+    }
+
+    public XDmtNodeDTO readDmtNode(final String uri, final int depth, final int offset, final int limit) {
         if (dmtAdmin == null) {
             logger.atWarn().msg(serviceUnavailable(DMT)).log();
             return null;
         }
-        processNode(rootURI, parent);
-        return parent;
+        DmtSession session = null;
+        try {
+            // the nodes are only read and hence, a single shared session suffices for the whole tree
+            session = dmtAdmin.getSession(uri, LOCK_TYPE_SHARED);
+            if (!session.isNodeUri(uri)) {
+                return null;
+            }
+            return readNode(session, uri, Math.max(depth, 0), Math.max(offset, 0), Math.max(limit, 0));
+        } catch (final Exception e) {
+            logger.atError().msg("Error occurred while reading DMT node").throwable(e).log();
+            return null;
+        } finally {
+            if (session != null) {
+                try {
+                    session.close();
+                } catch (final DmtException e) {
+                    // nothing to do
+                }
+            }
+        }
     }
 
     public XResultDTO updateDmtNode(final String uri, final Object value, final DmtDataType format) {
@@ -127,33 +150,48 @@ public final class XDmtAdmin {
         }
     }
 
-    private void processNode(final String uri, final XDmtNodeDTO parent) {
+    private XDmtNodeDTO readNode(final DmtSession session,
+                                 final String uri,
+                                 final int depth,
+                                 final int offset,
+                                 final int limit) {
+        final XDmtNodeDTO node          = createNode(session, uri);
+        final String[]    childrenNodes = childNodeNames(session, uri);
+
+        node.childCount = childrenNodes.length;
+        if (depth == 0) {
+            return node;
+        }
+        final int from = Math.min(offset, childrenNodes.length);
+        final int to   = (int) Math.min((long) from + limit, childrenNodes.length);
+        for (int i = from; i < to; i++) {
+            final String childPath = uri.isEmpty() ? childrenNodes[i] : uri + PATH_SEPARATOR + childrenNodes[i];
+            // the nested levels always start with their first child
+            node.children.add(readNode(session, childPath, depth - 1, 0, limit));
+        }
+        return node;
+    }
+
+    private String[] childNodeNames(final DmtSession session, final String uri) {
         try {
-            final DmtSession session = dmtAdmin.getSession(uri, LOCK_TYPE_EXCLUSIVE);
-            if (!session.isNodeUri(uri)) {
-                return;
-            }
-            if (parent == null) {
-                // it's a root node
-                this.parent = createNode(session, uri, null, true);
+            if (session.isLeafNode(uri)) {
+                return new String[0];
             }
-            final XDmtNodeDTO startNode     = parent == null ? this.parent : createNode(session, uri, parent, false);
-            final String[]    childrenNodes = session.getChildNodeNames(uri);
-            session.close();
-            for (final String childNode : childrenNodes) {
-                final String childPath = uri.isEmpty() ? childNode : uri + PATH_SEPARATOR + childNode;
-                processNode(childPath, startNode);
+            final String[] names = session.getChildNodeNames(uri);
+            if (names == null) {
+                return new String[0];
             }
+            // the order is not specified and must be stable for paging
+            Arrays.sort(names);
+            return names;
         } catch (final Exception e) {
             logger.atError().msg("Error occurred").throwable(e).log();
+            return new String[0];
         }
     }
 
-    private XDmtNodeDTO createNode(final DmtSession session,
-                                   final String uri,
-                                   final XDmtNodeDTO parent,
-                                   final boolean isRoot) throws DmtException {
-        final List<String> data = extractData(session, uri, isRoot);
+    private XDmtNodeDTO createNode(final DmtSession session, final String uri) {
+        final List<String> data = extractData(session, uri);
         final XDmtNodeDTO  node = new XDmtNodeDTO();
 
         node.uri       = uri;
@@ -162,16 +200,12 @@ public final class XDmtAdmin {
         node.createdAt = data.get(2);
         node.children  = new ArrayList<>();
 
-        if (parent != null) {
-            parent.children.add(node);
-        }
         return node;
     }
 
-    private List<String> extractData(final DmtSession session, String uri, final boolean isRoot) throws DmtException {
+    private List<String> extractData(final DmtSession session, final String uri) {
         final List<String> data = new ArrayList<>();
 
-        uri = isRoot ? "" : uri;
         String format    = null;
         String value     = null;
         Date   createdAt = null;
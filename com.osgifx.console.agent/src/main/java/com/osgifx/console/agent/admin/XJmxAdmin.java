@@ -15,7 +15,9 @@
  ******************************************************************************/
 package com.osgifx.console.agent.admin;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
@@ -23,10 +25,19 @@ import java.lang.management.MemoryPoolMXBean;
 import java.lang.management.MemoryUsage;
 import java.lang.management.RuntimeMXBean;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 import javax.management.MBeanServer;
 
@@ -36,12 +47,28 @@ import com.osgifx.console.agent.dto.XHeapUsageDTO;
 import com.osgifx.console.agent.dto.XHeapUsageDTO.XGarbageCollectorMXBean;
 import com.osgifx.console.agent.dto.XHeapUsageDTO.XMemoryPoolMXBean;
 import com.osgifx.console.agent.dto.XHeapUsageDTO.XMemoryUsage;
+import com.osgifx.console.agent.dto.XHeapdumpDTO;
 
+import jakarta.inject.Singleton;
+
+@Singleton
 public final class XJmxAdmin {
 
-    private static final String    HOTSPOT_BEAN_NAME = "com.sun.management:type=HotSpotDiagnostic";
-    private static volatile Object hotspotMBean;
-    private final FluentLogger     logger            = LoggerFactory.getFluentLogger(getClass());
+    private static final String         HOTSPOT_BEAN_NAME = "com.sun.management:type=HotSpotDiagnostic";
+    private static final int            MAX_CHUNK_SIZE    = 16 * 1024 * 1024;
+    private static final long           HEAPDUMP_EXPIRY   = TimeUnit.HOURS.toNanos(1);
+    private static volatile Object      hotspotMBean;
+    private final Map<String, Heapdump> heapdumps         = new ConcurrentHashMap<>();
+    private final FluentLogger          logger            = LoggerFactory.getFluentLogger(getClass());
+
+    private static final class Heapdump {
+        private final File    file;
+        private volatile long accessedAt = System.nanoTime();
+
+        private Heapdump(final File file) {
+            this.file = file;
+        }
+    }
 
     public XHeapUsageDTO init() {
         final XHeapUsageDTO heapUsage = new XHeapUsageDTO();
@@ -98,18 +125,103 @@ public final class XJmxAdmin {
         final File location = new File(System.getProperty("user.dir"));
         final File heapdump = new File(location, "" + System.currentTimeMillis() + ".hprof");
 
-        initHotspotMBean();
         try {
-            final Class<?> clazz = Class.forName("com.sun.management.HotSpotDiagnosticMXBean");
-            final Method   m     = clazz.getMethod("dumpHeap", String.class, boolean.class);
-            m.invoke(hotspotMBean, heapdump.getAbsolutePath(), true);
-
+            dumpHeap(heapdump);
             return Files.readAllBytes(heapdump.toPath());
         } finally {
             heapdump.delete();
         }
     }
 
+    public XHeapdumpDTO captureHeapdump() throws Exception {
+        deleteExpiredHeapdumps();
+
+        final String id       = UUID.randomUUID().toString();
+        final File   heapdump = new File(System.getProperty("java.io.tmpdir"), "osgifx-" + id + ".hprof");
+
+        try {
+            dumpHeap(heapdump);
+        } catch (final Exception e) {
+            heapdump.delete();
+            throw e;
+        }
+        heapdumps.put(id, new Heapdump(heapdump));
+
+        final XHeapdumpDTO dto = new XHeapdumpDTO();
+
+        dto.id         = id;
+        dto.size       = heapdump.length();
+        dto.capturedAt = heapdump.lastModified();
+
+        return dto;
+    }
+
+    public byte[] readHeapdumpChunk(final String id, final long offset, final int length, final boolean compress)
+            throws IOException {
+        final Heapdump pending = heapdumps.get(id);
+        if (pending == null) {
+            throw new IllegalArgumentException("Heap dump '" + id + "' does not exist");
+        }
+        pending.accessedAt = System.nanoTime();
+        final File heapdump = pending.file;
+        if (offset < 0 || length <= 0) {
+            throw new IllegalArgumentException("Invalid chunk - offset: " + offset + ", length: " + length);
+        }
+        try (FileChannel channel = FileChannel.open(heapdump.toPath(), StandardOpenOption.READ)) {
+            final long remaining = channel.size() - offset;
+            if (remaining <= 0) {
+                return new byte[0];
+            }
+            final ByteBuffer buffer   = ByteBuffer.allocate((int) Math.min(remaining, Math.min(length, MAX_CHUNK_SIZE)));
+            long             position = offset;
+            while (buffer.hasRemaining()) {
+                final int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+            }
+            final byte[] chunk = buffer.hasRemaining() ? Arrays.copyOf(buffer.array(), buffer.position())
+                    : buffer.array();
+            return compress ? gzip(chunk) : chunk;
+        }
+    }
+
+    public boolean deleteHeapdump(final String id) {
+        final Heapdump heapdump = heapdumps.remove(id);
+        return heapdump != null && heapdump.file.delete();
+    }
+
+    /**
+     * Deletes the heap dumps that have not been read for an hour. Their transfer
+     * has been abandoned, for example, by a supervisor that crashed while no
+     * session got closed on the agent side.
+     */
+    private void deleteExpiredHeapdumps() {
+        final long now = System.nanoTime();
+        heapdumps.forEach((id, heapdump) -> {
+            if (now - heapdump.accessedAt > HEAPDUMP_EXPIRY && deleteHeapdump(id)) {
+                logger.atInfo().msg("Expired heap dump '{}' has been deleted").arg(id).log();
+            }
+        });
+    }
+
+    private static byte[] gzip(final byte[] data) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static void dumpHeap(final File heapdump) throws Exception {
+        initHotspotMBean();
+
+        final Class<?> clazz = Class.forName("com.sun.management.HotSpotDiagnosticMXBean");
+        final Method   m     = clazz.getMethod("dumpHeap", String.class, boolean.class);
+        m.invoke(hotspotMBean, heapdump.getAbsolutePath(), true);
+    }
+
     public void gc() throws Exception {
         initHotspotMBean();
         final Class<?> clazzBean     = Class.forName("com.sun.management.HotSpotDiagnosticMXBean");
@@ -21,18 +21,16 @@ import static com.osgifx.console.agent.helper.OSGiCompendiumService.METATYPE;
 import static java.util.stream.Collectors.toList;
 import static org.osgi.service.metatype.ObjectClassDefinition.ALL;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
-import org.osgi.framework.Bundle;
-import org.osgi.framework.BundleContext;
-import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.service.cm.Configuration;
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.metatype.AttributeDefinition;
@@ -51,16 +49,16 @@ import jakarta.inject.Inject;
 
 public final class XMetaTypeAdmin {
 
-    private final BundleContext      context;
     private final MetaTypeService    metatype;
+    private final MetaTypeIndex      metatypeIndex;
     private final ConfigurationAdmin configAdmin;
     private final FluentLogger       logger = LoggerFactory.getFluentLogger(getClass());
 
     @Inject
-    public XMetaTypeAdmin(final BundleContext context, final Object configAdmin, final Object metatype) {
-        this.context     = context;
-        this.configAdmin = (ConfigurationAdmin) configAdmin;
-        this.metatype    = (MetaTypeService) metatype;
+    public XMetaTypeAdmin(final Object configAdmin, final Object metatype, final MetaTypeIndex metatypeIndex) {
+        this.configAdmin   = (ConfigurationAdmin) configAdmin;
+        this.metatype      = (MetaTypeService) metatype;
+        this.metatypeIndex = metatypeIndex;
     }
 
     public List<XConfigurationDTO> getConfigurations() {
@@ -75,8 +73,12 @@ public final class XMetaTypeAdmin {
         List<XConfigurationDTO> configsWithMetatype    = null;
         List<XConfigurationDTO> metatypeWithoutConfigs = null;
         try {
-            configsWithMetatype    = findConfigsWithMetatype();
-            metatypeWithoutConfigs = findMetatypeWithoutConfigs();
+            metatypeIndex.sync(metatype);
+            // the configurations are listed only once and shared by both lookups
+            final Configuration[] configs = Optional.ofNullable(configAdmin.listConfigurations(null))
+                                                    .orElse(new Configuration[0]);
+            configsWithMetatype    = findConfigsWithMetatype(configs);
+            metatypeWithoutConfigs = findMetatypeWithoutConfigs(configs);
         } catch (final Exception e) {
             logger.atError().msg("Error occurred while retrieving configurations").throwable(e).log();
             return Collections.emptyList();
@@ -84,14 +86,10 @@ public final class XMetaTypeAdmin {
         return joinLists(configsWithMetatype, metatypeWithoutConfigs);
     }
 
-    private List<XConfigurationDTO> findConfigsWithMetatype() throws IOException, InvalidSyntaxException {
-        final Configuration[] allExistingConfigurations = configAdmin.listConfigurations(null);
-        if (allExistingConfigurations == null) {
-            return Collections.emptyList();
-        }
+    private List<XConfigurationDTO> findConfigsWithMetatype(final Configuration[] configs) {
         final List<XConfigurationDTO> dtos = new ArrayList<>();
-        for (final Configuration config : allExistingConfigurations) {
-            final boolean hasMetatype = hasMetatype(context, metatype, config);
+        for (final Configuration config : configs) {
+            final boolean hasMetatype = metatypeIndex.hasMetatype(config);
             if (hasMetatype) {
                 dtos.add(toConfigDTO(config, null, toOCD(config)));
             }
@@ -99,15 +97,15 @@ public final class XMetaTypeAdmin {
         return dtos;
     }
 
-    private List<XConfigurationDTO> findMetatypeWithoutConfigs() throws IOException, InvalidSyntaxException {
+    private List<XConfigurationDTO> findMetatypeWithoutConfigs(final Configuration[] configs) {
+        final Set<String> existingPids = new HashSet<>();
+        for (final Configuration config : configs) {
+            existingPids.add(config.getPid());
+        }
         final List<XConfigurationDTO> dtos = new ArrayList<>();
-        for (final Bundle bundle : context.getBundles()) {
-            final MetaTypeInformation metatypeInfo = metatype.getMetaTypeInformation(bundle);
-            if (metatypeInfo == null) {
-                continue;
-            }
+        for (final MetaTypeInformation metatypeInfo : metatypeIndex.all()) {
             for (final String pid : metatypeInfo.getPids()) {
-                final boolean hasAssociatedConfiguration = checkConfigurationExistence(pid);
+                final boolean hasAssociatedConfiguration = existingPids.contains(pid);
                 if (!hasAssociatedConfiguration) {
                     final XObjectClassDefDTO ocd = toOcdDTO(pid, metatypeInfo, ConfigurationType.SINGLETON);
                     dtos.add(toConfigDTO(null, pid, ocd));
@@ -123,10 +121,6 @@ public final class XMetaTypeAdmin {
         return dtos;
     }
 
-    private boolean checkConfigurationExistence(final String pid) throws IOException, InvalidSyntaxException {
-        return configAdmin.listConfigurations("(service.pid=" + pid + ")") != null;
-    }
-
     private XConfigurationDTO toConfigDTO(final Configuration configuration,
                                           final String metatypePID,
                                           final XObjectClassDefDTO ocd) {
@@ -143,24 +137,13 @@ public final class XMetaTypeAdmin {
     }
 
     private XObjectClassDefDTO toOCD(final Configuration config) {
-        for (final Bundle bundle : context.getBundles()) {
-            final MetaTypeInformation metatypeInfo = metatype.getMetaTypeInformation(bundle);
-            if (metatypeInfo == null) {
-                continue;
-            }
-            final String configPID        = config.getPid();
-            final String configFactoryPID = config.getFactoryPid();
-
-            for (final String pid : metatypeInfo.getPids()) {
-                if (pid.equals(configPID)) {
-                    return toOcdDTO(configPID, metatypeInfo, ConfigurationType.SINGLETON);
-                }
-            }
-            for (final String fPid : metatypeInfo.getFactoryPids()) {
-                if (fPid.equals(config.getFactoryPid())) {
-                    return toOcdDTO(configFactoryPID, metatypeInfo, ConfigurationType.FACTORY);
-                }
-            }
+        final MetaTypeInformation singletonInfo = metatypeIndex.forPid(config.getPid());
+        if (singletonInfo != null) {
+            return toOcdDTO(config.getPid(), singletonInfo, ConfigurationType.SINGLETON);
+        }
+        final MetaTypeInformation factoryInfo = metatypeIndex.forFactoryPid(config.getFactoryPid());
+        if (factoryInfo != null) {
+            return toOcdDTO(config.getFactoryPid(), factoryInfo, ConfigurationType.FACTORY);
         }
         return null;
     }
@@ -196,29 +179,6 @@ public final class XMetaTypeAdmin {
         return dto;
     }
 
-    public static boolean hasMetatype(final BundleContext context,
-                                      final Object metatypeService,
-                                      final Configuration config) {
-        final MetaTypeService metatype = (MetaTypeService) metatypeService;
-        for (final Bundle bundle : context.getBundles()) {
-            final MetaTypeInformation metatypeInfo = metatype.getMetaTypeInformation(bundle);
-            if (metatypeInfo == null) {
-                continue;
-            }
-            final String   pid                 = config.getPid();
-            final String   factoryPID          = config.getFactoryPid();
-            final String[] metatypePIDs        = metatypeInfo.getPids();
-            final String[] metatypeFactoryPIDs = metatypeInfo.getFactoryPids();
-            final boolean  pidExists           = Arrays.asList(metatypePIDs).contains(pid);
-            final boolean  factoryPidExists    = Optional.ofNullable(factoryPID)
-                    .map(fPID -> Arrays.asList(metatypeFactoryPIDs).contains(factoryPID)).orElse(false);
-            if (pidExists || factoryPidExists) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     @SafeVarargs
     private static <T> List<T> joinLists(final List<T>... lists) {
         return Stream.of(lists).flatMap(Collection::stream).collect(toList());
@@ -26,9 +26,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
 
-import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.dto.FrameworkDTO;
 import org.osgi.framework.dto.ServiceReferenceDTO;
@@ -37,36 +35,39 @@ import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
 import com.osgifx.console.agent.dto.XBundleInfoDTO;
 import com.osgifx.console.agent.dto.XServiceDTO;
+import com.osgifx.console.agent.provider.BundleIndex;
 
 import jakarta.inject.Inject;
 
 public final class XServiceAdmin {
 
     private final BundleContext context;
+    private final BundleIndex   bundleIndex;
     private final FluentLogger  logger = LoggerFactory.getFluentLogger(getClass());
 
     @Inject
-    public XServiceAdmin(final BundleContext context) {
-        this.context = context;
+    public XServiceAdmin(final BundleContext context, final BundleIndex bundleIndex) {
+        this.context     = context;
+        this.bundleIndex = bundleIndex;
     }
 
     public List<XServiceDTO> get() {
         requireNonNull(context);
         try {
             final FrameworkDTO dto = context.getBundle(SYSTEM_BUNDLE_ID).adapt(FrameworkDTO.class);
-            return dto.services.stream().map(s -> toDTO(s, context)).collect(toList());
+            return dto.services.stream().map(this::toDTO).collect(toList());
         } catch (final Exception e) {
             logger.atError().msg("Error occurred while retrieving services").throwable(e).log();
             return Collections.emptyList();
         }
     }
 
-    private XServiceDTO toDTO(final ServiceReferenceDTO refDTO, final BundleContext context) {
+    private XServiceDTO toDTO(final ServiceReferenceDTO refDTO) {
         final XServiceDTO dto = new XServiceDTO();
 
         final XBundleInfoDTO bundleInfo = new XBundleInfoDTO();
         bundleInfo.id           = refDTO.bundle;
-        bundleInfo.symbolicName = bsn(refDTO.bundle, context);
+        bundleInfo.symbolicName = bundleIndex.getSymbolicName(refDTO.bundle);
 
         dto.id                = refDTO.id;
         dto.bundleId          = bundleInfo.id;
@@ -76,7 +77,7 @@ public final class XServiceAdmin {
                                                  .stream()
                                                  .collect(
                                                          toMap(Map.Entry::getKey, e -> arrayToString(e.getValue())));
-        dto.usingBundles      = getUsingBundles(refDTO.usingBundles, context);
+        dto.usingBundles      = getUsingBundles(refDTO.usingBundles);
         dto.types             = getObjectClass(refDTO.properties);
         // @formatter:on
 
@@ -95,10 +96,10 @@ public final class XServiceAdmin {
         return value.toString();
     }
 
-    private List<XBundleInfoDTO> getUsingBundles(final long[] usingBundles, final BundleContext context) {
-        final List<XBundleInfoDTO> bundles = new ArrayList<>();
+    private List<XBundleInfoDTO> getUsingBundles(final long[] usingBundles) {
+        final List<XBundleInfoDTO> bundles = new ArrayList<>(usingBundles.length);
         for (final long id : usingBundles) {
-            final String bsn = bsn(id, context);
+            final String bsn = bundleIndex.getSymbolicName(id);
 
             final XBundleInfoDTO dto = new XBundleInfoDTO();
             dto.id           = id;
@@ -109,14 +110,4 @@ public final class XServiceAdmin {
         return bundles;
     }
 
-    private String bsn(final long id, final BundleContext context) {
-        // @formatter:off
-        return Stream.of(context.getBundles())
-                     .filter(b -> b.getBundleId() == id)
-                     .map(Bundle::getSymbolicName)
-                     .findAny()
-                     .orElse(null);
-        // @formatter:on
-    }
-
 }
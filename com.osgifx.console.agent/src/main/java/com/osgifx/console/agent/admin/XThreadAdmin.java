@@ -15,15 +15,26 @@
  ******************************************************************************/
 package com.osgifx.console.agent.admin;
 
+import static com.osgifx.console.agent.Agent.AGENT_THREADS_STACK_DEPTH_DEFAULT_VALUE;
+import static com.osgifx.console.agent.Agent.AGENT_THREADS_STACK_DEPTH_KEY;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
 
 import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.osgi.framework.BundleContext;
 
 import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
@@ -31,55 +42,232 @@ import com.osgifx.console.agent.dto.XThreadDTO;
 import com.osgifx.console.agent.provider.PackageWirings;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 
+/**
+ * Captures all threads in a single pass. The deadlocks are detected once per
+ * snapshot and the thread details are retrieved in batches. The CPU time and the
+ * allocated bytes of every thread are remembered to compute the CPU usage and the
+ * allocation rate since the previous snapshot.
+ */
+@Singleton
 public final class XThreadAdmin {
 
+    private static final class ThreadSample {
+        private final long timestamp;
+        private final long cpuTime;
+        private final long allocatedBytes;
+
+        private ThreadSample(final long timestamp, final long cpuTime, final long allocatedBytes) {
+            this.timestamp      = timestamp;
+            this.cpuTime        = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    private static final String EXTENDED_THREAD_BEAN = "com.sun.management.ThreadMXBean";
+
+    private final int            stackDepth;
     private final PackageWirings wirings;
     private final FluentLogger   logger = LoggerFactory.getFluentLogger(getClass());
+    private Map<Long, ThreadSample>       samples = Collections.emptyMap(); // key: thread ID
+    private Method               cpuTimesMethod;
+    private Method               allocatedBytesMethod;
+    private boolean              isExtendedBeanResolved;
 
     @Inject
-    public XThreadAdmin(final PackageWirings wirings) {
+    public XThreadAdmin(final BundleContext context, final PackageWirings wirings) {
         this.wirings = wirings;
+        stackDepth   = extractStackDepth(context);
     }
 
-    public List<XThreadDTO> get() {
+    public synchronized List<XThreadDTO> get() {
         try {
-            final Map<Thread, StackTraceElement[]> threads    = Thread.getAllStackTraces();
-            final List<Thread>                     threadList = new ArrayList<>(threads.keySet());
-            return threadList.stream().map(this::toDTO).collect(toList());
+            final Thread[] threads = enumerateThreads();
+            if (!wirings.isJmxWired()) {
+                logger.atDebug().msg("JMX unavailable to retrieve thread details").log();
+                return Stream.of(threads).map(this::toDTO).collect(toList());
+            }
+            return snapshot(threads);
         } catch (final Exception e) {
             logger.atError().msg("Error occurred while retrieving threads").throwable(e).log();
             return Collections.emptyList();
         }
     }
 
+    private List<XThreadDTO> snapshot(final Thread[] threads) {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        final long[]       ids  = new long[threads.length];
+        for (int i = 0; i < threads.length; i++) {
+            ids[i] = threads[i].getId();
+        }
+        final long         timestamp      = System.nanoTime();
+        final Set<Long>    deadlocks      = findDeadlockedThreads(bean);
+        final ThreadInfo[] infos          = bean.getThreadInfo(ids, stackDepth);
+        final long[]       cpuTimes       = getCpuTimes(bean, ids);
+        final long[]       allocatedBytes = getAllocatedBytes(bean, ids);
+
+        final List<XThreadDTO>        dtos    = new ArrayList<>(threads.length);
+        final Map<Long, ThreadSample> current = new HashMap<>(threads.length);
+
+        for (int i = 0; i < threads.length; i++) {
+            final XThreadDTO   dto      = toDTO(threads[i]);
+            final ThreadInfo   info     = infos[i];
+            final ThreadSample previous = samples.get(ids[i]);
+            final ThreadSample sample   = new ThreadSample(timestamp, cpuTimes[i], allocatedBytes[i]);
+
+            dto.isDeadlocked   = deadlocks.contains(ids[i]);
+            dto.cpuTime        = sample.cpuTime;
+            dto.allocatedBytes = sample.allocatedBytes;
+            if (info != null) {
+                dto.blockedCount = info.getBlockedCount();
+                dto.waitedCount  = info.getWaitedCount();
+                dto.lockName     = info.getLockName();
+                dto.lockOwnerId  = info.getLockOwnerId();
+                dto.stackTrace   = Stream.of(info.getStackTrace()).map(StackTraceElement::toString).collect(toList());
+            }
+            if (previous != null && timestamp > previous.timestamp) {
+                final long elapsed = timestamp - previous.timestamp;
+                if (sample.cpuTime >= 0 && previous.cpuTime >= 0) {
+                    dto.cpuUsage = 100.0 * (sample.cpuTime - previous.cpuTime) / elapsed;
+                }
+                if (sample.allocatedBytes >= 0 && previous.allocatedBytes >= 0) {
+                    dto.allocationRate = (sample.allocatedBytes - previous.allocatedBytes) * SECONDS.toNanos(1) / elapsed;
+                }
+            }
+            current.put(ids[i], sample);
+            dtos.add(dto);
+        }
+        // the samples of terminated threads are dropped
+        samples = current;
+        return dtos;
+    }
+
     private XThreadDTO toDTO(final Thread thread) {
         final XThreadDTO dto = new XThreadDTO();
 
-        dto.name          = thread.getName();
-        dto.id            = thread.getId();
-        dto.priority      = thread.getPriority();
-        dto.state         = thread.getState().name();
-        dto.isDeadlocked  = isDeadlocked(thread.getId());
-        dto.isInterrupted = thread.isInterrupted();
-        dto.isAlive       = thread.isAlive();
-        dto.isDaemon      = thread.isDaemon();
+        dto.name           = thread.getName();
+        dto.id             = thread.getId();
+        dto.priority       = thread.getPriority();
+        dto.state          = thread.getState().name();
+        dto.isInterrupted  = thread.isInterrupted();
+        dto.isAlive        = thread.isAlive();
+        dto.isDaemon       = thread.isDaemon();
+        dto.cpuTime        = -1;
+        dto.cpuUsage       = -1;
+        dto.allocatedBytes = -1;
+        dto.allocationRate = -1;
+        dto.blockedCount   = -1;
+        dto.waitedCount    = -1;
+        dto.lockOwnerId    = -1;
+        dto.stackTrace     = Collections.emptyList();
 
         return dto;
     }
 
-    private boolean isDeadlocked(final long id) {
-        final boolean isJmxWired = wirings.isJmxWired();
-        if (isJmxWired) {
-            final ThreadMXBean bean      = ManagementFactory.getThreadMXBean();
-            final long[]       deadlocks = bean.findDeadlockedThreads();
-            if (deadlocks == null) {
-                return false;
+    private Set<Long> findDeadlockedThreads(final ThreadMXBean bean) {
+        final long[] deadlocks = bean.findDeadlockedThreads();
+        if (deadlocks == null) {
+            return Collections.emptySet();
+        }
+        final Set<Long> ids = new HashSet<>();
+        for (final long id : deadlocks) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private long[] getCpuTimes(final ThreadMXBean bean, final long[] ids) {
+        if (!bean.isThreadCpuTimeSupported() || !bean.isThreadCpuTimeEnabled()) {
+            return unsupported(ids);
+        }
+        resolveExtendedBean(bean);
+        if (cpuTimesMethod != null) {
+            try {
+                return (long[]) cpuTimesMethod.invoke(bean, (Object) ids);
+            } catch (final Exception e) {
+                logger.atDebug().msg("Batched CPU time retrieval failed").throwable(e).log();
+            }
+        }
+        final long[] cpuTimes = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            cpuTimes[i] = bean.getThreadCpuTime(ids[i]);
+        }
+        return cpuTimes;
+    }
+
+    private long[] getAllocatedBytes(final ThreadMXBean bean, final long[] ids) {
+        resolveExtendedBean(bean);
+        if (allocatedBytesMethod != null) {
+            try {
+                return (long[]) allocatedBytesMethod.invoke(bean, (Object) ids);
+            } catch (final Exception e) {
+                logger.atDebug().msg("Batched allocated bytes retrieval failed").throwable(e).log();
+            }
+        }
+        return unsupported(ids);
+    }
+
+    private void resolveExtendedBean(final ThreadMXBean bean) {
+        if (isExtendedBeanResolved) {
+            return;
+        }
+        isExtendedBeanResolved = true;
+        try {
+            final Class<?> clazz = Class.forName(EXTENDED_THREAD_BEAN);
+            if (!clazz.isInstance(bean)) {
+                return;
+            }
+            cpuTimesMethod = clazz.getMethod("getThreadCpuTime", long[].class);
+
+            final boolean isAllocationSupported = (boolean) clazz.getMethod("isThreadAllocatedMemorySupported")
+                    .invoke(bean);
+            final boolean isAllocationEnabled   = (boolean) clazz.getMethod("isThreadAllocatedMemoryEnabled")
+                    .invoke(bean);
+            if (isAllocationSupported && isAllocationEnabled) {
+                allocatedBytesMethod = clazz.getMethod("getThreadAllocatedBytes", long[].class);
+            }
+        } catch (final Exception e) {
+            logger.atDebug().msg("Extended thread MXBean is not available").throwable(e).log();
+        }
+    }
+
+    private long[] unsupported(final long[] ids) {
+        final long[] values = new long[ids.length];
+        Arrays.fill(values, -1);
+        return values;
+    }
+
+    private Thread[] enumerateThreads() {
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        // the array needs to be larger than the number of threads as new threads
+        // might get started in the meantime
+        Thread[] threads = new Thread[root.activeCount() + 16];
+        int      count;
+        while ((count = root.enumerate(threads, true)) == threads.length) {
+            threads = new Thread[threads.length * 2];
+        }
+        return Arrays.copyOf(threads, count);
+    }
+
+    private int extractStackDepth(final BundleContext context) {
+        final String spec = context.getProperty(AGENT_THREADS_STACK_DEPTH_KEY);
+        if (spec == null) {
+            return AGENT_THREADS_STACK_DEPTH_DEFAULT_VALUE;
+        }
+        try {
+            final int depth = Integer.parseInt(spec.trim());
+            if (depth >= 0) {
+                return depth;
             }
-            return Arrays.stream(deadlocks).anyMatch(e -> e == id);
+        } catch (final NumberFormatException e) {
+            // fall back to the default value
         }
-        logger.atDebug().msg("JMX unavailable to check if thread [id: '%s'] is deadlocked").arg(id).log();
-        return false;
+        logger.atWarn().msg("Invalid value in property '{}': {}").arg(AGENT_THREADS_STACK_DEPTH_KEY).arg(spec).log();
+        return AGENT_THREADS_STACK_DEPTH_DEFAULT_VALUE;
     }
 
 }
@@ -28,6 +28,8 @@ import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.util.tracker.ServiceTracker;
 
+import com.osgifx.console.agent.admin.ComponentIndex;
+import com.osgifx.console.agent.admin.MetaTypeIndex;
 import com.osgifx.console.agent.admin.XComponentAdmin;
 import com.osgifx.console.agent.admin.XConfigurationAdmin;
 import com.osgifx.console.agent.admin.XDmtAdmin;
@@ -79,10 +81,18 @@ public final class DIModule {
     public void start() throws Exception {
         initServiceTrackers();
 
-        di.bindProvider(XComponentAdmin.class, () -> new XComponentAdmin(scrTracker.getService()));
-        di.bindProvider(XConfigurationAdmin.class,
-                () -> new XConfigurationAdmin(context, configAdminTracker.getService(), metatypeTracker.getService(),
-                                              di.getInstance(XComponentAdmin.class)));
+        di.bindProvider(XComponentAdmin.class, () -> {
+            final Object scr = scrTracker.getService();
+            // the component index must not be loaded if the SCR API is unavailable
+            return new XComponentAdmin(scr, scr == null ? null : di.getInstance(ComponentIndex.class));
+        });
+        di.bindProvider(XConfigurationAdmin.class, () -> {
+            final Object metatype = metatypeTracker.getService();
+            // the metatype index must not be loaded if the metatype API is unavailable
+            return new XConfigurationAdmin(configAdminTracker.getService(), metatype,
+                                           metatype == null ? null : di.getInstance(MetaTypeIndex.class),
+                                           di.getInstance(XComponentAdmin.class));
+        });
         di.bindProvider(XDmtAdmin.class, () -> new XDmtAdmin(dmtAdminTracker.getService()));
         di.bindProvider(XDtoAdmin.class,
                 () -> new XDtoAdmin(context, scrTracker.getService(), jaxrsServiceRuntimeTracker.getService(),
@@ -92,7 +102,8 @@ public final class DIModule {
         di.bindProvider(XHcAdmin.class, () -> new XHcAdmin(context, felixHcExecutorTracker.getService()));
         di.bindProvider(XHttpAdmin.class, () -> new XHttpAdmin(httpServiceRuntimeTracker.getService()));
         di.bindProvider(XMetaTypeAdmin.class,
-                () -> new XMetaTypeAdmin(context, configAdminTracker.getService(), metatypeTracker.getService()));
+                () -> new XMetaTypeAdmin(configAdminTracker.getService(), metatypeTracker.getService(),
+                                         di.getInstance(MetaTypeIndex.class)));
         di.bindProvider(XUserAdmin.class, () -> new XUserAdmin(userAdminTracker.getService()));
         di.bindProvider(XLoggerAdmin.class,
                 () -> new XLoggerAdmin(loggerAdminTracker.getService(), di.getInstance(PackageWirings.class), context));
@@ -15,9 +15,10 @@
  ******************************************************************************/
 package com.osgifx.console.agent.handler;
 
-import static com.osgifx.console.agent.provider.AgentServer.PROPERTY_ENABLE_EVENTING;
+import static org.osgi.service.event.EventConstants.EVENT_FILTER;
 import static org.osgi.service.event.EventConstants.EVENT_TOPIC;
 
+import java.util.Collection;
 import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.Hashtable;
@@ -25,6 +26,8 @@ import java.util.List;
 import java.util.Map;
 
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
@@ -32,7 +35,6 @@ import org.osgi.service.event.EventHandler;
 import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
 import com.osgifx.console.agent.dto.XEventDTO;
-import com.osgifx.console.supervisor.Supervisor;
 
 import aQute.lib.converter.Converter;
 import aQute.lib.converter.TypeReference;
@@ -40,34 +42,71 @@ import jakarta.inject.Inject;
 
 public final class OSGiEventHandler implements EventHandler {
 
-    private final Supervisor    supervisor;
-    private final BundleContext context;
-    private final FluentLogger  logger = LoggerFactory.getFluentLogger(getClass());
+    private final PushChannel               pushChannel;
+    private final BundleContext             context;
+    private volatile ServiceRegistration<?> registration;
+    private final FluentLogger              logger = LoggerFactory.getFluentLogger(getClass());
 
     @Inject
-    public OSGiEventHandler(final BundleContext context, final Supervisor supervisor) {
-        this.context    = context;
-        this.supervisor = supervisor;
+    public OSGiEventHandler(final BundleContext context, final PushChannel pushChannel) {
+        this.context     = context;
+        this.pushChannel = pushChannel;
     }
 
     public ServiceRegistration<?> register() {
-        final Dictionary<String, Object> properties = new Hashtable<>();
-        properties.put(EVENT_TOPIC, "*");
-        return context.registerService(EventHandler.class, this, properties);
+        registration = context.registerService(EventHandler.class, this, initServiceProperties(null, null));
+        return registration;
+    }
+
+    /**
+     * Updates the subscription of the registered handler such that Event Admin
+     * only delivers the events the supervisor is interested in
+     *
+     * @param topics the topics to subscribe to ({@code null} subscribes to all
+     *            topics whereas an empty collection does not subscribe to any
+     *            topic)
+     * @param filter the LDAP filter to match the event properties against (can be
+     *            {@code null})
+     */
+    public void updateSubscription(final Collection<String> topics, final String filter) {
+        final ServiceRegistration<?> reg = registration;
+        if (reg == null) {
+            return;
+        }
+        try {
+            reg.setProperties(initServiceProperties(topics, filter));
+        } catch (final IllegalStateException e) {
+            // handler has already been unregistered
+        }
     }
 
     @Override
     public void handleEvent(final Event event) {
+        if (!pushChannel.isEventsEnabled()) {
+            return;
+        }
         final XEventDTO dto = new XEventDTO();
 
         dto.received   = System.currentTimeMillis();
         dto.properties = initProperties(event);
         dto.topic      = event.getTopic();
 
-        final boolean isLoggingEnabled = Boolean.getBoolean(PROPERTY_ENABLE_EVENTING);
-        if (isLoggingEnabled) {
-            supervisor.onOSGiEvent(dto);
+        // never block the event dispatching thread with remote calls
+        pushChannel.push(dto);
+    }
+
+    private Dictionary<String, Object> initServiceProperties(final Collection<String> topics, final String filter) {
+        final Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put(EVENT_TOPIC, topics == null ? new String[] { "*" } : topics.toArray(new String[0]));
+        if (filter != null && !filter.trim().isEmpty()) {
+            try {
+                FrameworkUtil.createFilter(filter);
+                properties.put(EVENT_FILTER, filter);
+            } catch (final InvalidSyntaxException e) {
+                logger.atWarn().msg("Invalid event filter '{}' will be ignored").arg(filter).throwable(e).log();
+            }
         }
+        return properties;
     }
 
     private Map<String, String> initProperties(final Event event) {
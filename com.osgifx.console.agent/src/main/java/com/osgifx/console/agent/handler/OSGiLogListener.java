@@ -15,49 +15,51 @@
  ******************************************************************************/
 package com.osgifx.console.agent.handler;
 
-import static com.osgifx.console.agent.provider.AgentServer.PROPERTY_ENABLE_LOGGING;
 
 import java.util.Optional;
 
+import org.osgi.framework.Bundle;
 import org.osgi.service.log.LogEntry;
 import org.osgi.service.log.LogListener;
 
-import com.osgifx.console.agent.admin.XBundleAdmin;
 import com.osgifx.console.agent.dto.XLogEntryDTO;
 import com.osgifx.console.agent.dto.XResultDTO;
 import com.osgifx.console.agent.helper.Reflect;
-import com.osgifx.console.agent.provider.BundleStartTimeCalculator;
-import com.osgifx.console.supervisor.Supervisor;
 
 import aQute.bnd.exceptions.Exceptions;
 import jakarta.inject.Inject;
 
 public final class OSGiLogListener implements LogListener {
 
-    private final Supervisor                supervisor;
-    private final BundleStartTimeCalculator bundleStartTimeCalculator;
+    private final PushChannel pushChannel;
 
     @Inject
-    public OSGiLogListener(final Supervisor supervisor, final BundleStartTimeCalculator bundleStartTimeCalculator) {
-        this.supervisor                = supervisor;
-        this.bundleStartTimeCalculator = bundleStartTimeCalculator;
+    public OSGiLogListener(final PushChannel pushChannel) {
+        this.pushChannel = pushChannel;
     }
 
     @Override
     public void logged(final LogEntry entry) {
-        if (supervisor != null) {
-            final boolean isLoggingEnabled = Boolean.getBoolean(PROPERTY_ENABLE_LOGGING);
-            if (isLoggingEnabled) {
-                supervisor.logged(toDTO(entry));
-            }
+        if (pushChannel.isLogsEnabled()) {
+            // never block the log dispatching thread with remote calls
+            pushChannel.push(toDTO(entry));
         }
     }
 
     @SuppressWarnings("deprecation")
     private XLogEntryDTO toDTO(final LogEntry entry) {
-        final XLogEntryDTO dto = new XLogEntryDTO();
-
-        dto.bundle  = XBundleAdmin.toDTO(entry.getBundle(), bundleStartTimeCalculator);
+        final XLogEntryDTO dto    = new XLogEntryDTO();
+        final Bundle       bundle = entry.getBundle();
+
+        // the console resolves the complete bundle information from its cache
+        if (bundle != null) {
+            dto.bundleId           = bundle.getBundleId();
+            dto.bundleSymbolicName = bundle.getSymbolicName();
+            dto.bundleVersion      = bundle.getVersion().toString();
+        } else {
+            // 0 would denote the system bundle
+            dto.bundleId = -1;
+        }
         dto.message = entry.getMessage();
 
         // must not use OSGi R7 reference to getLogLevel()
@@ -76,7 +78,7 @@ public final class OSGiLogListener implements LogListener {
         final int        resultLoggerName = loggerNameResult.result;
 
         if (resultLoggerName == XResultDTO.SUCCESS) {
-            dto.logger = threadInfoResult.response;
+            dto.logger = loggerNameResult.response;
         }
 
         return dto;
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.handler;
+
+import static com.osgifx.console.agent.Agent.AGENT_PUSH_BATCH_SIZE_DEFAULT_VALUE;
+import static com.osgifx.console.agent.Agent.AGENT_PUSH_BATCH_SIZE_KEY;
+import static com.osgifx.console.agent.Agent.AGENT_PUSH_BUFFER_SIZE_DEFAULT_VALUE;
+import static com.osgifx.console.agent.Agent.AGENT_PUSH_BUFFER_SIZE_KEY;
+import static com.osgifx.console.agent.Agent.AGENT_PUSH_FLUSH_INTERVAL_DEFAULT_VALUE;
+import static com.osgifx.console.agent.Agent.AGENT_PUSH_FLUSH_INTERVAL_KEY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.osgi.framework.BundleContext;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.LoggerFactory;
+import com.osgifx.console.agent.dto.XEventDTO;
+import com.osgifx.console.agent.dto.XLogEntryDTO;
+import com.osgifx.console.agent.helper.ThreadFactoryBuilder;
+import com.osgifx.console.supervisor.Supervisor;
+
+/**
+ * Decouples the OSGi event and log dispatching threads from the remote
+ * supervisor. The OSGi events and log entries are buffered in bounded ring
+ * buffers and pushed to the supervisor in batches by a background thread,
+ * either after the flush interval has elapsed or as soon as a batch is full.
+ * <p>
+ * A slow or unresponsive supervisor can never back-pressure the runtime: if a
+ * buffer is full, its oldest entries get dropped and counted.
+ */
+public final class PushChannel implements Closeable {
+
+    private static final String FLUSHER_THREAD_NAME_PREFIX = "osgifx-agent-push";
+    private static final String FLUSHER_THREAD_NAME_SUFFIX = "-%d";
+
+    // @formatter:off
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
+                                                              .setThreadFactoryName(FLUSHER_THREAD_NAME_PREFIX)
+                                                              .setThreadNameFormat(FLUSHER_THREAD_NAME_SUFFIX)
+                                                              .setDaemon(true)
+                                                              .build();
+    // @formatter:on
+
+    private final Supervisor               supervisor;
+    private final int                      batchSize;
+    private final long                     flushIntervalInNanos;
+    private final RingBuffer<XEventDTO>    events;
+    private final RingBuffer<XLogEntryDTO> logs;
+    private final Thread                   flusher;
+    private volatile boolean               closed;
+    private volatile boolean               batchingEnabled;
+    private volatile boolean               eventsEnabled;
+    private volatile boolean               logsEnabled;
+    private long                           reportedDrops;
+    private long                           reportedFailures;
+    private final AtomicLong               pushedEvents = new AtomicLong();
+    private final AtomicLong               pushedLogs   = new AtomicLong();
+    private final AtomicLong               failedPushes = new AtomicLong();
+    private final FluentLogger             logger       = LoggerFactory.getFluentLogger(getClass());
+
+    public PushChannel(final BundleContext bundleContext, final Supervisor supervisor) {
+        final int bufferSize = (int) extractPositive(bundleContext, AGENT_PUSH_BUFFER_SIZE_KEY,
+                AGENT_PUSH_BUFFER_SIZE_DEFAULT_VALUE);
+
+        this.supervisor      = supervisor;
+        batchSize            = (int) extractPositive(bundleContext, AGENT_PUSH_BATCH_SIZE_KEY,
+                AGENT_PUSH_BATCH_SIZE_DEFAULT_VALUE);
+        flushIntervalInNanos = MILLISECONDS.toNanos(extractPositive(bundleContext, AGENT_PUSH_FLUSH_INTERVAL_KEY,
+                AGENT_PUSH_FLUSH_INTERVAL_DEFAULT_VALUE));
+        events               = new RingBuffer<>(bufferSize);
+        logs                 = new RingBuffer<>(bufferSize);
+        flusher              = THREAD_FACTORY.newThread(this::run);
+    }
+
+    public void open() {
+        flusher.start();
+    }
+
+    /**
+     * Enables pushing the buffered entries using the batch callbacks of the
+     * supervisor. Otherwise, the entries are pushed one by one to stay compatible
+     * with older supervisors.
+     */
+    public void enableBatching() {
+        batchingEnabled = true;
+    }
+
+    /**
+     * Enables or disables receiving OSGi events for the session this channel
+     * belongs to. Every session decides on its own, such that one console never
+     * switches the events of another console on or off.
+     */
+    public void setEventsEnabled(final boolean enabled) {
+        eventsEnabled = enabled;
+    }
+
+    public boolean isEventsEnabled() {
+        return eventsEnabled;
+    }
+
+    /**
+     * Enables or disables receiving OSGi log entries for the session this
+     * channel belongs to.
+     */
+    public void setLogsEnabled(final boolean enabled) {
+        logsEnabled = enabled;
+    }
+
+    public boolean isLogsEnabled() {
+        return logsEnabled;
+    }
+
+    public void push(final XEventDTO event) {
+        if (!closed && events.offer(event) >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    public void push(final XLogEntryDTO logEntry) {
+        if (!closed && logs.offer(logEntry) >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        flusher.interrupt();
+        events.clear();
+        logs.clear();
+        logger.atInfo().msg("Pushed {} of {} OSGi events and {} of {} log entries to supervisor ({} failed)")
+                .arg(pushedEvents.get()).arg(events.offered()).arg(pushedLogs.get()).arg(logs.offered())
+                .arg(failedPushes.get()).log();
+    }
+
+    private void run() {
+        while (!closed) {
+            LockSupport.parkNanos(this, flushIntervalInNanos);
+            if (closed) {
+                return;
+            }
+            flushEvents();
+            flushLogs();
+            reportLosses();
+        }
+    }
+
+    private void flushEvents() {
+        List<XEventDTO> batch;
+        while (!closed && !(batch = events.drain(batchSize)).isEmpty()) {
+            try {
+                if (batchingEnabled) {
+                    supervisor.onOSGiEvents(batch);
+                } else {
+                    batch.forEach(supervisor::onOSGiEvent);
+                }
+                pushedEvents.addAndGet(batch.size());
+            } catch (final Exception e) {
+                failedPushes.addAndGet(batch.size());
+                logger.atDebug().msg("Cannot push OSGi events to supervisor").throwable(e).log();
+            }
+        }
+    }
+
+    private void flushLogs() {
+        List<XLogEntryDTO> batch;
+        while (!closed && !(batch = logs.drain(batchSize)).isEmpty()) {
+            try {
+                if (batchingEnabled) {
+                    supervisor.onLogEntries(batch);
+                } else {
+                    batch.forEach(supervisor::logged);
+                }
+                pushedLogs.addAndGet(batch.size());
+            } catch (final Exception e) {
+                failedPushes.addAndGet(batch.size());
+                logger.atDebug().msg("Cannot push log entries to supervisor").throwable(e).log();
+            }
+        }
+    }
+
+    private void reportLosses() {
+        final long droppedEvents = events.dropped();
+        final long droppedLogs   = logs.dropped();
+        if (droppedEvents + droppedLogs > reportedDrops) {
+            reportedDrops = droppedEvents + droppedLogs;
+            logger.atWarn().msg("Supervisor cannot keep up - dropped {} OSGi events and {} log entries so far")
+                    .arg(droppedEvents).arg(droppedLogs).log();
+        }
+        final long failed = failedPushes.get();
+        if (failed > reportedFailures) {
+            reportedFailures = failed;
+            logger.atWarn().msg("Supervisor cannot be reached - failed to push {} OSGi events and log entries so far")
+                    .arg(failed).log();
+        }
+    }
+
+    private long extractPositive(final BundleContext bundleContext, final String key, final long defaultValue) {
+        final String spec = bundleContext.getProperty(key);
+        if (spec == null) {
+            return defaultValue;
+        }
+        try {
+            final long value = Long.parseLong(spec.trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (final NumberFormatException e) {
+            // fall back to the default value
+        }
+        logger.atWarn().msg("Invalid value in property '{}': {}").arg(key).arg(spec).log();
+        return defaultValue;
+    }
+
+}
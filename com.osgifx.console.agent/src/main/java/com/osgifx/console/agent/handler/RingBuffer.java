@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded FIFO buffer which never blocks the producer. If the buffer is full,
+ * the oldest element gets overwritten and counted as dropped.
+ */
+public final class RingBuffer<T> {
+
+    private final Object[]   elements;
+    private int              head;
+    private int              size;
+    private final AtomicLong offered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public RingBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        elements = new Object[capacity];
+    }
+
+    /**
+     * Adds the specified element and overwrites the oldest one if the buffer is
+     * full
+     *
+     * @param element the element to add
+     * @return the number of buffered elements after adding the element
+     */
+    public int offer(final T element) {
+        offered.incrementAndGet();
+        synchronized (elements) {
+            final int tail = (head + size) % elements.length;
+            elements[tail] = element;
+            if (size == elements.length) {
+                head = (head + 1) % elements.length;
+                dropped.incrementAndGet();
+            } else {
+                size++;
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Removes at most {@code max} of the oldest elements
+     *
+     * @param max the maximum number of elements to remove
+     * @return the removed elements in FIFO order (never {@code null})
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> drain(final int max) {
+        synchronized (elements) {
+            final int     count   = Math.min(max, size);
+            final List<T> drained = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                drained.add((T) elements[head]);
+                elements[head] = null;
+                head           = (head + 1) % elements.length;
+            }
+            size -= count;
+            return drained;
+        }
+    }
+
+    public int size() {
+        synchronized (elements) {
+            return size;
+        }
+    }
+
+    public void clear() {
+        drain(Integer.MAX_VALUE);
+    }
+
+    public long offered() {
+        return offered.get();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+}
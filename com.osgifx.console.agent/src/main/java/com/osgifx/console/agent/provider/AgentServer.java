@@ -53,10 +53,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.Attributes;
@@ -115,6 +117,7 @@ import com.osgifx.console.agent.dto.ConfigValue;
 import com.osgifx.console.agent.dto.DmtDataType;
 import com.osgifx.console.agent.dto.RuntimeDTO;
 import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.agent.dto.XBundleDeltaDTO;
 import com.osgifx.console.agent.dto.XBundleLoggerContextDTO;
 import com.osgifx.console.agent.dto.XComponentDTO;
 import com.osgifx.console.agent.dto.XConfigurationDTO;
@@ -122,6 +125,7 @@ import com.osgifx.console.agent.dto.XDmtNodeDTO;
 import com.osgifx.console.agent.dto.XHealthCheckDTO;
 import com.osgifx.console.agent.dto.XHealthCheckResultDTO;
 import com.osgifx.console.agent.dto.XHeapUsageDTO;
+import com.osgifx.console.agent.dto.XHeapdumpDTO;
 import com.osgifx.console.agent.dto.XHttpComponentDTO;
 import com.osgifx.console.agent.dto.XMemoryInfoDTO;
 import com.osgifx.console.agent.dto.XPropertyDTO;
@@ -133,6 +137,7 @@ import com.osgifx.console.agent.dto.XThreadDTO;
 import com.osgifx.console.agent.extension.AgentExtension;
 import com.osgifx.console.agent.handler.OSGiEventHandler;
 import com.osgifx.console.agent.handler.OSGiLogListener;
+import com.osgifx.console.agent.handler.PushChannel;
 import com.osgifx.console.agent.helper.AgentHelper;
 import com.osgifx.console.agent.redirector.ConsoleRedirector;
 import com.osgifx.console.agent.redirector.GogoRedirector;
@@ -168,10 +173,13 @@ public final class AgentServer implements Agent, Closeable {
     private Supervisor                   remote;
     private RemoteRPC<Agent, Supervisor> remoteRPC;
     private final Map<String, String>    installed  = new HashMap<>();
+    private final Set<String>            heapdumps  = ConcurrentHashMap.newKeySet();
     private Redirector                   redirector = new NullRedirector();
 
     private ServiceTracker<Object, Object> logReaderTracker;
 
+    private PushChannel            pushChannel;
+    private OSGiEventHandler       osgiEventHandler;
     private Closeable              osgiLogListenerCloser;
     private ServiceRegistration<?> osgiEventListenerServiceReg;
 
@@ -362,32 +370,59 @@ public final class AgentServer implements Agent, Closeable {
 
     @Override
     public boolean isReceivingLogEnabled() {
-        return Boolean.getBoolean(PROPERTY_ENABLE_LOGGING);
+        return pushChannel != null && pushChannel.isLogsEnabled();
     }
 
     @Override
     public void enableReceivingLog() {
-        System.setProperty(PROPERTY_ENABLE_LOGGING, String.valueOf(true));
+        if (pushChannel != null) {
+            pushChannel.setLogsEnabled(true);
+        }
     }
 
     @Override
     public void disableReceivingLog() {
-        System.setProperty(PROPERTY_ENABLE_LOGGING, String.valueOf(false));
+        if (pushChannel != null) {
+            pushChannel.setLogsEnabled(false);
+        }
     }
 
     @Override
     public boolean isReceivingEventEnabled() {
-        return Boolean.getBoolean(PROPERTY_ENABLE_EVENTING);
+        return pushChannel != null && pushChannel.isEventsEnabled();
     }
 
     @Override
     public void enableReceivingEvent() {
-        System.setProperty(PROPERTY_ENABLE_EVENTING, String.valueOf(true));
+        if (pushChannel != null) {
+            pushChannel.setEventsEnabled(true);
+        }
     }
 
     @Override
     public void disableReceivingEvent() {
-        System.setProperty(PROPERTY_ENABLE_EVENTING, String.valueOf(false));
+        if (pushChannel != null) {
+            pushChannel.setEventsEnabled(false);
+        }
+    }
+
+    @Override
+    public void updateEventSubscription(final Collection<String> topics, final String filter) {
+        final boolean isEventAdminAvailable = di.getInstance(PackageWirings.class).isEventAdminWired();
+        if (isEventAdminAvailable) {
+            if (osgiEventHandler != null) {
+                osgiEventHandler.updateSubscription(topics, filter);
+            }
+            return;
+        }
+        logger.atWarn().msg(packageNotWired(EVENT_ADMIN)).log();
+    }
+
+    @Override
+    public void enableBatchedNotifications() {
+        if (pushChannel != null) {
+            pushChannel.enableBatching();
+        }
     }
 
     @Override
@@ -528,6 +563,10 @@ public final class AgentServer implements Agent, Closeable {
             if (osgiLogListenerCloser != null) {
                 osgiLogListenerCloser.close();
             }
+            if (pushChannel != null) {
+                pushChannel.close();
+            }
+            deleteHeapdumps();
         } catch (final Exception e) {
             throw new IOException(e);
         }
@@ -538,6 +577,18 @@ public final class AgentServer implements Agent, Closeable {
         cleanup(-3);
     }
 
+    private void deleteHeapdumps() {
+        // the transfers of this session that have not been completed by its supervisor
+        if (heapdumps.isEmpty()) {
+            return;
+        }
+        final XJmxAdmin jmxAdmin = di.getInstance(XJmxAdmin.class);
+        for (final String id : heapdumps) {
+            jmxAdmin.deleteHeapdump(id);
+        }
+        heapdumps.clear();
+    }
+
     public void setRemote(final Supervisor supervisor) {
         remote = supervisor;
     }
@@ -552,6 +603,13 @@ public final class AgentServer implements Agent, Closeable {
 
         // the following can only be initialized if and only if the RPC link is
         // established
+        pushChannel = new PushChannel(di.getInstance(BundleContext.class), remote);
+        // the system properties only provide the initial state of every session
+        pushChannel.setLogsEnabled(Boolean.getBoolean(PROPERTY_ENABLE_LOGGING));
+        pushChannel.setEventsEnabled(Boolean.getBoolean(PROPERTY_ENABLE_EVENTING));
+        di.bindInstance(PushChannel.class, pushChannel);
+        pushChannel.open();
+
         osgiLogListenerCloser       = initOSGiLogging();
         osgiEventListenerServiceReg = initOSGiEventing();
     }
@@ -626,6 +684,11 @@ public final class AgentServer implements Agent, Closeable {
         return di.getInstance(XBundleAdmin.class).get();
     }
 
+    @Override
+    public XBundleDeltaDTO getBundleDelta(final String epoch, final long revision) {
+        return di.getInstance(XBundleAdmin.class).getDelta(epoch, revision);
+    }
+
     @Override
     public List<XComponentDTO> getAllComponents() {
         final boolean isScrAvailable = di.getInstance(PackageWirings.class).isScrWired();
@@ -649,7 +712,7 @@ public final class AgentServer implements Agent, Closeable {
             configs.addAll(di.getInstance(XMetaTypeAdmin.class).getConfigurations());
         }
         if (isScrAvailable) {
-            configs.forEach(c -> di.getInstance(XConfigurationAdmin.class).setComponentReferenceFilters(c));
+            di.getInstance(XConfigurationAdmin.class).setComponentReferenceFilters(configs);
         }
         return configs;
     }
@@ -681,6 +744,18 @@ public final class AgentServer implements Agent, Closeable {
         return null;
     }
 
+    @Override
+    public XDmtNodeDTO readDmtNode(final String uri, final int depth, final int offset, final int limit) {
+        requireNonNull(uri, "DMT node URI cannot be null");
+
+        final boolean isDmtAdminAvailable = di.getInstance(PackageWirings.class).isDmtAdminWired();
+        if (isDmtAdminAvailable) {
+            return di.getInstance(XDmtAdmin.class).readDmtNode(uri, depth, offset, limit);
+        }
+        logger.atWarn().msg(packageNotWired(DMT)).log();
+        return null;
+    }
+
     @Override
     public XResultDTO updateDmtNode(final String uri, final Object value, final DmtDataType format) {
         requireNonNull(uri, "DMT node URI cannot be null");
@@ -715,6 +790,16 @@ public final class AgentServer implements Agent, Closeable {
         return createResult(SKIPPED, packageNotWired(SCR));
     }
 
+    @Override
+    public Map<Long, XResultDTO> enableComponentsById(final long... ids) {
+        final boolean isScrAvailable = di.getInstance(PackageWirings.class).isScrWired();
+        if (isScrAvailable) {
+            return di.getInstance(XComponentAdmin.class).enableComponents(ids);
+        }
+        logger.atWarn().msg(packageNotWired(SCR)).log();
+        return skipped(ids, packageNotWired(SCR));
+    }
+
     @Override
     public XResultDTO enableComponentByName(final String name) {
         requireNonNull(name, "Component name cannot be null");
@@ -737,6 +822,16 @@ public final class AgentServer implements Agent, Closeable {
         return createResult(SKIPPED, packageNotWired(SCR));
     }
 
+    @Override
+    public Map<Long, XResultDTO> disableComponentsById(final long... ids) {
+        final boolean isScrAvailable = di.getInstance(PackageWirings.class).isScrWired();
+        if (isScrAvailable) {
+            return di.getInstance(XComponentAdmin.class).disableComponents(ids);
+        }
+        logger.atWarn().msg(packageNotWired(SCR)).log();
+        return skipped(ids, packageNotWired(SCR));
+    }
+
     @Override
     public XResultDTO disableComponentByName(final String name) {
         requireNonNull(name, "Component name cannot be null");
@@ -1024,6 +1119,48 @@ public final class AgentServer implements Agent, Closeable {
         return null;
     }
 
+    @Override
+    public XHeapdumpDTO captureHeapdump() throws Exception {
+        final boolean isJMXWired = di.getInstance(PackageWirings.class).isJmxWired();
+        if (isJMXWired) {
+            final XHeapdumpDTO heapdump = di.getInstance(XJmxAdmin.class).captureHeapdump();
+            heapdumps.add(heapdump.id);
+            return heapdump;
+        }
+        logger.atWarn().msg(packageNotWired(JMX)).log();
+        return null;
+    }
+
+    @Override
+    public byte[] readHeapdumpChunk(final String id, final long offset, final int length, final boolean compress)
+            throws Exception {
+        requireNonNull(id, "Heap dump ID cannot be null");
+
+        final boolean isJMXWired = di.getInstance(PackageWirings.class).isJmxWired();
+        if (isJMXWired) {
+            return di.getInstance(XJmxAdmin.class).readHeapdumpChunk(id, offset, length, compress);
+        }
+        logger.atWarn().msg(packageNotWired(JMX)).log();
+        return null;
+    }
+
+    @Override
+    public XResultDTO deleteHeapdump(final String id) {
+        requireNonNull(id, "Heap dump ID cannot be null");
+
+        final boolean isJMXWired = di.getInstance(PackageWirings.class).isJmxWired();
+        if (isJMXWired) {
+            heapdumps.remove(id);
+            final boolean isDeleted = di.getInstance(XJmxAdmin.class).deleteHeapdump(id);
+            if (isDeleted) {
+                return createResult(SUCCESS, "Heap dump '" + id + "' has been deleted");
+            }
+            return createResult(ERROR, "Heap dump '" + id + "' cannot be deleted");
+        }
+        logger.atWarn().msg(packageNotWired(JMX)).log();
+        return createResult(SKIPPED, packageNotWired(JMX));
+    }
+
     private long getSystemUptime() {
         final boolean isJMXWired = di.getInstance(PackageWirings.class).isJmxWired();
         if (isJMXWired) {
@@ -1084,10 +1221,19 @@ public final class AgentServer implements Agent, Closeable {
         return createResult(SKIPPED, packageNotWired(CM));
     }
 
+    private Map<Long, XResultDTO> skipped(final long[] ids, final String response) {
+        final Map<Long, XResultDTO> results = new LinkedHashMap<>();
+        for (final long id : ids) {
+            results.put(id, createResult(SKIPPED, response));
+        }
+        return results;
+    }
+
     private ServiceRegistration<?> initOSGiEventing() {
         final boolean isEventAdminAvailable = di.getInstance(PackageWirings.class).isEventAdminWired();
         if (isEventAdminAvailable) {
-            return di.getInstance(OSGiEventHandler.class).register();
+            osgiEventHandler = di.getInstance(OSGiEventHandler.class);
+            return osgiEventHandler.register();
         }
         logger.atWarn().msg(packageNotWired(EVENT_ADMIN)).log();
         return null;
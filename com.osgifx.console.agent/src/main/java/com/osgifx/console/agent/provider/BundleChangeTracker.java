@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.provider;
+
+import static org.osgi.framework.BundleEvent.RESOLVED;
+import static org.osgi.framework.BundleEvent.UNINSTALLED;
+import static org.osgi.framework.BundleEvent.UNRESOLVED;
+import static org.osgi.framework.BundleEvent.UPDATED;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+
+import org.osgi.framework.AllServiceListener;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.SynchronousBundleListener;
+import org.osgi.framework.wiring.BundleWire;
+import org.osgi.framework.wiring.BundleWiring;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Maintains a revision counter of the bundle model and remembers the revision
+ * in which every bundle has been changed or uninstalled for the last time. This
+ * allows computing the bundles that need to be sent to a supervisor which
+ * already knows an older revision.
+ */
+@Singleton
+public final class BundleChangeTracker implements SynchronousBundleListener, AllServiceListener {
+
+    private static final int MAX_TRACKED_REMOVALS = 1024;
+
+    public static final class BundleChanges {
+
+        private final String     epoch;
+        private final long       revision;
+        private final boolean    isSnapshot;
+        private final List<Long> updated;
+        private final List<Long> removed;
+
+        public BundleChanges(final String epoch,
+                             final long revision,
+                             final boolean isSnapshot,
+                             final List<Long> updated,
+                             final List<Long> removed) {
+            this.epoch      = epoch;
+            this.revision   = revision;
+            this.isSnapshot = isSnapshot;
+            this.updated    = updated;
+            this.removed    = removed;
+        }
+
+        public String getEpoch() {
+            return epoch;
+        }
+
+        public long getRevision() {
+            return revision;
+        }
+
+        public boolean isSnapshot() {
+            return isSnapshot;
+        }
+
+        public List<Long> getUpdated() {
+            return updated;
+        }
+
+        public List<Long> getRemoved() {
+            return removed;
+        }
+    }
+
+    private final String          epoch    = UUID.randomUUID().toString();
+    private final Map<Long, Long> changes  = new HashMap<>();       // key: bundle ID, value: revision
+    private final Map<Long, Long> removals = new LinkedHashMap<>(); // key: bundle ID, value: revision
+    private long                  revision;
+    private long                  oldestRevision;
+
+    @Inject
+    public BundleChangeTracker(final BundleContext bundleContext) {
+        bundleContext.addBundleListener(this);
+        bundleContext.addServiceListener(this);
+    }
+
+    @Override
+    public void bundleChanged(final BundleEvent event) {
+        final Bundle bundle = event.getBundle();
+        final int    type   = event.getType();
+
+        synchronized (changes) {
+            revision++;
+            if (type == UNINSTALLED) {
+                changes.remove(bundle.getBundleId());
+                removals.put(bundle.getBundleId(), revision);
+                trimRemovals();
+            } else {
+                removals.remove(bundle.getBundleId());
+                changes.put(bundle.getBundleId(), revision);
+            }
+        }
+        // the wired bundles also expose the changed wiring
+        if (type == RESOLVED || type == UNRESOLVED || type == UPDATED || type == UNINSTALLED) {
+            markWiredBundles(bundle);
+        }
+    }
+
+    @Override
+    public void serviceChanged(final ServiceEvent event) {
+        // the registering bundle exposes its registered services and the using
+        // bundles expose their used services
+        final ServiceReference<?> reference = event.getServiceReference();
+        final Bundle              bundle    = reference.getBundle();
+        if (bundle != null) {
+            mark(bundle.getBundleId());
+        }
+        final Bundle[] usingBundles = reference.getUsingBundles();
+        if (usingBundles != null) {
+            for (final Bundle usingBundle : usingBundles) {
+                mark(usingBundle.getBundleId());
+            }
+        }
+    }
+
+    /**
+     * Returns the identifiers of the bundles that have been changed or uninstalled
+     * after the specified revision
+     *
+     * @param epoch the epoch of the specified revision (can be {@code null})
+     * @param since the revision known by the requester
+     * @return the changes, or a snapshot marker if the changes cannot be computed
+     */
+    public BundleChanges getChanges(final String epoch, final long since) {
+        synchronized (changes) {
+            if (!this.epoch.equals(epoch) || since < oldestRevision || since > revision) {
+                return new BundleChanges(this.epoch, revision, true, Collections.emptyList(),
+                                         Collections.emptyList());
+            }
+            return new BundleChanges(this.epoch, revision, false, collect(changes, since), collect(removals, since));
+        }
+    }
+
+    private void mark(final long bundleId) {
+        synchronized (changes) {
+            if (!removals.containsKey(bundleId)) {
+                changes.put(bundleId, ++revision);
+            }
+        }
+    }
+
+    private void markWiredBundles(final Bundle bundle) {
+        final BundleWiring wiring = bundle.adapt(BundleWiring.class);
+        if (wiring == null) {
+            return;
+        }
+        for (final BundleWire wire : wiring.getRequiredWires(null)) {
+            mark(wire.getProvider().getBundle().getBundleId());
+        }
+        for (final BundleWire wire : wiring.getProvidedWires(null)) {
+            mark(wire.getRequirer().getBundle().getBundleId());
+        }
+    }
+
+    private void trimRemovals() {
+        final Iterator<Entry<Long, Long>> iterator = removals.entrySet().iterator();
+        while (removals.size() > MAX_TRACKED_REMOVALS && iterator.hasNext()) {
+            // requesters older than the evicted removal need a complete snapshot
+            oldestRevision = iterator.next().getValue();
+            iterator.remove();
+        }
+    }
+
+    private static List<Long> collect(final Map<Long, Long> revisions, final long since) {
+        final List<Long> ids = new ArrayList<>();
+        for (final Entry<Long, Long> entry : revisions.entrySet()) {
+            if (entry.getValue() > since) {
+                ids.add(entry.getKey());
+            }
+        }
+        return ids;
+    }
+
+}
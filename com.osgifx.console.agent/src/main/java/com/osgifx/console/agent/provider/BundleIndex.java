@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.provider;
+
+import static org.osgi.framework.Bundle.UNINSTALLED;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.SynchronousBundleListener;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Maintains an index of the symbolic names of all installed bundles to avoid
+ * scanning all bundles whenever a bundle needs to be looked up by its ID.
+ */
+@Singleton
+public final class BundleIndex implements SynchronousBundleListener {
+
+    private final Map<Long, String> symbolicNames = new ConcurrentHashMap<>(); // key: bundle ID
+
+    @Inject
+    public BundleIndex(final BundleContext bundleContext) {
+        // the listener is added first to not miss any change during the initial scan
+        bundleContext.addBundleListener(this);
+        for (final Bundle bundle : bundleContext.getBundles()) {
+            if (bundle.getState() != UNINSTALLED) {
+                index(bundle);
+            }
+        }
+    }
+
+    @Override
+    public void bundleChanged(final BundleEvent event) {
+        final Bundle bundle = event.getBundle();
+        if (event.getType() == BundleEvent.UNINSTALLED) {
+            symbolicNames.remove(bundle.getBundleId());
+        } else {
+            // the symbolic name can change on update
+            index(bundle);
+        }
+    }
+
+    /**
+     * Returns the symbolic name of the installed bundle with the specified ID
+     *
+     * @param bundleId the bundle ID
+     * @return the symbolic name or {@code null} if no such bundle is installed
+     */
+    public String getSymbolicName(final long bundleId) {
+        final String bsn = symbolicNames.get(bundleId);
+        return bsn == null || bsn.isEmpty() ? null : bsn;
+    }
+
+    /**
+     * Checks if a bundle with the specified ID is installed
+     *
+     * @param bundleId the bundle ID
+     * @return {@code true} if the bundle is installed, otherwise {@code false}
+     */
+    public boolean isInstalled(final long bundleId) {
+        return symbolicNames.containsKey(bundleId);
+    }
+
+    private void index(final Bundle bundle) {
+        final String bsn = bundle.getSymbolicName();
+        // bundles without symbolic name (manifest version 1) are indexed with an empty name
+        symbolicNames.put(bundle.getBundleId(), bsn == null ? "" : bsn);
+    }
+
+}
@@ -32,7 +32,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Stream;
 
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
@@ -96,12 +95,15 @@ public final class ClassloaderLeakDetector implements Runnable {
     private Thread                          referencePoller;
     private BundleTracker<Bundle>           bundleTracker;
     private final BundleStartTimeCalculator bundleStartTimeCalculator;
+    private final BundleIndex               bundleIndex;
 
     @Inject
     public ClassloaderLeakDetector(final BundleContext context,
-                                   final BundleStartTimeCalculator bundleStartTimeCalculator) {
+                                   final BundleStartTimeCalculator bundleStartTimeCalculator,
+                                   final BundleIndex bundleIndex) {
         this.context                   = context;
         this.bundleStartTimeCalculator = bundleStartTimeCalculator;
+        this.bundleIndex               = bundleIndex;
     }
 
     public void start() {
@@ -180,11 +182,9 @@ public final class ClassloaderLeakDetector implements Runnable {
     }
 
     public Set<XBundleDTO> getSuspiciousBundles() {
-        final Set<Long>        activeBundleIds   = Stream.of(context.getBundles()).map(Bundle::getBundleId)
-                .collect(toSet());
         final List<BundleInfo> suspiciousBundles = new ArrayList<>(bundleInfos.values());
         // filter out ACTIVE bundles that have only one classloader created for them
-        suspiciousBundles.removeIf(bi -> bi.hasSingleInstance() && activeBundleIds.contains(bi.bundleId));
+        suspiciousBundles.removeIf(bi -> bi.hasSingleInstance() && bundleIndex.isInstalled(bi.bundleId));
         return suspiciousBundles.stream().map(this::toDTO).collect(toSet());
     }
 
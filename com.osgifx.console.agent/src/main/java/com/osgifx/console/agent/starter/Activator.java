@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -42,6 +43,7 @@ import org.osgi.framework.BundleContext;
 import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
 import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.di.DI;
 import com.osgifx.console.agent.di.module.DIModule;
 import com.osgifx.console.agent.helper.ThreadFactoryBuilder;
 import com.osgifx.console.agent.provider.AgentServer;
@@ -80,6 +82,7 @@ public final class Activator extends Thread implements BundleActivator {
     // @formatter:on
 
     private DIModule                module;
+    private Semaphore               sessions;
     private ServerSocket            serverSocket;
     private final FluentLogger      logger = LoggerFactory.getFluentLogger(getClass());
     private final List<AgentServer> agents = new CopyOnWriteArrayList<>();
@@ -92,11 +95,13 @@ public final class Activator extends Thread implements BundleActivator {
         try {
             final SocketContext socketContext = new SocketContext(bundleContext);
             serverSocket = socketContext.getSocket();
+            sessions     = new Semaphore(socketContext.maxSessions());
             start();
 
             logger.atInfo().msg("[OSGi.fx] Socket agent configured").log();
             logger.atInfo().msg("[OSGi.fx] Host: {}").arg(socketContext.host()).log();
             logger.atInfo().msg("[OSGi.fx] Port: {}").arg(socketContext.port()).log();
+            logger.atInfo().msg("[OSGi.fx] Max Sessions: {}").arg(socketContext.maxSessions()).log();
         } catch (final IllegalArgumentException e) {
             logger.atInfo().msg("[OSGi.fx] Socket agent not configured").log();
         }
@@ -133,16 +138,17 @@ public final class Activator extends Thread implements BundleActivator {
             logger.atInfo().msg("[OSGi.fx] Custom messaging provider configured for MQTT communication").log();
         }
 
-        final AgentServer agentServer = new AgentServer(module.di(), MQTT_RPC);
+        final DI          session     = module.di().newScope();
+        final AgentServer agentServer = new AgentServer(session, MQTT_RPC);
         agents.add(agentServer);
 
         final ExecutorService              executor = newFixedThreadPool();
         final RemoteRPC<Agent, Supervisor> mqttRPC  = new MqttRPC<>(bundleContext, Supervisor.class, agentServer,
                                                                     pubTopic, subTopic, executor);
 
-        module.bindInstance(AgentServer.class, agentServer);
-        module.bindInstance(RemoteRPC.class, mqttRPC);
-        module.bindInstance(Supervisor.class, mqttRPC.getRemote());
+        session.bindInstance(AgentServer.class, agentServer);
+        session.bindInstance(RemoteRPC.class, mqttRPC);
+        session.bindInstance(Supervisor.class, mqttRPC.getRemote());
 
         mqttRPC.open();
         agentServer.setEndpoint(mqttRPC);
@@ -157,30 +163,18 @@ public final class Activator extends Thread implements BundleActivator {
         try {
             while (!isInterrupted()) {
                 try {
-                    final Socket socket = serverSocket.accept();
-                    // timeout to get interrupts
-                    socket.setSoTimeout(1000);
-
-                    // create a new agent, and link it up.
-                    final AgentServer agentServer = new AgentServer(module.di(), SOCKET_RPC);
-                    agents.add(agentServer);
-
-                    final ExecutorService              executor  = newFixedThreadPool();
-                    final SocketRPC<Agent, Supervisor> socketRPC = new SocketRPC<Agent, Supervisor>(Supervisor.class,
-                                                                                                    agentServer, socket,
-                                                                                                    executor) {
-                                                                     @Override
-                                                                     public void close() throws IOException {
-                                                                         agents.remove(agentServer);
-                                                                         super.close();
-                                                                     }
-                                                                 };
-                    module.bindInstance(AgentServer.class, agentServer);
-                    module.bindInstance(RemoteRPC.class, socketRPC);
-                    module.bindInstance(Supervisor.class, socketRPC.getRemote());
-
-                    agentServer.setEndpoint(socketRPC);
-                    socketRPC.run();
+                    // wait for a free session slot before accepting the next connection
+                    sessions.acquire();
+                    final Socket socket;
+                    try {
+                        socket = serverSocket.accept();
+                    } catch (final Exception e) {
+                        sessions.release();
+                        throw e;
+                    }
+                    openSession(socket);
+                } catch (final InterruptedException e) {
+                    interrupt();
                 } catch (final SocketException e) {
                     if (!isInterrupted()) {
                         logger.atWarn().msg("[OSGi.fx] Accepting agent requests").throwable(e).log();
@@ -199,6 +193,43 @@ public final class Activator extends Thread implements BundleActivator {
         }
     }
 
+    private void openSession(final Socket socket) throws IOException {
+        try {
+            // timeout to get interrupts
+            socket.setSoTimeout(1000);
+
+            // create a new agent in its own session scope, and link it up.
+            final DI          session     = module.di().newScope();
+            final AgentServer agentServer = new AgentServer(session, SOCKET_RPC);
+
+            final ExecutorService              executor  = newFixedThreadPool();
+            final SocketRPC<Agent, Supervisor> socketRPC = new SocketRPC<Agent, Supervisor>(Supervisor.class,
+                                                                                            agentServer, socket,
+                                                                                            executor) {
+                                                             @Override
+                                                             public void close() throws IOException {
+                                                                 if (agents.remove(agentServer)) {
+                                                                     sessions.release();
+                                                                 }
+                                                                 super.close();
+                                                             }
+                                                         };
+            session.bindInstance(AgentServer.class, agentServer);
+            session.bindInstance(RemoteRPC.class, socketRPC);
+            session.bindInstance(Supervisor.class, socketRPC.getRemote());
+
+            agentServer.setEndpoint(socketRPC);
+            agents.add(agentServer);
+            socketRPC.open();
+
+            logger.atInfo().msg("[OSGi.fx] Socket session opened for {}").arg(socket.getRemoteSocketAddress()).log();
+        } catch (final Exception e) {
+            sessions.release();
+            IO.close(socket);
+            throw e;
+        }
+    }
+
     @Override
     public void stop(final BundleContext context) throws Exception {
         interrupt();
@@ -15,6 +15,8 @@
  ******************************************************************************/
 package com.osgifx.console.agent.starter;
 
+import static com.osgifx.console.agent.Agent.AGENT_SOCKET_MAX_SESSIONS_DEFAULT_VALUE;
+import static com.osgifx.console.agent.Agent.AGENT_SOCKET_MAX_SESSIONS_KEY;
 import static com.osgifx.console.agent.Agent.AGENT_SOCKET_PORT_KEY;
 import static com.osgifx.console.agent.Agent.AGENT_SOCKET_PORT_PATTERN;
 import static com.osgifx.console.agent.Agent.AGENT_SOCKET_SECURE_COMMUNICATION_KEY;
@@ -39,6 +41,7 @@ public final class SocketContext {
 
     private String              host;
     private int                 port;
+    private int                 maxSessions;
     private final BundleContext bundleContext;
     private final FluentLogger  logger = LoggerFactory.getFluentLogger(getClass());
 
@@ -55,6 +58,10 @@ public final class SocketContext {
         return port;
     }
 
+    public int maxSessions() {
+        return maxSessions;
+    }
+
     public ServerSocket getSocket() throws Exception {
         final String secureCommunicationEnabled = bundleContext.getProperty(AGENT_SOCKET_SECURE_COMMUNICATION_KEY);
         if (Boolean.parseBoolean(secureCommunicationEnabled)) {
@@ -101,6 +108,25 @@ public final class SocketContext {
         } else {
             port = Integer.parseInt(m.group(2));
         }
+        maxSessions = extractMaxSessions();
+    }
+
+    private int extractMaxSessions() {
+        final String maxSessionsSpec = bundleContext.getProperty(AGENT_SOCKET_MAX_SESSIONS_KEY);
+        if (maxSessionsSpec == null) {
+            return AGENT_SOCKET_MAX_SESSIONS_DEFAULT_VALUE;
+        }
+        try {
+            final int value = Integer.parseInt(maxSessionsSpec.trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (final NumberFormatException e) {
+            // fall back to the default value
+        }
+        logger.atWarn().msg("Invalid maximum number of socket sessions in property '{}': {}")
+                .arg(AGENT_SOCKET_MAX_SESSIONS_KEY).arg(maxSessionsSpec).log();
+        return AGENT_SOCKET_MAX_SESSIONS_DEFAULT_VALUE;
     }
 
 }
@@ -165,6 +165,17 @@ public interface DataProvider {
      */
     CompletableFuture<XDmtNodeDTO> readDmtNode(String rootURI);
 
+    /**
+     * Returns the specified DMT node together with a page of its children.
+     *
+     * @param uri the URI of the node to read
+     * @param depth the number of descendant levels to include
+     * @param offset the index of the first child to include
+     * @param limit the maximum number of children to include per node
+     * @return a CompletableFuture containing the DMT node information
+     */
+    CompletableFuture<XDmtNodeDTO> readDmtNode(String uri, int depth, int offset, int limit);
+
     /**
      * Returns the runtime DTOs together.
      *
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.manager;
+
+import static com.osgifx.console.data.manager.AgentRequestCoalescer.PID;
+import static com.osgifx.console.event.topics.BundleActionEventTopics.BUNDLE_ACTION_EVENT_TOPICS;
+import static com.osgifx.console.event.topics.ComponentActionEventTopics.COMPONENT_ACTION_EVENT_TOPICS;
+import static com.osgifx.console.event.topics.ConfigurationActionEventTopics.CONFIGURATION_ACTION_EVENT_TOPICS;
+import static com.osgifx.console.event.topics.DmtActionEventTopics.DMT_ACTION_EVENT_TOPICS;
+import static com.osgifx.console.event.topics.LoggerContextActionEventTopics.LOGGER_CONTEXT_ACTION_EVENT_TOPICS;
+import static com.osgifx.console.event.topics.RoleActionEventTopics.ROLE_ACTION_EVENT_TOPICS;
+import static com.osgifx.console.supervisor.Supervisor.AGENT_CONNECTED_EVENT_TOPIC;
+import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.fx.core.log.FluentLogger;
+import org.eclipse.fx.core.log.LoggerFactory;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.event.propertytypes.EventTopics;
+
+/**
+ * Coalesces identical queries to the remote agent. Requests for the same key
+ * that are issued while a query is in flight, or within the configured window
+ * after it has completed, share the result of that query instead of causing
+ * another round trip.
+ * <p>
+ * All shared results are forgotten as soon as the agent connection changes or
+ * an action has been performed on the remote runtime.
+ */
+@Component(service = { AgentRequestCoalescer.class, EventHandler.class }, configurationPid = PID)
+// @formatter:off
+@EventTopics({ AGENT_CONNECTED_EVENT_TOPIC,
+               AGENT_DISCONNECTED_EVENT_TOPIC,
+               BUNDLE_ACTION_EVENT_TOPICS,
+               COMPONENT_ACTION_EVENT_TOPICS,
+               CONFIGURATION_ACTION_EVENT_TOPICS,
+               DMT_ACTION_EVENT_TOPICS,
+               LOGGER_CONTEXT_ACTION_EVENT_TOPICS,
+               ROLE_ACTION_EVENT_TOPICS })
+// @formatter:on
+public final class AgentRequestCoalescer implements EventHandler {
+
+    static final String PID = "agent.request.coalescing";
+
+    @interface Configuration {
+        /**
+         * The duration in milliseconds for which a completed result is shared
+         */
+        long window() default 500;
+    }
+
+    private static final class Request {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long                   completedAt;                       // nano time, 0 while in flight
+
+        private boolean isShareable(final long windowInNanos) {
+            if (!future.isDone()) {
+                return true;
+            }
+            return !future.isCompletedExceptionally() && System.nanoTime() - completedAt <= windowInNanos;
+        }
+    }
+
+    @Reference
+    private LoggerFactory              factory;
+    private FluentLogger               logger;
+    private volatile long              windowInNanos;
+    private final AtomicLong           hits     = new AtomicLong();
+    private final AtomicLong           misses   = new AtomicLong();
+    private final Map<String, Request> requests = new ConcurrentHashMap<>();
+
+    @Activate
+    @Modified
+    void init(final Configuration configuration) {
+        logger        = FluentLogger.of(factory.createLogger(getClass().getName()));
+        windowInNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, configuration.window()));
+    }
+
+    /**
+     * Returns the result of the specified query. The query is executed in the
+     * calling thread unless a shareable request with the same key exists.
+     *
+     * @param <T> the type of the result
+     * @param key the key identifying the query and its arguments
+     * @param query the query to execute
+     * @return the (shared) result
+     */
+    public <T> T get(final String key, final Supplier<T> query) {
+        final var request = new Request();
+        final var shared  = register(key, request);
+        if (shared == request) {
+            execute(key, request, query);
+        }
+        try {
+            return cast(shared.future.join());
+        } catch (final CompletionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof final RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the result of the specified asynchronous query. The query is issued
+     * in the calling thread unless a shareable request with the same key exists.
+     * It must not block the calling thread.
+     *
+     * @param <T> the type of the result
+     * @param key the key identifying the query and its arguments
+     * @param query the query to issue
+     * @return the future of the (shared) result
+     */
+    public <T> CompletableFuture<T> getAsync(final String key, final Supplier<CompletableFuture<T>> query) {
+        final var request = new Request();
+        final var shared  = register(key, request);
+        if (shared == request) {
+            executeAsync(key, request, query);
+        }
+        // a dependent stage prevents callers from completing the shared future
+        return shared.future.thenApply(this::cast);
+    }
+
+    /**
+     * Returns the number of requests which have been served by a shared result
+     *
+     * @return the number of hits
+     */
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of requests which have caused a query to the agent
+     *
+     * @return the number of misses
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Forgets all shared results. Requests which are still in flight complete
+     * normally but are not shared with subsequent requests.
+     */
+    public void invalidate() {
+        requests.clear();
+    }
+
+    @Override
+    public void handleEvent(final Event event) {
+        invalidate();
+        if (AGENT_DISCONNECTED_EVENT_TOPIC.equals(event.getTopic())) {
+            logger.atInfo().log("Coalesced agent requests - hits: %s, misses: %s", hits.get(), misses.get());
+        }
+    }
+
+    private Request register(final String key, final Request request) {
+        final var window = windowInNanos;
+        // the keys include the query arguments and hence, the expired requests must not be retained
+        requests.values().removeIf(r -> !r.isShareable(window));
+        final var shared = requests.compute(key, (k, v) -> v != null && v.isShareable(window) ? v : request);
+        if (shared == request) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+            logger.atDebug().log("Sharing the result of '%s'", key);
+        }
+        return shared;
+    }
+
+    private void execute(final String key, final Request request, final Supplier<?> query) {
+        try {
+            complete(request, query.get());
+        } catch (final Throwable e) {
+            fail(key, request, e);
+        }
+    }
+
+    private void executeAsync(final String key,
+                              final Request request,
+                              final Supplier<? extends CompletableFuture<?>> query) {
+        try {
+            query.get().whenComplete((result, e) -> {
+                if (e != null) {
+                    fail(key, request, e instanceof final CompletionException ce ? ce.getCause() : e);
+                } else {
+                    complete(request, result);
+                }
+            });
+        } catch (final Throwable e) {
+            fail(key, request, e);
+        }
+    }
+
+    private void complete(final Request request, final Object result) {
+        request.completedAt = System.nanoTime();
+        request.future.complete(result);
+    }
+
+    private void fail(final String key, final Request request, final Throwable e) {
+        // failed requests are never shared
+        requests.remove(key, request);
+        request.future.completeExceptionally(e);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cast(final Object result) {
+        return (T) result;
+    }
+
+}
@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.manager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.fx.core.ThreadSynchronize;
+
+import javafx.collections.ModifiableObservableListBase;
+import javafx.collections.ObservableList;
+
+/**
+ * Applies the modifications of an observable list on the FX application thread.
+ * <p>
+ * The modifications are accumulated by the calling threads and applied
+ * together on the next run of the FX application thread. All modifications of
+ * such a run are reported to the list listeners as one single change and hence,
+ * the views re-layout only once per frame and not once per element.
+ * <p>
+ * If a key mapper is specified, a replacement of the list contents is applied
+ * as a diff: elements with the same key are replaced in place, so that the
+ * selection of the views is retained. The keys must be unique.
+ *
+ * @param <E> the type of the list elements
+ */
+public final class FxListUpdater<E> {
+
+    private final BatchList<E>            list    = new BatchList<>();
+    private final List<Consumer<List<E>>> pending = new ArrayList<>();
+    private final ThreadSynchronize       threadSync;
+    private final Function<E, ?>          keyMapper;
+    private final int                     capacity;
+
+    // the snapshots to be taken after the pending modifications have been applied
+    private final List<CompletableFuture<List<E>>> snapshots = new ArrayList<>();
+
+    // the elements to be appended by the last pending modification
+    private List<E>                 appended;
+    // completes as soon as the pending modifications have been applied
+    private CompletableFuture<Void> applied;
+
+    public FxListUpdater(final ThreadSynchronize threadSync) {
+        this(threadSync, null, 0);
+    }
+
+    /**
+     * @param threadSync the FX thread synchronizer
+     * @param keyMapper the function to map an element to its unique key or
+     *            {@code null} to always replace the whole list contents
+     * @param capacity the maximum number of elements to retain, the oldest ones
+     *            are removed first ({@code 0} for unbounded)
+     */
+    public FxListUpdater(final ThreadSynchronize threadSync, final Function<E, ?> keyMapper, final int capacity) {
+        this.threadSync = threadSync;
+        this.keyMapper  = keyMapper;
+        this.capacity   = capacity;
+    }
+
+    public ObservableList<E> list() {
+        return list;
+    }
+
+    /**
+     * Replaces the contents of the list and discards all pending modifications
+     *
+     * @param elements the new contents
+     * @return the future that completes once the list has been updated
+     */
+    public CompletableFuture<Void> setAll(final Collection<? extends E> elements) {
+        final List<E> contents = new ArrayList<>(elements);
+        return enqueue(true, l -> replace(contents));
+    }
+
+    /**
+     * Clears the list and discards all pending modifications
+     *
+     * @return the future that completes once the list has been updated
+     */
+    public CompletableFuture<Void> clear() {
+        return enqueue(true, List::clear);
+    }
+
+    /**
+     * Appends the element to the list
+     *
+     * @param element the element to append
+     */
+    public synchronized void add(final E element) {
+        if (appended == null) {
+            final List<E> elements = new ArrayList<>();
+            enqueue(false, l -> l.addAll(elements));
+            appended = elements;
+        }
+        appended.add(element);
+    }
+
+    /**
+     * Modifies the list on the FX application thread
+     *
+     * @param modification the modification to perform
+     * @return the future that completes once the list has been updated
+     */
+    public CompletableFuture<Void> update(final Consumer<List<E>> modification) {
+        return enqueue(false, modification);
+    }
+
+    /**
+     * Copies the list contents on the FX application thread as soon as the
+     * pending modifications have been applied. This is the only safe way to read
+     * the list from any other thread.
+     *
+     * @return the future that completes with the unmodifiable copy of the list
+     */
+    public synchronized CompletableFuture<List<E>> snapshot() {
+        final CompletableFuture<List<E>> snapshot = new CompletableFuture<>();
+        snapshots.add(snapshot);
+        schedule();
+        return snapshot;
+    }
+
+    private synchronized CompletableFuture<Void> enqueue(final boolean replacing,
+                                                         final Consumer<List<E>> modification) {
+        if (replacing) {
+            pending.clear();
+        }
+        pending.add(modification);
+        appended = null;
+        return schedule();
+    }
+
+    private CompletableFuture<Void> schedule() {
+        if (applied == null) {
+            applied = new CompletableFuture<>();
+            threadSync.asyncExec(this::apply);
+        }
+        return applied;
+    }
+
+    private void apply() {
+        final List<Consumer<List<E>>>          modifications;
+        final List<CompletableFuture<List<E>>> requestedSnapshots;
+        final CompletableFuture<Void>          future;
+        synchronized (this) {
+            modifications      = new ArrayList<>(pending);
+            requestedSnapshots = new ArrayList<>(snapshots);
+            future             = applied;
+            pending.clear();
+            snapshots.clear();
+            appended = null;
+            applied  = null;
+        }
+        try {
+            list.batch(() -> {
+                modifications.forEach(m -> m.accept(list));
+                if (capacity > 0 && list.size() > capacity) {
+                    list.remove(0, list.size() - capacity);
+                }
+            });
+            future.complete(null);
+        } catch (final RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        if (!requestedSnapshots.isEmpty()) {
+            final List<E> snapshot = Collections.unmodifiableList(new ArrayList<>(list));
+            requestedSnapshots.forEach(s -> s.complete(snapshot));
+        }
+    }
+
+    private void replace(final List<E> contents) {
+        if (keyMapper == null) {
+            list.setAll(contents);
+            return;
+        }
+        final Set<Object> keys = new HashSet<>();
+        contents.forEach(e -> keys.add(keyMapper.apply(e)));
+        list.removeIf(e -> !keys.contains(keyMapper.apply(e)));
+
+        final Set<Object> existing = new HashSet<>();
+        list.forEach(e -> existing.add(keyMapper.apply(e)));
+        for (var i = 0; i < contents.size(); i++) {
+            final var element = contents.get(i);
+            final var key     = keyMapper.apply(element);
+            if (!existing.contains(key)) {
+                list.add(i, element);
+                continue;
+            }
+            if (!Objects.equals(key, keyMapper.apply(list.get(i)))) {
+                // the element has been moved and hence, it is brought forward to its new position
+                var j = i + 1;
+                while (!Objects.equals(key, keyMapper.apply(list.get(j)))) {
+                    j++;
+                }
+                list.add(i, list.remove(j));
+            }
+            if (list.get(i) != element) {
+                list.set(i, element);
+            }
+        }
+        if (list.size() > contents.size()) {
+            list.remove(contents.size(), list.size());
+        }
+    }
+
+    private static final class BatchList<E> extends ModifiableObservableListBase<E> {
+
+        private final List<E> elements = new ArrayList<>();
+
+        private void batch(final Runnable modification) {
+            beginChange();
+            try {
+                modification.run();
+            } finally {
+                endChange();
+            }
+        }
+
+        @Override
+        public E get(final int index) {
+            return elements.get(index);
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+
+        @Override
+        protected void doAdd(final int index, final E element) {
+            elements.add(index, element);
+        }
+
+        @Override
+        protected E doSet(final int index, final E element) {
+            return elements.set(index, element);
+        }
+
+        @Override
+        protected E doRemove(final int index) {
+            return elements.remove(index);
+        }
+    }
+
+}
@@ -31,6 +31,7 @@ import static com.osgifx.console.data.supplier.RolesInfoSupplier.ROLES_ID;
 import static com.osgifx.console.data.supplier.ServicesInfoSupplier.SERVICES_ID;
 import static com.osgifx.console.data.supplier.ThreadsInfoSupplier.THREADS_ID;
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_ALL_TOPIC;
+import static java.util.function.Function.identity;
 import static org.osgi.service.component.annotations.ReferenceCardinality.MULTIPLE;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicy.DYNAMIC;
@@ -51,6 +52,7 @@ import org.osgi.service.event.EventAdmin;
 
 import com.google.mu.util.stream.BiCollectors;
 import com.google.mu.util.stream.BiStream;
+import com.osgifx.console.agent.Agent;
 import com.osgifx.console.agent.dto.RuntimeDTO;
 import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.agent.dto.XBundleLoggerContextDTO;
@@ -85,6 +87,8 @@ public final class RuntimeDataProvider implements DataProvider {
     private Executor                               executor;
     @Reference
     private EventAdmin                             eventAdmin;
+    @Reference
+    private AgentRequestCoalescer                  coalescer;
     @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
     private volatile Supervisor                    supervisor;
     private FluentLogger                           logger;
@@ -113,22 +117,34 @@ public final class RuntimeDataProvider implements DataProvider {
             if (isAsync) {
                 final var futures =
                         BiStream.from(infoSuppliers)
-                                .mapValues((k, v) -> executor.runAsync(v::retrieve))
+                                .mapValues((k, v) -> executor.supplyAsync(v::retrieveAsync)
+                                                             .thenCompose(identity())
+                                                             .exceptionally(e -> logRetrievalFailure(k, e)))
                                 .collect(BiCollectors.toMap());
 
                 CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
-                                 .thenRunAsync(() -> RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_ALL_TOPIC))
-                                 .thenRunAsync(() -> logger.atInfo().log("All runtime informations have been retrieved successfully (async)"));
+                                 .whenCompleteAsync((r, e) -> {
+                                     RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_ALL_TOPIC);
+                                     logger.atInfo().log("All runtime informations have been retrieved (async)");
+                                     logCoalescingStatistics();
+                                 });
             } else {
-                infoSuppliers.forEach((k, v) -> v.retrieve());
+                infoSuppliers.forEach(this::retrieveSafely);
                 RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_ALL_TOPIC);
-                logger.atInfo().log("All runtime informations have been retrieved successfully (sync)");
+                logger.atInfo().log("All runtime informations have been retrieved (sync)");
+                logCoalescingStatistics();
             }
         } else if (isAsync) {
-            executor.runAsync(() -> retrieve(id))
-                    .thenRunAsync(() -> logger.atInfo().log("Runtime information of '%s' has been retrieved successfully (async)", id));
-        } else {
-            retrieve(id);
+            executor.supplyAsync(() -> retrieveAsync(id))
+                    .thenCompose(identity())
+                    .whenCompleteAsync((r, e) -> {
+                        if (e != null) {
+                            logRetrievalFailure(id, e);
+                        } else {
+                            logger.atInfo().log("Runtime information of '%s' has been retrieved successfully (async)", id);
+                        }
+                    });
+        } else if (retrieve(id)) {
             logger.atInfo().log("Runtime information of '%s' has been retrieved successfully (sync)", id);
         }
         // @formatter:on
@@ -206,42 +222,56 @@ public final class RuntimeDataProvider implements DataProvider {
 
     @Override
     public CompletableFuture<XMemoryInfoDTO> memory() {
-        final var agent = supervisor.getAgent();
+        final var agent = supervisor.getAsyncAgent();
         if (agent == null) {
             logger.atWarning().log("Agent not connected");
             return null;
         }
-        return executor.supplyAsync(agent::getMemoryInfo);
+        return coalescer.getAsync("getMemoryInfo", () -> agent.call(Agent::getMemoryInfo));
     }
 
     @Override
     public CompletableFuture<XDmtNodeDTO> readDmtNode(final String rootURI) {
-        final var agent = supervisor.getAgent();
+        final var agent = supervisor.getAsyncAgent();
         if (agent == null) {
             logger.atWarning().log("Agent not connected");
             return null;
         }
-        return executor.supplyAsync(() -> agent.readDmtNode(rootURI));
+        return coalescer.getAsync("readDmtNode:" + rootURI, () -> agent.call(a -> a.readDmtNode(rootURI)));
+    }
+
+    @Override
+    public CompletableFuture<XDmtNodeDTO> readDmtNode(final String uri,
+                                                      final int depth,
+                                                      final int offset,
+                                                      final int limit) {
+        final var agent = supervisor.getAsyncAgent();
+        if (agent == null) {
+            logger.atWarning().log("Agent not connected");
+            return null;
+        }
+        final var key = "readDmtNode:" + uri + ":" + depth + ":" + offset + ":" + limit;
+        return coalescer.getAsync(key, () -> agent.call(a -> a.readDmtNode(uri, depth, offset, limit)));
     }
 
     @Override
     public CompletableFuture<RuntimeDTO> readRuntimeDTO() {
-        final var agent = supervisor.getAgent();
+        final var agent = supervisor.getAsyncAgent();
         if (agent == null) {
             logger.atWarning().log("Agent not connected");
             return null;
         }
-        return executor.supplyAsync(agent::getRuntimeDTO);
+        return coalescer.getAsync("getRuntimeDTO", () -> agent.call(Agent::getRuntimeDTO));
     }
 
     @Override
     public CompletableFuture<XHeapUsageDTO> heapUsage() {
-        final var agent = supervisor.getAgent();
+        final var agent = supervisor.getAsyncAgent();
         if (agent == null) {
             logger.atWarning().log("Agent not connected");
             return null;
         }
-        return executor.supplyAsync(agent::getHeapUsage);
+        return coalescer.getAsync("getHeapUsage", () -> agent.call(Agent::getHeapUsage));
     }
 
     private ObservableList<?> supply(final String id) {
@@ -256,15 +286,37 @@ public final class RuntimeDataProvider implements DataProvider {
         return FXCollections.observableArrayList();
     }
 
-    private void retrieve(final String id) {
-        for (final Entry<String, RuntimeInfoSupplier> entry : infoSuppliers.entrySet()) {
-            final var supplierId  = entry.getKey();
-            final var supplierRef = entry.getValue();
+    private void logCoalescingStatistics() {
+        logger.atDebug().log("Coalesced agent requests - hits: %s, misses: %s", coalescer.hits(), coalescer.misses());
+    }
 
-            if (id.equals(supplierId)) {
-                supplierRef.retrieve();
-            }
+    private boolean retrieve(final String id) {
+        final var supplier = infoSuppliers.get(id);
+        return supplier == null || retrieveSafely(id, supplier);
+    }
+
+    private boolean retrieveSafely(final String id, final RuntimeInfoSupplier supplier) {
+        try {
+            supplier.retrieve();
+            return true;
+        } catch (final Exception e) {
+            // the supplier keeps serving its previously retrieved information
+            logRetrievalFailure(id, e);
+            return false;
+        }
+    }
+
+    private Void logRetrievalFailure(final String id, final Throwable e) {
+        logger.atError().withException(e).log("Runtime information of '%s' cannot be retrieved", id);
+        return null;
+    }
+
+    private CompletableFuture<Void> retrieveAsync(final String id) {
+        final var supplier = infoSuppliers.get(id);
+        if (supplier == null) {
+            return CompletableFuture.completedFuture(null);
         }
+        return supplier.retrieveAsync();
     }
 
 }
@@ -15,7 +15,9 @@
  ******************************************************************************/
 package com.osgifx.console.data.manager;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventAdmin;
@@ -31,11 +33,34 @@ public interface RuntimeInfoSupplier {
      */
     void retrieve();
 
+    /**
+     * Retrieves from the remote runtime without blocking the calling thread while
+     * waiting for the remote agent. The default implementation retrieves
+     * synchronously in the calling thread.
+     *
+     * @return the future that completes once the information has been retrieved
+     */
+    default CompletableFuture<Void> retrieveAsync() {
+        retrieve();
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Returns the observable list
      */
     ObservableList<?> supply();
 
+    /**
+     * Returns a copy of the observable list that can be read from any thread. The
+     * default implementation copies the list in the calling thread and hence, it
+     * must be overridden if the list is modified on the FX application thread.
+     *
+     * @return the future that completes with the copy of the observable list
+     */
+    default CompletableFuture<? extends List<?>> snapshot() {
+        return CompletableFuture.completedFuture(List.copyOf(supply()));
+    }
+
     static void sendEvent(final EventAdmin eventAdmin, final String topic) {
         final var event = new Event(topic, Map.of());
         eventAdmin.postEvent(event);
@@ -20,10 +20,14 @@ import static com.osgifx.console.event.topics.BundleActionEventTopics.BUNDLE_ACT
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_BUNDLES_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.LoggerFactory;
@@ -36,7 +40,12 @@ import org.osgi.service.event.EventAdmin;
 import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
+import com.google.common.collect.Maps;
+import com.osgifx.console.agent.Agent;
 import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.agent.dto.XBundleDeltaDTO;
+import com.osgifx.console.data.manager.AgentRequestCoalescer;
+import com.osgifx.console.data.manager.FxListUpdater;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
 import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
@@ -52,22 +61,29 @@ public final class BundlesInfoSupplier implements RuntimeInfoSupplier, EventHand
     public static final String BUNDLES_ID = "bundles";
 
     @Reference
-    private LoggerFactory       factory;
+    private LoggerFactory         factory;
+    @Reference
+    private Executor              executor;
     @Reference
-    private Executor            executor;
+    private EventAdmin            eventAdmin;
     @Reference
-    private EventAdmin          eventAdmin;
+    private ThreadSynchronize     threadSync;
     @Reference
-    private ThreadSynchronize   threadSync;
+    private AgentRequestCoalescer coalescer;
     @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
-    private volatile Supervisor supervisor;
-    private FluentLogger        logger;
+    private volatile Supervisor   supervisor;
+    private FluentLogger          logger;
+
+    private FxListUpdater<XBundleDTO> bundles;
 
-    private final ObservableList<XBundleDTO> bundles = observableArrayList();
+    // the bundle model revision of the remote runtime that has been retrieved the last time
+    private volatile String epoch;
+    private volatile long   revision;
 
     @Activate
     void activate() {
-        logger = FluentLogger.of(factory.createLogger(getClass().getName()));
+        logger  = FluentLogger.of(factory.createLogger(getClass().getName()));
+        bundles = new FxListUpdater<>(threadSync, b -> b.id, 0);
     }
 
     @Override
@@ -78,23 +94,85 @@ public final class BundlesInfoSupplier implements RuntimeInfoSupplier, EventHand
             logger.atWarning().log("Agent not connected");
             return;
         }
-        bundles.setAll(makeNullSafe(agent.getAllBundles()));
-        RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_BUNDLES_TOPIC);
+        final var                     delta = retrieveDelta(agent);
+        final CompletableFuture<Void> update;
+        if (delta == null) {
+            update = bundles.setAll(makeNullSafe(coalescer.get("getAllBundles", agent::getAllBundles)));
+        } else if (delta.isSnapshot) {
+            update = bundles.setAll(makeNullSafe(delta.updated));
+        } else {
+            update = bundles.update(list -> patch(list, delta));
+        }
+        update.thenRun(() -> RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_BUNDLES_TOPIC));
         logger.atInfo().log("Bundles info retrieved successfully");
     }
 
     @Override
     public ObservableList<?> supply() {
-        return bundles;
+        return bundles.list();
+    }
+
+    @Override
+    public CompletableFuture<List<XBundleDTO>> snapshot() {
+        return bundles.snapshot();
     }
 
     @Override
     public void handleEvent(final Event event) {
         if (AGENT_DISCONNECTED_EVENT_TOPIC.equals(event.getTopic())) {
-            threadSync.asyncExec(bundles::clear);
+            epoch    = null;
+            revision = 0;
+            bundles.clear();
             return;
         }
         executor.runAsync(this::retrieve);
     }
 
+    private XBundleDeltaDTO retrieveDelta(final Agent agent) {
+        final var knownEpoch    = epoch;
+        final var knownRevision = revision;
+        XBundleDeltaDTO delta;
+        try {
+            final var key = "getBundleDelta:" + knownEpoch + ":" + knownRevision;
+            delta = coalescer.get(key, () -> agent.getBundleDelta(knownEpoch, knownRevision));
+        } catch (final Exception e) {
+            // older agents do not support the delta synchronization
+            logger.atWarning().withException(e).log("Bundle changes cannot be retrieved from remote runtime");
+            delta = null;
+        }
+        if (delta == null) {
+            epoch    = null;
+            revision = 0;
+        } else {
+            epoch    = delta.epoch;
+            revision = delta.revision;
+        }
+        return delta;
+    }
+
+    private void patch(final List<XBundleDTO> target, final XBundleDeltaDTO delta) {
+        final var updated = makeNullSafe(delta.updated);
+        final var removed = makeNullSafe(delta.removed);
+
+        logger.atInfo().log("Applying %s updated and %s removed bundles", updated.size(), removed.size());
+
+        final Map<Long, Integer> indices = Maps.newHashMap(); // key: bundle ID, value: index in the list
+        for (var i = 0; i < target.size(); i++) {
+            indices.put(target.get(i).id, i);
+        }
+        for (final XBundleDTO bundle : updated) {
+            final var index = indices.get(bundle.id);
+            if (index != null) {
+                target.set(index, bundle);
+            } else {
+                indices.put(bundle.id, target.size());
+                target.add(bundle);
+            }
+        }
+        if (!removed.isEmpty()) {
+            final var removedIds = new HashSet<>(removed);
+            target.removeIf(b -> removedIds.contains(b.id));
+        }
+    }
+
 }
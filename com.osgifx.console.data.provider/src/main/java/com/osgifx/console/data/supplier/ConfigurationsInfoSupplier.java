@@ -21,10 +21,12 @@ import static com.osgifx.console.event.topics.ConfigurationActionEventTopics.CON
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_CONFIGURATIONS_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.LoggerFactory;
@@ -37,7 +39,10 @@ import org.osgi.service.event.EventAdmin;
 import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
+import com.osgifx.console.agent.Agent;
 import com.osgifx.console.agent.dto.XConfigurationDTO;
+import com.osgifx.console.data.manager.AgentRequestCoalescer;
+import com.osgifx.console.data.manager.FxListUpdater;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
 import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
@@ -53,49 +58,62 @@ public final class ConfigurationsInfoSupplier implements RuntimeInfoSupplier, Ev
     public static final String CONFIGURATIONS_ID = "configurations";
 
     @Reference
-    private LoggerFactory       factory;
+    private LoggerFactory         factory;
+    @Reference
+    private Executor              executor;
     @Reference
-    private Executor            executor;
+    private EventAdmin            eventAdmin;
     @Reference
-    private EventAdmin          eventAdmin;
+    private ThreadSynchronize     threadSync;
     @Reference
-    private ThreadSynchronize   threadSync;
+    private AgentRequestCoalescer coalescer;
     @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
-    private volatile Supervisor supervisor;
-    private FluentLogger        logger;
+    private volatile Supervisor   supervisor;
+    private FluentLogger          logger;
 
-    private final ObservableList<XConfigurationDTO> configurations = observableArrayList();
+    private FxListUpdater<XConfigurationDTO> configurations;
 
     @Activate
     void activate() {
-        logger = FluentLogger.of(factory.createLogger(getClass().getName()));
+        logger         = FluentLogger.of(factory.createLogger(getClass().getName()));
+        configurations = new FxListUpdater<>(threadSync);
+    }
+
+    @Override
+    public void retrieve() {
+        retrieveAsync().join();
     }
 
     @Override
-    public synchronized void retrieve() {
+    public CompletableFuture<Void> retrieveAsync() {
         logger.atInfo().log("Retrieving configurations info from remote runtime");
-        final var agent = supervisor.getAgent();
+        final var agent = supervisor.getAsyncAgent();
         if (agent == null) {
             logger.atWarning().log("Agent not connected");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        configurations.setAll(makeNullSafe(agent.getAllConfigurations()));
-        RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_CONFIGURATIONS_TOPIC);
+        return coalescer.getAsync("getAllConfigurations", () -> agent.call(Agent::getAllConfigurations))
+                        .thenAccept(this::update);
+    }
+
+    private synchronized void update(final Collection<XConfigurationDTO> result) {
+        configurations.setAll(makeNullSafe(result))
+                      .thenRun(() -> RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_CONFIGURATIONS_TOPIC));
         logger.atInfo().log("Configurations info retrieved successfully");
     }
 
     @Override
     public ObservableList<?> supply() {
-        return configurations;
+        return configurations.list();
     }
 
     @Override
     public void handleEvent(final Event event) {
         if (AGENT_DISCONNECTED_EVENT_TOPIC.equals(event.getTopic())) {
-            threadSync.asyncExec(configurations::clear);
+            configurations.clear();
             return;
         }
-        executor.runAsync(this::retrieve);
+        executor.runAsync(this::retrieveAsync);
     }
 
 }
@@ -19,24 +19,17 @@ import static com.osgifx.console.data.supplier.EventsInfoSupplier.EVENTS_ID;
 import static com.osgifx.console.data.supplier.EventsInfoSupplier.PID;
 import static com.osgifx.console.event.topics.EventReceiveEventTopics.CLEAR_EVENTS_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
-import static com.osgifx.console.supervisor.Supervisor.EVENT_LISTENER_REMOVED_EVENT_TOPIC;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
-import java.time.Duration;
 import java.util.Collection;
 import java.util.Set;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.LoggerFactory;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
-import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.propertytypes.ServiceRanking;
@@ -44,8 +37,10 @@ import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.Sets;
 import com.osgifx.console.agent.dto.XEventDTO;
+import com.osgifx.console.data.manager.FxListUpdater;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
 import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.EventListener;
@@ -56,48 +51,49 @@ import javafx.collections.ObservableList;
 @ServiceRanking(112)
 @SupplierID(EVENTS_ID)
 @Component(configurationPid = PID)
-@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, CLEAR_EVENTS_TOPIC, EVENT_LISTENER_REMOVED_EVENT_TOPIC })
+@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, CLEAR_EVENTS_TOPIC })
 public final class EventsInfoSupplier implements RuntimeInfoSupplier, EventListener, EventHandler {
 
     static final String PID = "event.receive.topics";
 
     @interface Configuration {
         String[] topics();
+
+        String filter() default "";
     }
 
     public static final String EVENTS_ID = "events";
 
-    private static final int CACHE_INVALIDATE_INITIAL_DELAY = 0;
-    private static final int CACHE_INVALIDATE_DELAY         = 5;
-    private static final int CACHE_INVALIDATE_THRESHOLD     = 100;
-    private static final int CACHE_INVALIDATE_RANGE_START   = 0;
-    private static final int CACHE_INVALIDATE_RANGE_END     = 50;
+    // the oldest events are removed as soon as the limit is exceeded
+    private static final int MAX_EVENTS = 100;
 
     @Reference
-    private LoggerFactory               factory;
+    private LoggerFactory            factory;
     @Reference
-    private Executor                    executor;
+    private Executor                 executor;
     @Reference
-    private ThreadSynchronize           threadSync;
+    private ThreadSynchronize        threadSync;
     @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
-    private volatile Supervisor         supervisor;
-    private FluentLogger                logger;
-    private volatile ScheduledFuture<?> future;
-    private Configuration               configuration;
-    private final Lock                  lock = new ReentrantLock();
-
-    private final ObservableList<XEventDTO> events = observableArrayList();
+    private volatile Supervisor      supervisor;
+    private FluentLogger             logger;
+    private Configuration            configuration;
+    private FxListUpdater<XEventDTO> events;
 
     @Activate
     @Modified
     void init(final Configuration configuration) {
         this.configuration = configuration;
         logger             = FluentLogger.of(factory.createLogger(getClass().getName()));
-    }
+        if (events == null) {
+            events = new FxListUpdater<>(threadSync, null, MAX_EVENTS);
+        }
 
-    @Deactivate
-    void deactivate() {
-        cancelCacheInvalidationJob();
+        // the configuration is updated asynchronously after the listener might have
+        // already been registered
+        final var sv = supervisor;
+        if (sv != null) {
+            executor.runAsync(() -> sv.updateOSGiEventListener(this));
+        }
     }
 
     @Override
@@ -107,60 +103,34 @@ public final class EventsInfoSupplier implements RuntimeInfoSupplier, EventListe
 
     @Override
     public ObservableList<?> supply() {
-        return events;
+        return events.list();
     }
 
     @Override
     public void onEvent(final XEventDTO event) {
-        if (future == null) {
-            executor.scheduleWithFixedDelay(() -> {
-                lock.lock();
-                try {
-                    final var size = events.size();
-                    if (size > CACHE_INVALIDATE_THRESHOLD) {
-                        events.remove(CACHE_INVALIDATE_RANGE_START, CACHE_INVALIDATE_RANGE_END);
-                    }
-                } finally {
-                    lock.unlock();
-                }
-            }, Duration.ofSeconds(CACHE_INVALIDATE_INITIAL_DELAY), Duration.ofSeconds(CACHE_INVALIDATE_DELAY));
-        }
-        lock.lock();
-        try {
-            events.add(event);
-        } finally {
-            lock.unlock();
-        }
+        events.add(event);
     }
 
     @Override
     public Collection<String> topics() {
-        return configuration != null ? Sets.newHashSet(configuration.topics()) : Set.of();
+        return configuration != null && configuration.topics() != null ? Sets.newHashSet(configuration.topics())
+                : Set.of();
+    }
+
+    @Override
+    public String filter() {
+        return configuration != null ? Strings.emptyToNull(configuration.filter()) : null;
     }
 
     @Override
     public void handleEvent(final Event event) {
         switch (event.getTopic()) {
-            case AGENT_DISCONNECTED_EVENT_TOPIC:
-                cancelCacheInvalidationJob();
-                threadSync.asyncExec(events::clear);
-                break;
-            case EVENT_LISTENER_REMOVED_EVENT_TOPIC:
-                cancelCacheInvalidationJob();
-                break;
-            case CLEAR_EVENTS_TOPIC:
-                threadSync.asyncExec(events::clear);
+            case AGENT_DISCONNECTED_EVENT_TOPIC, CLEAR_EVENTS_TOPIC:
+                events.clear();
                 break;
             default:
                 break;
         }
     }
 
-    private void cancelCacheInvalidationJob() {
-        if (future != null) {
-            future.cancel(true);
-            future = null;
-        }
-    }
-
 }
@@ -15,18 +15,16 @@
  ******************************************************************************/
 package com.osgifx.console.data.supplier;
 
+import static com.osgifx.console.data.manager.RuntimeInfoSupplier.PROPERTY_ID;
+import static com.osgifx.console.data.supplier.BundlesInfoSupplier.BUNDLES_ID;
 import static com.osgifx.console.data.supplier.LogsInfoSupplier.LOGS_ID;
 import static com.osgifx.console.event.topics.LogReceiveEventTopics.CLEAR_LOGS_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
-import static com.osgifx.console.supervisor.Supervisor.LOG_LISTENER_REMOVED_EVENT_TOPIC;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
-import java.time.Duration;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
@@ -40,50 +38,57 @@ import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
+import com.google.common.collect.Maps;
+import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.agent.dto.XLogEntryDTO;
+import com.osgifx.console.data.manager.FxListUpdater;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.LogEntryListener;
 import com.osgifx.console.supervisor.Supervisor;
 
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 @Component
 @ServiceRanking(113)
 @SupplierID(LOGS_ID)
-@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, CLEAR_LOGS_TOPIC, LOG_LISTENER_REMOVED_EVENT_TOPIC })
+@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, CLEAR_LOGS_TOPIC })
 public final class LogsInfoSupplier implements RuntimeInfoSupplier, LogEntryListener, EventHandler {
 
     public static final String LOGS_ID = "logs";
 
-    private static final int CACHE_INVALIDATE_INITIAL_DELAY = 0;
-    private static final int CACHE_INVALIDATE_DELAY         = 5;
-    private static final int CACHE_INVALIDATE_THRESHOLD     = 100;
-    private static final int CACHE_INVALIDATE_RANGE_START   = 0;
-    private static final int CACHE_INVALIDATE_RANGE_END     = 50;
+    // the oldest log entries are removed as soon as the limit is exceeded
+    private static final int MAX_LOG_ENTRIES = 100;
 
     @Reference
-    private LoggerFactory               factory;
+    private LoggerFactory                  factory;
     @Reference
-    private Executor                    executor;
-    @Reference
-    private ThreadSynchronize           threadSync;
+    private ThreadSynchronize              threadSync;
+    @Reference(target = "(" + PROPERTY_ID + "=" + BUNDLES_ID + ")")
+    private RuntimeInfoSupplier            bundlesSupplier;
     @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
-    private volatile Supervisor         supervisor;
-    private FluentLogger                logger;
-    private volatile ScheduledFuture<?> future;
-    private final Lock                  lock = new ReentrantLock();
-
-    private final ObservableList<XLogEntryDTO> logs = observableArrayList();
+    private volatile Supervisor            supervisor;
+    private FluentLogger                   logger;
+    private volatile Map<Long, XBundleDTO> bundlesById = Map.of();
+    private ListChangeListener<XBundleDTO> bundlesListener;
+    private FxListUpdater<XLogEntryDTO>    logs;
 
     @Activate
+    @SuppressWarnings("unchecked")
     void init() {
         logger = FluentLogger.of(factory.createLogger(getClass().getName()));
+        logs   = new FxListUpdater<>(threadSync, null, MAX_LOG_ENTRIES);
+
+        final var bundles = (ObservableList<XBundleDTO>) bundlesSupplier.supply();
+        bundlesListener = change -> indexBundles(change.getList());
+        bundles.addListener(bundlesListener);
+        indexBundles(bundles);
     }
 
     @Deactivate
+    @SuppressWarnings("unchecked")
     void deactivate() {
-        cancelCacheInvalidationJob();
+        ((ObservableList<XBundleDTO>) bundlesSupplier.supply()).removeListener(bundlesListener);
     }
 
     @Override
@@ -93,55 +98,57 @@ public final class LogsInfoSupplier implements RuntimeInfoSupplier, LogEntryList
 
     @Override
     public ObservableList<?> supply() {
-        return logs;
+        return logs.list();
     }
 
     @Override
     public void logged(final XLogEntryDTO logEntry) {
-        if (future == null) {
-            executor.scheduleWithFixedDelay(() -> {
-                lock.lock();
-                try {
-                    final var size = logs.size();
-                    if (size > CACHE_INVALIDATE_THRESHOLD) {
-                        logs.remove(CACHE_INVALIDATE_RANGE_START, CACHE_INVALIDATE_RANGE_END);
-                    }
-                } finally {
-                    lock.unlock();
-                }
-            }, Duration.ofSeconds(CACHE_INVALIDATE_INITIAL_DELAY), Duration.ofSeconds(CACHE_INVALIDATE_DELAY));
-        }
-        lock.lock();
-        try {
-            logs.add(logEntry);
-        } finally {
-            lock.unlock();
-        }
+        resolveBundle(logEntry);
+        logs.add(logEntry);
     }
 
     @Override
     public void handleEvent(final Event event) {
         switch (event.getTopic()) {
-            case AGENT_DISCONNECTED_EVENT_TOPIC:
-                cancelCacheInvalidationJob();
-                threadSync.asyncExec(logs::clear);
-                break;
-            case LOG_LISTENER_REMOVED_EVENT_TOPIC:
-                cancelCacheInvalidationJob();
-                break;
-            case CLEAR_LOGS_TOPIC:
-                threadSync.asyncExec(logs::clear);
+            case AGENT_DISCONNECTED_EVENT_TOPIC, CLEAR_LOGS_TOPIC:
+                logs.clear();
                 break;
             default:
                 break;
         }
     }
 
-    private void cancelCacheInvalidationJob() {
-        if (future != null) {
-            future.cancel(true);
-            future = null;
+    private void indexBundles(final List<? extends XBundleDTO> bundles) {
+        final Map<Long, XBundleDTO> index = Maps.newHashMapWithExpectedSize(bundles.size());
+        bundles.forEach(b -> index.put(b.id, b));
+        bundlesById = index;
+    }
+
+    private void resolveBundle(final XLogEntryDTO logEntry) {
+        // older agents still send the complete bundle information
+        if (logEntry.bundle != null) {
+            logEntry.bundleId           = logEntry.bundle.id;
+            logEntry.bundleSymbolicName = logEntry.bundle.symbolicName;
+            logEntry.bundleVersion      = logEntry.bundle.version;
+            return;
+        }
+        if (logEntry.bundleId < 0) {
+            // the log entry has not been generated by any bundle
+            return;
         }
+        final var bundle = bundlesById.get(logEntry.bundleId);
+        if (bundle != null) {
+            logEntry.bundle = bundle;
+            return;
+        }
+        // bundle is not cached yet (for example, it has been installed after the last retrieval)
+        final var dto = new XBundleDTO();
+
+        dto.id           = logEntry.bundleId;
+        dto.symbolicName = logEntry.bundleSymbolicName;
+        dto.version      = logEntry.bundleVersion;
+
+        logEntry.bundle = dto;
     }
 
 }
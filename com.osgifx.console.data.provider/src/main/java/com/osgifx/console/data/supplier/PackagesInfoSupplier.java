@@ -15,16 +15,18 @@
  ******************************************************************************/
 package com.osgifx.console.data.supplier;
 
+import static com.osgifx.console.data.manager.RuntimeInfoSupplier.PROPERTY_ID;
+import static com.osgifx.console.data.supplier.BundlesInfoSupplier.BUNDLES_ID;
 import static com.osgifx.console.data.supplier.PackagesInfoSupplier.PACKAGES_ID;
-import static com.osgifx.console.event.topics.BundleActionEventTopics.BUNDLE_ACTION_EVENT_TOPICS;
+import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_BUNDLES_TOPIC;
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_PACKAGES_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
@@ -42,6 +44,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.agent.dto.XPackageDTO;
+import com.osgifx.console.data.manager.FxListUpdater;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
 import com.osgifx.console.data.provider.PackageDTO;
 import com.osgifx.console.executor.Executor;
@@ -53,7 +56,7 @@ import javafx.collections.ObservableList;
 @Component
 @ServiceRanking(103)
 @SupplierID(PACKAGES_ID)
-@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, BUNDLE_ACTION_EVENT_TOPICS })
+@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, DATA_RETRIEVED_BUNDLES_TOPIC })
 public final class PackagesInfoSupplier implements RuntimeInfoSupplier, EventHandler {
 
     public static final String PACKAGES_ID = "packages";
@@ -66,42 +69,70 @@ public final class PackagesInfoSupplier implements RuntimeInfoSupplier, EventHan
     private EventAdmin          eventAdmin;
     @Reference
     private ThreadSynchronize   threadSync;
+    @Reference(target = "(" + PROPERTY_ID + "=" + BUNDLES_ID + ")")
+    private RuntimeInfoSupplier bundlesSupplier;
     @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
     private volatile Supervisor supervisor;
     private FluentLogger        logger;
 
-    private final ObservableList<PackageDTO> packages = observableArrayList();
+    private FxListUpdater<PackageDTO> packages;
 
     @Activate
     void activate() {
-        logger = FluentLogger.of(factory.createLogger(getClass().getName()));
+        logger   = FluentLogger.of(factory.createLogger(getClass().getName()));
+        packages = new FxListUpdater<>(threadSync);
     }
 
     @Override
-    public synchronized void retrieve() {
+    public void retrieve() {
+        retrieveAsync().join();
+    }
+
+    @Override
+    public CompletableFuture<Void> retrieveAsync() {
         logger.atInfo().log("Retrieving packages info from remote runtime");
         final var agent = supervisor.getAgent();
         if (agent == null) {
             logger.atWarning().log("Agent not connected");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        packages.setAll(preparePackages(agent.getAllBundles()));
-        RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_PACKAGES_TOPIC);
+        // the packages are derived from the bundles which are kept in sync by the
+        // bundles supplier and hence, the bundles need not be retrieved once again
+        return snapshotBundles().thenCompose(this::retrieveBundlesIfEmpty)
+                                // the snapshots complete on the FX application thread
+                                .thenCompose(bundles -> executor.runAsync(() -> update(bundles)));
+    }
+
+    private CompletableFuture<List<XBundleDTO>> retrieveBundlesIfEmpty(final List<XBundleDTO> bundles) {
+        if (!bundles.isEmpty()) {
+            return CompletableFuture.completedFuture(bundles);
+        }
+        return executor.runAsync(bundlesSupplier::retrieve).thenCompose(v -> snapshotBundles());
+    }
+
+    private synchronized void update(final List<XBundleDTO> bundles) {
+        packages.setAll(preparePackages(bundles))
+                .thenRun(() -> RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_PACKAGES_TOPIC));
         logger.atInfo().log("Packages info retrieved successfully");
     }
 
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<List<XBundleDTO>> snapshotBundles() {
+        return (CompletableFuture<List<XBundleDTO>>) bundlesSupplier.snapshot();
+    }
+
     @Override
     public ObservableList<?> supply() {
-        return packages;
+        return packages.list();
     }
 
     @Override
     public void handleEvent(final Event event) {
         if (AGENT_DISCONNECTED_EVENT_TOPIC.equals(event.getTopic())) {
-            threadSync.asyncExec(packages::clear);
+            packages.clear();
             return;
         }
-        executor.runAsync(this::retrieve);
+        executor.runAsync(this::retrieveAsync);
     }
 
     private synchronized ObservableList<PackageDTO> preparePackages(final List<XBundleDTO> bundles) {
@@ -19,10 +19,12 @@ import static com.osgifx.console.data.supplier.PropertiesInfoSupplier.PROPERTIES
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_PROPERTIES_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.LoggerFactory;
@@ -35,7 +37,10 @@ import org.osgi.service.event.EventAdmin;
 import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
+import com.osgifx.console.agent.Agent;
 import com.osgifx.console.agent.dto.XPropertyDTO;
+import com.osgifx.console.data.manager.AgentRequestCoalescer;
+import com.osgifx.console.data.manager.FxListUpdater;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
 import com.osgifx.console.supervisor.Supervisor;
 
@@ -50,43 +55,56 @@ public final class PropertiesInfoSupplier implements RuntimeInfoSupplier, EventH
     public static final String PROPERTIES_ID = "properties";
 
     @Reference
-    private LoggerFactory       factory;
+    private LoggerFactory         factory;
+    @Reference
+    private EventAdmin            eventAdmin;
     @Reference
-    private EventAdmin          eventAdmin;
+    private ThreadSynchronize     threadSync;
     @Reference
-    private ThreadSynchronize   threadSync;
+    private AgentRequestCoalescer coalescer;
     @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
-    private volatile Supervisor supervisor;
-    private FluentLogger        logger;
+    private volatile Supervisor   supervisor;
+    private FluentLogger          logger;
 
-    private final ObservableList<XPropertyDTO> properties = observableArrayList();
+    private FxListUpdater<XPropertyDTO> properties;
 
     @Activate
     void activate() {
-        logger = FluentLogger.of(factory.createLogger(getClass().getName()));
+        logger     = FluentLogger.of(factory.createLogger(getClass().getName()));
+        properties = new FxListUpdater<>(threadSync);
     }
 
     @Override
-    public synchronized void retrieve() {
+    public void retrieve() {
+        retrieveAsync().join();
+    }
+
+    @Override
+    public CompletableFuture<Void> retrieveAsync() {
         logger.atInfo().log("Retrieving properties info from remote runtime");
-        final var agent = supervisor.getAgent();
+        final var agent = supervisor.getAsyncAgent();
         if (agent == null) {
             logger.atWarning().log("Agent not connected");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        properties.setAll(makeNullSafe(agent.getAllProperties()));
-        RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_PROPERTIES_TOPIC);
+        return coalescer.getAsync("getAllProperties", () -> agent.call(Agent::getAllProperties))
+                        .thenAccept(this::update);
+    }
+
+    private synchronized void update(final Collection<XPropertyDTO> result) {
+        properties.setAll(makeNullSafe(result))
+                  .thenRun(() -> RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_PROPERTIES_TOPIC));
         logger.atInfo().log("Properties info retrieved successfully");
     }
 
     @Override
     public ObservableList<?> supply() {
-        return properties;
+        return properties.list();
     }
 
     @Override
     public void handleEvent(final Event event) {
-        threadSync.asyncExec(properties::clear);
+        properties.clear();
     }
 
 }
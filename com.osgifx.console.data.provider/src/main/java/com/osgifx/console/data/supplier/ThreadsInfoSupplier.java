@@ -19,10 +19,12 @@ import static com.osgifx.console.data.supplier.ThreadsInfoSupplier.THREADS_ID;
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_THREADS_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.LoggerFactory;
@@ -35,7 +37,10 @@ import org.osgi.service.event.EventAdmin;
 import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
+import com.osgifx.console.agent.Agent;
 import com.osgifx.console.agent.dto.XThreadDTO;
+import com.osgifx.console.data.manager.AgentRequestCoalescer;
+import com.osgifx.console.data.manager.FxListUpdater;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
 import com.osgifx.console.supervisor.Supervisor;
 
@@ -50,42 +55,54 @@ public final class ThreadsInfoSupplier implements RuntimeInfoSupplier, EventHand
     public static final String THREADS_ID = "threads";
 
     @Reference
-    private LoggerFactory       factory;
+    private LoggerFactory         factory;
+    @Reference
+    private EventAdmin            eventAdmin;
     @Reference
-    private EventAdmin          eventAdmin;
+    private ThreadSynchronize     threadSync;
     @Reference
-    private ThreadSynchronize   threadSync;
+    private AgentRequestCoalescer coalescer;
     @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
-    private volatile Supervisor supervisor;
-    private FluentLogger        logger;
+    private volatile Supervisor   supervisor;
+    private FluentLogger          logger;
 
-    private final ObservableList<XThreadDTO> threads = observableArrayList();
+    private FxListUpdater<XThreadDTO> threads;
 
     @Activate
     void activate() {
-        logger = FluentLogger.of(factory.createLogger(getClass().getName()));
+        logger  = FluentLogger.of(factory.createLogger(getClass().getName()));
+        threads = new FxListUpdater<>(threadSync);
     }
 
     @Override
-    public synchronized void retrieve() {
+    public void retrieve() {
+        retrieveAsync().join();
+    }
+
+    @Override
+    public CompletableFuture<Void> retrieveAsync() {
         logger.atInfo().log("Retrieving threads info from remote runtime");
-        final var agent = supervisor.getAgent();
+        final var agent = supervisor.getAsyncAgent();
         if (agent == null) {
             logger.atWarning().log("Agent not connected");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        threads.setAll(makeNullSafe(agent.getAllThreads()));
-        RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_THREADS_TOPIC);
+        return coalescer.getAsync("getAllThreads", () -> agent.call(Agent::getAllThreads)).thenAccept(this::update);
+    }
+
+    private synchronized void update(final Collection<XThreadDTO> result) {
+        threads.setAll(makeNullSafe(result))
+               .thenRun(() -> RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_THREADS_TOPIC));
         logger.atInfo().log("Threads info retrieved successfully");
     }
 
     @Override
     public ObservableList<?> supply() {
-        return threads;
+        return threads.list();
     }
 
     @Override
     public void handleEvent(final Event event) {
-        threadSync.asyncExec(threads::clear);
+        threads.clear();
     }
 }
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.smartgraph.graph;
+
+import java.util.Collection;
+
+/**
+ * Implementation of a digraph that adheres to the {@link Digraph} interface and
+ * stores the inbound and outbound edges of every vertex (adjacency list). <br>
+ * See {@link GraphAdjacencyList} for the complexity and the concurrency of the
+ * operations. <br>
+ * Does not allow duplicates of stored elements through <b>equals</b> criteria.
+ *
+ * @param <V> Type of element stored at a vertex
+ * @param <E> Type of element stored at an edge
+ */
+public class DigraphAdjacencyList<V, E> extends GraphAdjacencyList<V, E> implements Digraph<V, E> {
+
+    @Override
+    public Collection<Edge<E, V>> incidentEdges(final Vertex<V> inbound) throws InvalidVertexException {
+        return inboundEdgesOf(inbound);
+    }
+
+    @Override
+    public Collection<Edge<E, V>> outboundEdges(final Vertex<V> outbound) throws InvalidVertexException {
+        return outboundEdgesOf(outbound);
+    }
+
+    @Override
+    public boolean areAdjacent(final Vertex<V> outbound, final Vertex<V> inbound) throws InvalidVertexException {
+        // we allow loops, so we do not check if outbound == inbound
+        return existsEdgeBetween(outbound, inbound);
+    }
+
+}
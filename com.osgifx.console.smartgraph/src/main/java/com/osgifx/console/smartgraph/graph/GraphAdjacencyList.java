@@ -0,0 +1,396 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.smartgraph.graph;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * ADT Graph implementation that stores the incident edges of every vertex
+ * (adjacency list). <br>
+ * In contrast to {@link GraphEdgeList}, the incident edges of a vertex and the
+ * adjacency of two vertices are looked up without iterating over all edges of
+ * the graph. Queries share a read lock, so that they do not contend with each
+ * other, whereas modifications are exclusive. <br>
+ * Does not allow duplicates of stored elements through <b>equals</b> criteria.
+ *
+ * @param <V> Type of element stored at a vertex
+ * @param <E> Type of element stored at an edge
+ */
+public class GraphAdjacencyList<V, E> implements Graph<V, E> {
+
+    /*
+     * inner classes are defined at the end of the class, so are the auxiliary
+     * methods
+     */
+    private final Map<V, MyVertex> vertices;
+    private final Map<E, MyEdge>   edges;
+    private final ReadWriteLock    lock;
+
+    /**
+     * Creates a empty graph.
+     */
+    public GraphAdjacencyList() {
+        vertices = Maps.newHashMap();
+        edges    = Maps.newHashMap();
+        lock     = new ReentrantReadWriteLock();
+    }
+
+    @Override
+    public int numVertices() {
+        return read(vertices::size);
+    }
+
+    @Override
+    public int numEdges() {
+        return read(edges::size);
+    }
+
+    @Override
+    public Collection<Vertex<V>> vertices() {
+        return read(() -> Lists.newArrayList(vertices.values()));
+    }
+
+    @Override
+    public Collection<Edge<E, V>> edges() {
+        return read(() -> Lists.newArrayList(edges.values()));
+    }
+
+    @Override
+    public Collection<Edge<E, V>> incidentEdges(final Vertex<V> v) throws InvalidVertexException {
+        return read(() -> {
+            final var vertex = checkVertex(v);
+            // a set, so that loops are not returned twice
+            final Set<Edge<E, V>> incidentEdges = Sets.newLinkedHashSet(vertex.outbound);
+            incidentEdges.addAll(vertex.inbound);
+            return Lists.newArrayList(incidentEdges);
+        });
+    }
+
+    @Override
+    public Vertex<V> opposite(final Vertex<V> v,
+                              final Edge<E, V> e) throws InvalidVertexException, InvalidEdgeException {
+        return read(() -> {
+            checkVertex(v);
+            final var edge = checkEdge(e);
+            if (!edge.contains(v)) {
+                return null; /* this edge does not connect vertex v */
+            }
+            if (edge.vertexOutbound == v) {
+                return edge.vertexInbound;
+            }
+            return edge.vertexOutbound;
+        });
+    }
+
+    @Override
+    public boolean areAdjacent(final Vertex<V> u, final Vertex<V> v) throws InvalidVertexException {
+        return read(() -> {
+            // we allow loops, so we do not check if u == v
+            final var first  = checkVertex(u);
+            final var second = checkVertex(v);
+            return first.successors.containsKey(second) || second.successors.containsKey(first);
+        });
+    }
+
+    @Override
+    public Vertex<V> insertVertex(final V vElement) throws InvalidVertexException {
+        return write(() -> {
+            if (vertices.containsKey(vElement)) {
+                throw new InvalidVertexException("There's already a vertex with this element.");
+            }
+            final var newVertex = new MyVertex(vElement);
+            vertices.put(vElement, newVertex);
+            return newVertex;
+        });
+    }
+
+    @Override
+    public Edge<E, V> insertEdge(final Vertex<V> u,
+                                 final Vertex<V> v,
+                                 final E edgeElement) throws InvalidVertexException, InvalidEdgeException {
+        return write(() -> {
+            if (edges.containsKey(edgeElement)) {
+                throw new InvalidEdgeException("There's already an edge with this element.");
+            }
+            return addEdge(checkVertex(u), checkVertex(v), edgeElement);
+        });
+    }
+
+    @Override
+    public Edge<E, V> insertEdge(final V vElement1,
+                                 final V vElement2,
+                                 final E edgeElement) throws InvalidVertexException, InvalidEdgeException {
+        return write(() -> {
+            if (edges.containsKey(edgeElement)) {
+                throw new InvalidEdgeException("There's already an edge with this element.");
+            }
+            final var outVertex = vertices.get(vElement1);
+            if (outVertex == null) {
+                throw new InvalidVertexException("No vertex contains " + vElement1);
+            }
+            final var inVertex = vertices.get(vElement2);
+            if (inVertex == null) {
+                throw new InvalidVertexException("No vertex contains " + vElement2);
+            }
+            return addEdge(outVertex, inVertex, edgeElement);
+        });
+    }
+
+    @Override
+    public V removeVertex(final Vertex<V> v) throws InvalidVertexException {
+        return write(() -> {
+            final var vertex = checkVertex(v);
+
+            // remove incident edges
+            Lists.newArrayList(vertex.outbound).forEach(this::deleteEdge);
+            Lists.newArrayList(vertex.inbound).forEach(this::deleteEdge);
+            vertices.remove(vertex.element);
+            return vertex.element;
+        });
+    }
+
+    @Override
+    public E removeEdge(final Edge<E, V> e) throws InvalidEdgeException {
+        return write(() -> {
+            final var edge = checkEdge(e);
+            deleteEdge(edge);
+            return edge.element;
+        });
+    }
+
+    @Override
+    public V replace(final Vertex<V> v, final V newElement) throws InvalidVertexException {
+        return write(() -> {
+            if (vertices.containsKey(newElement)) {
+                throw new InvalidVertexException("There's already a vertex with this element.");
+            }
+            final var vertex     = checkVertex(v);
+            final var oldElement = vertex.element;
+
+            vertices.remove(oldElement);
+            vertex.element = newElement;
+            vertices.put(newElement, vertex);
+            return oldElement;
+        });
+    }
+
+    @Override
+    public E replace(final Edge<E, V> e, final E newElement) throws InvalidEdgeException {
+        return write(() -> {
+            if (edges.containsKey(newElement)) {
+                throw new InvalidEdgeException("There's already an edge with this element.");
+            }
+            final var edge       = checkEdge(e);
+            final var oldElement = edge.element;
+
+            edges.remove(oldElement);
+            edge.element = newElement;
+            edges.put(newElement, edge);
+            return oldElement;
+        });
+    }
+
+    @Override
+    public String toString() {
+        return read(() -> {
+            final var sb = new StringBuilder(String.format("Graph with %d vertices and %d edges:%n", vertices.size(),
+                    edges.size()));
+
+            sb.append("--- Vertices: \n");
+            for (final Vertex<V> v : vertices.values()) {
+                sb.append("\t").append(v.toString()).append("\n");
+            }
+            sb.append("\n--- Edges: \n");
+            for (final Edge<E, V> e : edges.values()) {
+                sb.append("\t").append(e.toString()).append("\n");
+            }
+            return sb.toString();
+        });
+    }
+
+    /**
+     * Returns the edges of which the specified vertex is the inbound vertex.
+     */
+    Collection<Edge<E, V>> inboundEdgesOf(final Vertex<V> v) throws InvalidVertexException {
+        return read(() -> Lists.<Edge<E, V>> newArrayList(checkVertex(v).inbound));
+    }
+
+    /**
+     * Returns the edges of which the specified vertex is the outbound vertex.
+     */
+    Collection<Edge<E, V>> outboundEdgesOf(final Vertex<V> v) throws InvalidVertexException {
+        return read(() -> Lists.<Edge<E, V>> newArrayList(checkVertex(v).outbound));
+    }
+
+    /**
+     * Checks whether an edge goes from <code>outbound</code> to
+     * <code>inbound</code>.
+     */
+    boolean existsEdgeBetween(final Vertex<V> outbound, final Vertex<V> inbound) throws InvalidVertexException {
+        return read(() -> {
+            final var outVertex = checkVertex(outbound);
+            final var inVertex  = checkVertex(inbound);
+            return outVertex.successors.containsKey(inVertex);
+        });
+    }
+
+    private MyEdge addEdge(final MyVertex outVertex, final MyVertex inVertex, final E edgeElement) {
+        final var newEdge = new MyEdge(edgeElement, outVertex, inVertex);
+
+        edges.put(edgeElement, newEdge);
+        outVertex.outbound.add(newEdge);
+        inVertex.inbound.add(newEdge);
+        outVertex.successors.merge(inVertex, 1, Integer::sum);
+        return newEdge;
+    }
+
+    private void deleteEdge(final MyEdge edge) {
+        final var outVertex = edge.vertexOutbound;
+        final var inVertex  = edge.vertexInbound;
+
+        edges.remove(edge.element);
+        outVertex.outbound.remove(edge);
+        inVertex.inbound.remove(edge);
+        // parallel edges keep the vertices adjacent
+        outVertex.successors.computeIfPresent(inVertex, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    private <T> T read(final Supplier<T> query) {
+        final var readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return query.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <T> T write(final Supplier<T> modification) {
+        final var writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            return modification.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    class MyVertex implements Vertex<V> {
+
+        V element;
+
+        final Set<MyEdge>            outbound   = Sets.newLinkedHashSet();
+        final Set<MyEdge>            inbound    = Sets.newLinkedHashSet();
+        final Map<MyVertex, Integer> successors = Maps.newHashMap();
+
+        public MyVertex(final V element) {
+            this.element = element;
+        }
+
+        @Override
+        public V element() {
+            return element;
+        }
+
+        @Override
+        public String toString() {
+            return "Vertex{" + element + '}';
+        }
+    }
+
+    class MyEdge implements Edge<E, V> {
+
+        E              element;
+        final MyVertex vertexOutbound;
+        final MyVertex vertexInbound;
+
+        public MyEdge(final E element, final MyVertex vertexOutbound, final MyVertex vertexInbound) {
+            this.element        = element;
+            this.vertexOutbound = vertexOutbound;
+            this.vertexInbound  = vertexInbound;
+        }
+
+        @Override
+        public E element() {
+            return element;
+        }
+
+        public boolean contains(final Vertex<V> v) {
+            return vertexOutbound == v || vertexInbound == v;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Vertex<V>[] vertices() {
+            final var vertices = new Vertex[2];
+            vertices[0] = vertexOutbound;
+            vertices[1] = vertexInbound;
+
+            return vertices;
+        }
+
+        @Override
+        public String toString() {
+            return "Edge{{" + element + "}, vertexOutbound=" + vertexOutbound.toString() + ", vertexInbound="
+                    + vertexInbound.toString() + '}';
+        }
+    }
+
+    /**
+     * Checks whether a given vertex is valid and belongs to this graph
+     */
+    private MyVertex checkVertex(final Vertex<V> v) throws InvalidVertexException {
+        if (v == null) {
+            throw new InvalidVertexException("Null vertex.");
+        }
+        MyVertex vertex;
+        try {
+            vertex = (MyVertex) v;
+        } catch (final ClassCastException e) {
+            throw new InvalidVertexException("Not a vertex.");
+        }
+        if (vertices.get(vertex.element) != vertex) {
+            throw new InvalidVertexException("Vertex does not belong to this graph.");
+        }
+        return vertex;
+    }
+
+    private MyEdge checkEdge(final Edge<E, V> e) throws InvalidEdgeException {
+        if (e == null) {
+            throw new InvalidEdgeException("Null edge.");
+        }
+        MyEdge edge;
+        try {
+            edge = (MyEdge) e;
+        } catch (final ClassCastException ex) {
+            throw new InvalidEdgeException("Not an edge.");
+        }
+        if (edges.get(edge.element) != edge) {
+            throw new InvalidEdgeException("Edge does not belong to this graph.");
+        }
+        return edge;
+    }
+}
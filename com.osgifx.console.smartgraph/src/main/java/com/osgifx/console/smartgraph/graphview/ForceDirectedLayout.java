@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.smartgraph.graphview;
+
+import static com.osgifx.console.smartgraph.graphview.UtilitiesPoint2D.attractiveFunction;
+import static com.osgifx.console.smartgraph.graphview.UtilitiesPoint2D.repellingFunction;
+
+import java.util.Arrays;
+
+/**
+ * Computes the forces of the automatic layout without touching any JavaFX
+ * node, so that it can be run outside of the JavaFX application thread.
+ * <p>
+ * The attractive forces are only computed between adjacent vertices using
+ * the adjacency lists of the vertices. The repelling forces between all
+ * vertices are approximated using a Barnes-Hut quadtree: a cell which is far
+ * enough from a vertex acts on it with the total number of its vertices at
+ * their center of mass. This reduces the cost of a layout step from O(V^2) to
+ * O(V log V + E).
+ */
+final class ForceDirectedLayout {
+
+    /**
+     * A cell is approximated when its size is smaller than this fraction of its
+     * distance to a vertex
+     */
+    private static final double THETA = 0.8;
+
+    /**
+     * (Nearly) coincident vertices share a cell at this depth instead of
+     * subdividing it any further
+     */
+    private static final int MAX_DEPTH = 32;
+
+    private final double repulsionForce;
+    private final double attractionForce;
+    private final double attractionScale;
+
+    ForceDirectedLayout(final double repulsionForce, final double attractionForce, final double attractionScale) {
+        this.repulsionForce  = repulsionForce;
+        this.attractionForce = attractionForce;
+        this.attractionScale = attractionScale;
+    }
+
+    /**
+     * Computes the force vector of every vertex.
+     *
+     * @param x the x-coordinates of the vertices
+     * @param y the y-coordinates of the vertices
+     * @param adjacency the indices of the adjacent vertices of every vertex
+     * @param forceX the array to store the x-components of the forces in
+     * @param forceY the array to store the y-components of the forces in
+     */
+    void computeForces(final double[] x,
+                       final double[] y,
+                       final int[][] adjacency,
+                       final double[] forceX,
+                       final double[] forceY) {
+        final var count = x.length;
+        if (count == 0) {
+            return;
+        }
+        final var tree  = new QuadTree(x, y);
+        final var force = new double[2];
+        for (var i = 0; i < count; i++) {
+            force[0] = force[1] = 0;
+            tree.repel(i, force);
+            for (final int j : adjacency[i]) {
+                final var dx       = x[j] - x[i];
+                final var dy       = y[j] - y[i];
+                final var distance = Math.sqrt(dx * dx + dy * dy);
+                if (distance > 0) {
+                    final var factor = attractiveFunction(distance, count, attractionForce, attractionScale);
+                    force[0] += dx / distance * factor;
+                    force[1] += dy / distance * factor;
+                }
+            }
+            forceX[i] = force[0];
+            forceY[i] = force[1];
+        }
+    }
+
+    /**
+     * Array based quadtree. Every cell keeps the number of its vertices and the
+     * sum of their coordinates; a leaf additionally keeps its vertices as a
+     * linked list.
+     */
+    private final class QuadTree {
+
+        private static final int NONE = -1;
+
+        private final double[] x;
+        private final double[] y;
+        private final int[]    next;
+
+        private double[] minX;
+        private double[] minY;
+        private double[] size;
+        private double[] sumX;
+        private double[] sumY;
+        private int[]    mass;
+        private int[]    head;
+        private int[]    children;
+        private int      cells;
+
+        QuadTree(final double[] x, final double[] y) {
+            this.x = x;
+            this.y = y;
+            next   = new int[x.length];
+
+            final var capacity = 2 * x.length + 1;
+            minX     = new double[capacity];
+            minY     = new double[capacity];
+            size     = new double[capacity];
+            sumX     = new double[capacity];
+            sumY     = new double[capacity];
+            mass     = new int[capacity];
+            head     = new int[capacity];
+            children = new int[4 * capacity];
+
+            var left   = Double.POSITIVE_INFINITY;
+            var top    = Double.POSITIVE_INFINITY;
+            var right  = Double.NEGATIVE_INFINITY;
+            var bottom = Double.NEGATIVE_INFINITY;
+            for (var i = 0; i < x.length; i++) {
+                left   = Math.min(left, x[i]);
+                top    = Math.min(top, y[i]);
+                right  = Math.max(right, x[i]);
+                bottom = Math.max(bottom, y[i]);
+            }
+            // a little larger, so that the vertices on the right and bottom borders are inside
+            final var extent = Math.max(right - left, bottom - top) + 1;
+            newCell(left, top, extent);
+            for (var i = 0; i < x.length; i++) {
+                insert(i);
+            }
+        }
+
+        void repel(final int vertex, final double[] force) {
+            final var px    = x[vertex];
+            final var py    = y[vertex];
+            final var stack = new int[4 * MAX_DEPTH + 4];
+            var       top   = 0;
+
+            stack[top++] = 0;
+            while (top > 0) {
+                final var cell = stack[--top];
+                if (mass[cell] == 0) {
+                    continue;
+                }
+                if (children[4 * cell] == NONE) {
+                    // leaves are computed exactly
+                    for (var other = head[cell]; other != NONE; other = next[other]) {
+                        if (other != vertex) {
+                            repel(px, py, x[other], y[other], 1, force);
+                        }
+                    }
+                    continue;
+                }
+                final var cx = sumX[cell] / mass[cell];
+                final var cy = sumY[cell] / mass[cell];
+                if (!contains(cell, px, py) && size[cell] < THETA * distance(px, py, cx, cy)) {
+                    repel(px, py, cx, cy, mass[cell], force);
+                } else {
+                    for (var quadrant = 0; quadrant < 4; quadrant++) {
+                        stack[top++] = children[4 * cell + quadrant];
+                    }
+                }
+            }
+        }
+
+        private void repel(final double px,
+                           final double py,
+                           final double qx,
+                           final double qy,
+                           final int count,
+                           final double[] force) {
+            final var distance = distance(px, py, qx, qy);
+            if (distance > 0) {
+                final var factor = -repellingFunction(distance, repulsionForce) * count;
+                force[0] += (qx - px) / distance * factor;
+                force[1] += (qy - py) / distance * factor;
+            }
+        }
+
+        private void insert(final int vertex) {
+            final var px    = x[vertex];
+            final var py    = y[vertex];
+            var       cell  = 0;
+            var       depth = 0;
+            while (true) {
+                mass[cell]++;
+                sumX[cell] += px;
+                sumY[cell] += py;
+                if (children[4 * cell] != NONE) {
+                    cell = children[4 * cell + quadrant(cell, px, py)];
+                    depth++;
+                    continue;
+                }
+                if (head[cell] == NONE || depth == MAX_DEPTH) {
+                    next[vertex] = head[cell];
+                    head[cell]   = vertex;
+                    return;
+                }
+                // split the leaf and move its only vertex down
+                final var other = head[cell];
+                head[cell] = NONE;
+                subdivide(cell);
+                final var child = children[4 * cell + quadrant(cell, x[other], y[other])];
+                mass[child] = 1;
+                sumX[child] = x[other];
+                sumY[child] = y[other];
+                head[child] = other;
+                next[other] = NONE;
+                // the cell has already been updated for the inserted vertex
+                mass[cell]--;
+                sumX[cell] -= px;
+                sumY[cell] -= py;
+            }
+        }
+
+        private void subdivide(final int cell) {
+            final var half = size[cell] / 2;
+            for (var quadrant = 0; quadrant < 4; quadrant++) {
+                final var left  = minX[cell] + ((quadrant & 1) == 0 ? 0 : half);
+                final var top   = minY[cell] + ((quadrant & 2) == 0 ? 0 : half);
+                final var child = newCell(left, top, half);
+                children[4 * cell + quadrant] = child;
+            }
+        }
+
+        private int newCell(final double left, final double top, final double extent) {
+            if (cells == mass.length) {
+                final var capacity = 2 * cells;
+                minX     = Arrays.copyOf(minX, capacity);
+                minY     = Arrays.copyOf(minY, capacity);
+                size     = Arrays.copyOf(size, capacity);
+                sumX     = Arrays.copyOf(sumX, capacity);
+                sumY     = Arrays.copyOf(sumY, capacity);
+                mass     = Arrays.copyOf(mass, capacity);
+                head     = Arrays.copyOf(head, capacity);
+                children = Arrays.copyOf(children, 4 * capacity);
+            }
+            final var cell = cells++;
+            minX[cell] = left;
+            minY[cell] = top;
+            size[cell] = extent;
+            head[cell] = NONE;
+            Arrays.fill(children, 4 * cell, 4 * cell + 4, NONE);
+            return cell;
+        }
+
+        private int quadrant(final int cell, final double px, final double py) {
+            final var half = size[cell] / 2;
+            return (px < minX[cell] + half ? 0 : 1) | (py < minY[cell] + half ? 0 : 2);
+        }
+
+        private boolean contains(final int cell, final double px, final double py) {
+            return px >= minX[cell] && px < minX[cell] + size[cell] && py >= minY[cell]
+                    && py < minY[cell] + size[cell];
+        }
+
+        private double distance(final double px, final double py, final double qx, final double qy) {
+            final var dx = qx - px;
+            final var dy = qy - py;
+            return Math.sqrt(dx * dx + dy * dy);
+        }
+    }
+
+}
@@ -19,21 +19,25 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.base.Verify.verifyNotNull;
 import static com.osgifx.console.smartgraph.graphview.UtilitiesJavaFX.pick;
-import static com.osgifx.console.smartgraph.graphview.UtilitiesPoint2D.attractiveForce;
-import static com.osgifx.console.smartgraph.graphview.UtilitiesPoint2D.repellingForce;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -105,14 +109,12 @@ public class SmartGraphPanel<V, E> extends Pane {
     /*
      * AUTOMATIC LAYOUT RELATED ATTRIBUTES
      */
-    public final BooleanProperty automaticLayoutProperty;
-    private AnimationTimer       timer;
-    private final double         repulsionForce;
-    private final double         attractionForce;
-    private final double         attractionScale;
-
-    // This value was obtained experimentally
-    private static final int AUTOMATIC_LAYOUT_ITERATIONS = 20;
+    public final BooleanProperty              automaticLayoutProperty;
+    private AnimationTimer                    timer;
+    private final ForceDirectedLayout         layout;
+    private final AtomicReference<LayoutStep> computedLayoutStep;
+    private LayoutGraph                       layoutGraph;
+    private CompletableFuture<Void>           layoutTask;
 
     /**
      * Constructs a visualization of the graph referenced by <code>theGraph</code>,
@@ -185,9 +187,10 @@ public class SmartGraphPanel<V, E> extends Pane {
 
         this.edgesWithArrows = this.graphProperties.getUseEdgeArrow();
 
-        this.repulsionForce  = this.graphProperties.getRepulsionForce();
-        this.attractionForce = this.graphProperties.getAttractionForce();
-        this.attractionScale = this.graphProperties.getAttractionScale();
+        this.layout             = new ForceDirectedLayout(this.graphProperties.getRepulsionForce(),
+                                                          this.graphProperties.getAttractionForce(),
+                                                          this.graphProperties.getAttractionScale());
+        this.computedLayoutStep = new AtomicReference<>();
 
         vertexNodes = Maps.newHashMap();
         edgeNodes   = Maps.newHashMap();
@@ -215,18 +218,47 @@ public class SmartGraphPanel<V, E> extends Pane {
                 timer.start();
             } else {
                 timer.stop();
+                computedLayoutStep.set(null);
             }
         });
 
     }
 
+    /**
+     * Moves the vertices by the forces computed for the previous frame and
+     * starts computing the forces for the next frame in the background.
+     * <p>
+     * If the computation of the previous frame has not yet completed, the
+     * vertices stay where they are for this frame.
+     */
     private synchronized void runLayoutIteration() {
-        for (var i = 0; i < AUTOMATIC_LAYOUT_ITERATIONS; i++) {
-            resetForces();
-            computeForces();
-            updateForces();
+        final var step = computedLayoutStep.getAndSet(null);
+        if (step != null) {
+            applyForces(step);
+        }
+        if (layoutTask != null && !layoutTask.isDone()) {
+            return;
+        }
+        if (layoutGraph == null) {
+            layoutGraph = createLayoutGraph();
         }
-        applyForces();
+        final var graph = layoutGraph;
+        final var nodes = graph.nodes();
+        final var x     = new double[nodes.length];
+        final var y     = new double[nodes.length];
+        for (var i = 0; i < nodes.length; i++) {
+            x[i] = nodes[i].getCenterX();
+            y[i] = nodes[i].getCenterY();
+        }
+        layoutTask = CompletableFuture.runAsync(() -> {
+            final var forceX = new double[nodes.length];
+            final var forceY = new double[nodes.length];
+            layout.computeForces(x, y, graph.adjacency(), forceX, forceY);
+            computedLayoutStep.set(new LayoutStep(nodes, forceX, forceY));
+        }).exceptionally(e -> {
+            Logger.getLogger(SmartGraphPanel.class.getName()).log(Level.SEVERE, null, e);
+            return null;
+        });
     }
 
     /**
@@ -342,6 +374,8 @@ public class SmartGraphPanel<V, E> extends Pane {
     }
 
     private synchronized void updateNodes() {
+        // the adjacency of the automatic layout needs to be recreated
+        layoutGraph = null;
         removeNodes();
         insertNodes();
         updateLabels();
@@ -747,60 +781,47 @@ public class SmartGraphPanel<V, E> extends Pane {
     /*
      * AUTOMATIC LAYOUT
      */
-    private void computeForces() {
-        for (final SmartGraphVertexNode<V> v : vertexNodes.values()) {
-            for (final SmartGraphVertexNode<V> other : vertexNodes.values()) {
-                if (v == other) {
-                    continue; // NOP
-                }
-
-                // double k = Math.sqrt(getWidth() * getHeight() / graphVertexMap.size());
-                final var repellingForce = repellingForce(v.getUpdatedPosition(), other.getUpdatedPosition(),
-                        this.repulsionForce);
-
-                double deltaForceX = 0, deltaForceY = 0;
-
-                // compute attractive and reppeling forces
-                // opt to use internal areAdjacent check, because a vertex can be removed from
-                // the underlying graph before we have the chance to remove it from our
-                // internal data structure
-                if (areAdjacent(v, other)) {
-
-                    final var attractiveForce = attractiveForce(v.getUpdatedPosition(), other.getUpdatedPosition(),
-                            vertexNodes.size(), this.attractionForce, this.attractionScale);
-
-                    deltaForceX = attractiveForce.getX() + repellingForce.getX();
-                    deltaForceY = attractiveForce.getY() + repellingForce.getY();
-                } else {
-                    deltaForceX = repellingForce.getX();
-                    deltaForceY = repellingForce.getY();
-                }
-
-                v.addForceVector(deltaForceX, deltaForceY);
+    private LayoutGraph createLayoutGraph() {
+        final var                                  nodes   = vertexNodes.values().toArray(SmartGraphVertexNode[]::new);
+        final Map<SmartGraphVertexNode<V>, Integer> indices = new IdentityHashMap<>();
+        for (var i = 0; i < nodes.length; i++) {
+            indices.put(nodes[i], i);
+        }
+        final List<Set<Integer>> adjacentNodes = new ArrayList<>();
+        for (var i = 0; i < nodes.length; i++) {
+            adjacentNodes.add(new LinkedHashSet<>());
+        }
+        // the internal connections are used, because a vertex can be removed from
+        // the underlying graph before we have the chance to remove it from our
+        // internal data structure
+        for (final Pair<Vertex<V>, Vertex<V>> connection : connections.values()) {
+            final var u = indices.get(vertexNodes.get(connection.getLeft()));
+            final var v = indices.get(vertexNodes.get(connection.getRight()));
+            if (u != null && v != null && !u.equals(v)) {
+                adjacentNodes.get(u).add(v);
+                adjacentNodes.get(v).add(u);
             }
         }
+        final var adjacency = new int[nodes.length][];
+        for (var i = 0; i < nodes.length; i++) {
+            adjacency[i] = adjacentNodes.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new LayoutGraph(nodes, adjacency);
     }
 
-    private boolean areAdjacent(final SmartGraphVertexNode<V> v, final SmartGraphVertexNode<V> u) {
-        return v.isAdjacentTo(u);
-    }
-
-    private void updateForces() {
-        vertexNodes.values().forEach(v -> {
+    private void applyForces(final LayoutStep step) {
+        final var nodes = step.nodes();
+        for (var i = 0; i < nodes.length; i++) {
+            final var v = nodes[i];
+            // the vertex might have been removed in the meantime
+            if (v.getParent() != this) {
+                continue;
+            }
+            v.resetForces();
+            v.addForceVector(step.forceX()[i], step.forceY()[i]);
             v.updateDelta();
-        });
-    }
-
-    private void applyForces() {
-        vertexNodes.values().forEach(v -> {
             v.moveFromForces();
-        });
-    }
-
-    private void resetForces() {
-        vertexNodes.values().forEach(v -> {
-            v.resetForces();
-        });
+        }
     }
 
     private int getTotalEdgesBetween(final Vertex<V> v, final Vertex<V> u) {
@@ -1076,4 +1097,17 @@ public class SmartGraphPanel<V, E> extends Pane {
         return "vertex";
     }
 
+    /**
+     * The vertices of the automatic layout and the indices of their adjacent
+     * vertices
+     */
+    private record LayoutGraph(SmartGraphVertexNode[] nodes, int[][] adjacency) {
+    }
+
+    /**
+     * The forces computed for the vertices of a {@link LayoutGraph}
+     */
+    private record LayoutStep(SmartGraphVertexNode[] nodes, double[] forceX, double[] forceY) {
+    }
+
 }
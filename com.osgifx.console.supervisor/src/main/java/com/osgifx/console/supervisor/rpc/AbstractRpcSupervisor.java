@@ -59,8 +59,9 @@ import in.bytehue.messaging.mqtt5.api.MqttMessageConstants;
 public abstract class AbstractRpcSupervisor<S, A> {
 
     @interface MqttConfig {
-        final int MAX_CONCURRENT_MSG_TO_SEND    = 5;
-        final int MAX_CONCURRENT_MSG_TO_RECEIVE = 5;
+        // the MQTT flow control must not throttle the RPC request window and the fragments of large responses
+        final int MAX_CONCURRENT_MSG_TO_SEND    = 64;
+        final int MAX_CONCURRENT_MSG_TO_RECEIVE = 64;
 
         String id();
 
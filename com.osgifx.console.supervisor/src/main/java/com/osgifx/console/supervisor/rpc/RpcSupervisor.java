@@ -21,6 +21,7 @@ import static com.osgifx.console.supervisor.Supervisor.RpcType.SOCKET_RPC;
 import static com.osgifx.console.supervisor.rpc.RpcSupervisor.CONDITION_ID_VALUE;
 import static com.osgifx.console.supervisor.rpc.RpcSupervisor.MQTT_CONNECTION_LISTENER_FILTER_PROP;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 import static org.osgi.service.condition.Condition.CONDITION_ID;
@@ -31,7 +32,10 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import org.apache.aries.component.dsl.OSGi;
 import org.apache.aries.component.dsl.OSGiResult;
@@ -50,12 +54,14 @@ import org.osgi.service.messaging.MessageSubscription;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.google.mu.util.Substring;
 import com.hivemq.client.mqtt.lifecycle.MqttClientConnectedContext;
 import com.hivemq.client.mqtt.lifecycle.MqttClientConnectedListener;
 import com.hivemq.client.mqtt.lifecycle.MqttClientDisconnectedContext;
 import com.hivemq.client.mqtt.lifecycle.MqttClientDisconnectedListener;
 import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.AsyncAgent;
 import com.osgifx.console.agent.dto.XEventDTO;
 import com.osgifx.console.agent.dto.XLogEntryDTO;
 import com.osgifx.console.agent.rpc.mqtt.MqttRPC;
@@ -66,6 +72,8 @@ import com.osgifx.console.agent.rpc.mqtt.api.Mqtt5Subscriber;
 import com.osgifx.console.supervisor.EventListener;
 import com.osgifx.console.supervisor.LogEntryListener;
 import com.osgifx.console.supervisor.MqttConnection;
+import com.osgifx.console.supervisor.RpcStatistics;
+import com.osgifx.console.supervisor.RpcStatistics.Latency;
 import com.osgifx.console.supervisor.SocketConnection;
 import com.osgifx.console.supervisor.Supervisor;
 
@@ -90,6 +98,8 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
     private final List<EventListener>    eventListeners    = Lists.newCopyOnWriteArrayList();
     private final List<LogEntryListener> logEntryListeners = Lists.newCopyOnWriteArrayList();
 
+    private final AsyncAgent asyncAgent = new RemoteAsyncAgent();
+
     @Reference
     private LoggerFactory factory;
 
@@ -134,10 +144,41 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
         return remoteRPC instanceof MqttRPC<Supervisor, Agent> ? MQTT_RPC : SOCKET_RPC;
     }
 
+    @Override
+    public AsyncAgent getAsyncAgent() {
+        return getAgent() == null ? null : asyncAgent;
+    }
+
+    @Override
+    public boolean isNegotiated() {
+        return remoteRPC != null && remoteRPC.isNegotiated();
+    }
+
+    @Override
+    public RpcStatistics getRpcStatistics() {
+        if (!(remoteRPC instanceof final MqttRPC<Supervisor, Agent> mqttRPC)) {
+            return RpcStatistics.EMPTY;
+        }
+        final Map<String, Latency> latencies = new TreeMap<>();
+        mqttRPC.getLatencyHistograms().forEach((method, histogram) -> {
+            // @formatter:off
+            final var latency = new Latency(histogram.count(),
+                                            NANOSECONDS.toMicros(histogram.meanInNanos()),
+                                            histogram.percentileInMicros(50),
+                                            histogram.percentileInMicros(90),
+                                            histogram.percentileInMicros(99));
+            // @formatter:on
+            latencies.put(method, latency);
+        });
+        return new RpcStatistics(mqttRPC.getWindowSize(), latencies);
+    }
+
     @Override
     public void connect(final SocketConnection socketConnection) throws Exception {
         checkNotNull(socketConnection, "'socketConnection' cannot be null");
         connectToSocket(Agent.class, this, socketConnection);
+        enableBatchedNotifications();
+        updateEventSubscription();
     }
 
     @Override
@@ -156,6 +197,9 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
                                               MQTT_CONDITION_ID);
             // @formatter:on
             mqttConnectionPromise.get(mqttConnection.timeout(), MILLISECONDS);
+            enableBatchedNotifications();
+            // listeners registered before this session have not been pushed to the new agent yet
+            updateEventSubscription();
 
             final var lwtTopic = mqttConnection.lwtTopic();
             if (subscriber != null && !Strings.isNullOrEmpty(lwtTopic)) {
@@ -203,6 +247,18 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
         logEntryListeners.forEach(listener -> listener.logged(logEvent));
     }
 
+    @Override
+    public void onOSGiEvents(final List<XEventDTO> events) {
+        checkNotNull(events, "'events' cannot be null");
+        events.forEach(this::onOSGiEvent);
+    }
+
+    @Override
+    public void onLogEntries(final List<XLogEntryDTO> logEvents) {
+        checkNotNull(logEvents, "'logEvents' cannot be null");
+        logEvents.forEach(this::logged);
+    }
+
     @Override
     public void addOSGiEventListener(final EventListener eventListener) {
         checkNotNull(eventListener, "'eventListener' cannot be null");
@@ -210,6 +266,7 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
             return;
         }
         eventListeners.add(eventListener);
+        updateEventSubscription();
         sendEvent(EVENT_LISTENER_ADDED_EVENT_TOPIC);
     }
 
@@ -217,9 +274,18 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
     public void removeOSGiEventListener(final EventListener eventListener) {
         checkNotNull(eventListener, "'eventListener' cannot be null");
         eventListeners.remove(eventListener);
+        updateEventSubscription();
         sendEvent(EVENT_LISTENER_REMOVED_EVENT_TOPIC);
     }
 
+    @Override
+    public void updateOSGiEventListener(final EventListener eventListener) {
+        checkNotNull(eventListener, "'eventListener' cannot be null");
+        if (eventListeners.contains(eventListener)) {
+            updateEventSubscription();
+        }
+    }
+
     @Override
     public void addOSGiLogListener(final LogEntryListener logEntryListener) {
         checkNotNull(logEntryListener, "'logEntryListener' cannot be null");
@@ -252,6 +318,14 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
         }
     }
 
+    private void enableBatchedNotifications() {
+        // older agents silently ignore this call and keep pushing one by one
+        final var agent = getAgent();
+        if (agent != null) {
+            agent.enableBatchedNotifications();
+        }
+    }
+
     public void setStdout(final Appendable out) throws Exception {
         stdout = out;
     }
@@ -317,6 +391,7 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
     @Override
     public void disconnect() throws Exception {
         if (isOpen()) {
+            logger.atInfo().log("Agent communication statistics: %s", getRpcStatistics());
             getAgent().disconnect();
             remoteRPC.close();
         }
@@ -333,6 +408,43 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
         }
     }
 
+    /**
+     * Pushes the union of the topics and filters of all registered listeners to
+     * the remote agent such that it only sends the events that are actually
+     * consumed. The listener topics are still matched locally as a listener only
+     * receives the events of its own topics.
+     */
+    private void updateEventSubscription() {
+        final var agent = getAgent();
+        if (agent == null) {
+            return;
+        }
+        final Set<String>  topics     = Sets.newHashSet();
+        final List<String> filters    = Lists.newArrayList();
+        var                unfiltered = false;
+        for (final EventListener listener : eventListeners) {
+            topics.addAll(listener.topics());
+            final var filter = listener.filter();
+            if (Strings.isNullOrEmpty(filter)) {
+                unfiltered = true;
+            } else {
+                filters.add(filter.startsWith("(") ? filter : "(" + filter + ")");
+            }
+        }
+        if (topics.contains("*")) {
+            topics.retainAll(Set.of("*"));
+        }
+        String filter = null;
+        if (!unfiltered && !filters.isEmpty()) {
+            filter = filters.size() == 1 ? filters.get(0) : "(|" + String.join("", filters) + ")";
+        }
+        try {
+            agent.updateEventSubscription(topics, filter);
+        } catch (final Exception e) {
+            logger.atWarning().withException(e).log("Cannot update the event subscription of the remote agent");
+        }
+    }
+
     private static boolean matchTopic(final String receivedEventTopic, final Collection<String> listenerTopics) {
         if (listenerTopics.contains("*")) {
             return true;
@@ -363,4 +475,11 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
         eventAdmin.postEvent(event);
     }
 
+    private final class RemoteAsyncAgent implements AsyncAgent {
+        @Override
+        public <T> CompletableFuture<T> call(final Function<Agent, T> call) {
+            return remoteRPC.callAsync(call);
+        }
+    }
+
 }
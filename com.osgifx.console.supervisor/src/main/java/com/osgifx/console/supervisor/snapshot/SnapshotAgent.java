@@ -18,6 +18,7 @@ package com.osgifx.console.supervisor.snapshot;
 import static com.osgifx.console.supervisor.snapshot.SnapshotAgent.PID;
 
 import java.io.FileReader;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -38,6 +39,7 @@ import com.osgifx.console.agent.dto.ConfigValue;
 import com.osgifx.console.agent.dto.DmtDataType;
 import com.osgifx.console.agent.dto.RuntimeDTO;
 import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.agent.dto.XBundleDeltaDTO;
 import com.osgifx.console.agent.dto.XBundleLoggerContextDTO;
 import com.osgifx.console.agent.dto.XComponentDTO;
 import com.osgifx.console.agent.dto.XConfigurationDTO;
@@ -45,6 +47,7 @@ import com.osgifx.console.agent.dto.XDmtNodeDTO;
 import com.osgifx.console.agent.dto.XHealthCheckDTO;
 import com.osgifx.console.agent.dto.XHealthCheckResultDTO;
 import com.osgifx.console.agent.dto.XHeapUsageDTO;
+import com.osgifx.console.agent.dto.XHeapdumpDTO;
 import com.osgifx.console.agent.dto.XHttpComponentDTO;
 import com.osgifx.console.agent.dto.XMemoryInfoDTO;
 import com.osgifx.console.agent.dto.XPropertyDTO;
@@ -152,6 +155,11 @@ public final class SnapshotAgent implements Agent {
         return snapshotDTO.bundles;
     }
 
+    @Override
+    public XBundleDeltaDTO getBundleDelta(final String epoch, final long revision) {
+        return null;
+    }
+
     @Override
     public List<XComponentDTO> getAllComponents() {
         return snapshotDTO.components;
@@ -182,6 +190,12 @@ public final class SnapshotAgent implements Agent {
         return snapshotDTO.dmtNodes;
     }
 
+    @Override
+    public XDmtNodeDTO readDmtNode(final String uri, final int depth, final int offset, final int limit) {
+        final var node = findDmtNode(snapshotDTO.dmtNodes, uri);
+        return node == null ? null : pageDmtNode(node, depth, offset, limit);
+    }
+
     @Override
     public XResultDTO updateDmtNode(final String uri, final Object value, final DmtDataType format) {
         return null;
@@ -202,6 +216,11 @@ public final class SnapshotAgent implements Agent {
         return null;
     }
 
+    @Override
+    public Map<Long, XResultDTO> enableComponentsById(final long... ids) {
+        return Collections.emptyMap();
+    }
+
     @Override
     public XResultDTO disableComponentByName(final String name) {
         return null;
@@ -212,6 +231,11 @@ public final class SnapshotAgent implements Agent {
         return null;
     }
 
+    @Override
+    public Map<Long, XResultDTO> disableComponentsById(final long... ids) {
+        return Collections.emptyMap();
+    }
+
     @Override
     public Map<String, XResultDTO> createOrUpdateConfigurations(final Map<String, Map<String, Object>> configurations) {
         return Collections.emptyMap();
@@ -317,6 +341,22 @@ public final class SnapshotAgent implements Agent {
         return null;
     }
 
+    @Override
+    public XHeapdumpDTO captureHeapdump() throws Exception {
+        return null;
+    }
+
+    @Override
+    public byte[] readHeapdumpChunk(final String id, final long offset, final int length, final boolean compress)
+            throws Exception {
+        return null;
+    }
+
+    @Override
+    public XResultDTO deleteHeapdump(final String id) {
+        return null;
+    }
+
     @Override
     public void gc() {
         // nothing to do
@@ -352,4 +392,51 @@ public final class SnapshotAgent implements Agent {
         // nothing to do
     }
 
+    @Override
+    public void updateEventSubscription(final Collection<String> topics, final String filter) {
+        // nothing to do
+    }
+
+    @Override
+    public void enableBatchedNotifications() {
+        // nothing to do
+    }
+
+    private XDmtNodeDTO findDmtNode(final XDmtNodeDTO node, final String uri) {
+        if (node == null || uri.equals(node.uri)) {
+            return node;
+        }
+        for (final XDmtNodeDTO child : node.children) {
+            if (uri.startsWith(child.uri)) {
+                final var found = findDmtNode(child, uri);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private XDmtNodeDTO pageDmtNode(final XDmtNodeDTO node, final int depth, final int offset, final int limit) {
+        final var page = new XDmtNodeDTO();
+
+        page.uri        = node.uri;
+        page.value      = node.value;
+        page.format     = node.format;
+        page.createdAt  = node.createdAt;
+        page.childCount = node.children.size();
+        page.children   = new ArrayList<>();
+
+        if (depth > 0) {
+            // @formatter:off
+            node.children.stream()
+                         .skip(Math.max(offset, 0))
+                         .limit(Math.max(limit, 0))
+                         .map(child -> pageDmtNode(child, depth - 1, 0, limit))
+                         .forEach(page.children::add);
+            // @formatter:on
+        }
+        return page;
+    }
+
 }
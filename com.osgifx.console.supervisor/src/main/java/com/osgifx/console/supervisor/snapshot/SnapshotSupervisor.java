@@ -19,6 +19,9 @@ import static com.osgifx.console.supervisor.snapshot.SnapshotSupervisor.CONDITIO
 import static org.osgi.service.condition.Condition.CONDITION_ID;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.LoggerFactory;
@@ -30,11 +33,13 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.propertytypes.SatisfyingConditionTarget;
 
 import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.AsyncAgent;
 import com.osgifx.console.agent.dto.XEventDTO;
 import com.osgifx.console.agent.dto.XLogEntryDTO;
 import com.osgifx.console.supervisor.EventListener;
 import com.osgifx.console.supervisor.LogEntryListener;
 import com.osgifx.console.supervisor.MqttConnection;
+import com.osgifx.console.supervisor.RpcStatistics;
 import com.osgifx.console.supervisor.SocketConnection;
 import com.osgifx.console.supervisor.Supervisor;
 
@@ -105,6 +110,16 @@ public final class SnapshotSupervisor implements Supervisor {
         logger.atInfo().log(NOT_IMPLEMENTED_LOG);
     }
 
+    @Override
+    public void onOSGiEvents(final List<XEventDTO> events) {
+        logger.atInfo().log(NOT_IMPLEMENTED_LOG);
+    }
+
+    @Override
+    public void onLogEntries(final List<XLogEntryDTO> events) {
+        logger.atInfo().log(NOT_IMPLEMENTED_LOG);
+    }
+
     @Override
     public void addOSGiEventListener(final EventListener eventListener) {
         logger.atInfo().log(NOT_IMPLEMENTED_LOG);
@@ -115,6 +130,11 @@ public final class SnapshotSupervisor implements Supervisor {
         logger.atInfo().log(NOT_IMPLEMENTED_LOG);
     }
 
+    @Override
+    public void updateOSGiEventListener(final EventListener eventListener) {
+        logger.atInfo().log(NOT_IMPLEMENTED_LOG);
+    }
+
     @Override
     public void addOSGiLogListener(final LogEntryListener logEntryListener) {
         logger.atInfo().log(NOT_IMPLEMENTED_LOG);
@@ -130,4 +150,34 @@ public final class SnapshotSupervisor implements Supervisor {
         return agent;
     }
 
+    @Override
+    public AsyncAgent getAsyncAgent() {
+        final var snapshotAgent = agent;
+        if (snapshotAgent == null) {
+            return null;
+        }
+        // the snapshot is held in memory and hence, the calls are served right away
+        return new AsyncAgent() {
+            @Override
+            public <T> CompletableFuture<T> call(final Function<Agent, T> call) {
+                try {
+                    return CompletableFuture.completedFuture(call.apply(snapshotAgent));
+                } catch (final Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean isNegotiated() {
+        // the snapshot agent implements the current agent API
+        return true;
+    }
+
+    @Override
+    public RpcStatistics getRpcStatistics() {
+        return RpcStatistics.EMPTY;
+    }
+
 }
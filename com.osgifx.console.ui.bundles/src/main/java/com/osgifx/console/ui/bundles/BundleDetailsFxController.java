@@ -15,8 +15,6 @@
  ******************************************************************************/
 package com.osgifx.console.ui.bundles;
 
-import java.text.CharacterIterator;
-import java.text.StringCharacterIterator;
 import java.util.Date;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -36,6 +34,7 @@ import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.agent.dto.XBundleInfoDTO;
 import com.osgifx.console.agent.dto.XPackageDTO;
 import com.osgifx.console.agent.dto.XServiceInfoDTO;
+import com.osgifx.console.util.fx.ConsoleFxHelper;
 import com.osgifx.console.util.fx.DTOCellValueFactory;
 import com.osgifx.console.util.fx.Fx;
 
@@ -181,7 +180,8 @@ public final class BundleDetailsFxController {
         registerButtonHandlers(bundle);
 
         lasModifiedLabel.setText(formatLastModified(bundle.lastModified));
-        dataFolderSizeLabel.setText(humanReadableByteCount(bundle.dataFolderSize));
+        dataFolderSizeLabel.setText(bundle.dataFolderSize == -1 ? "<IGNORED>"
+                : ConsoleFxHelper.humanReadableByteCount(bundle.dataFolderSize));
         docLabel.setText(bundle.documentation);
         vendorLabel.setText(bundle.vendor);
         revisionsLabel.setText(String.valueOf(bundle.revisions));
@@ -252,21 +252,6 @@ public final class BundleDetailsFxController {
         return converter.convert(lastModified).to(Date.class).toString();
     }
 
-    private String humanReadableByteCount(long bytes) {
-        if (bytes == -1) {
-            return "<IGNORED>";
-        }
-        if (-1000 < bytes && bytes < 1000) {
-            return bytes + " B";
-        }
-        final CharacterIterator ci = new StringCharacterIterator("kMGTPE");
-        while (bytes <= -999_950 || bytes >= 999_950) {
-            bytes /= 1000;
-            ci.next();
-        }
-        return String.format("%.1f %cB", bytes / 1000.0, ci.current());
-    }
-
     private void initFragment(final XBundleDTO bundle) {
         final BooleanProperty isSnapshot        = new SimpleBooleanProperty(isSnapshotAgent);
         final var             isSnapshotBinding = new When(isSnapshot).then(true).otherwise(false);
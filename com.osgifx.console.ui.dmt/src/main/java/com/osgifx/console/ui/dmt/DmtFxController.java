@@ -18,6 +18,7 @@ package com.osgifx.console.ui.dmt;
 import static com.osgifx.console.event.topics.DmtActionEventTopics.DMT_UPDATED_EVENT_TOPIC;
 
 import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -35,6 +36,7 @@ import org.eclipse.fx.ui.controls.tree.TreeItemPredicate;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.osgifx.console.agent.dto.DmtDataType;
 import com.osgifx.console.agent.dto.XDmtNodeDTO;
 import com.osgifx.console.agent.dto.XResultDTO;
@@ -52,7 +54,10 @@ import javafx.scene.input.KeyCode;
 
 public final class DmtFxController {
 
-    private static final String ROOT_DMT_NODE = ".";
+    private static final String ROOT_DMT_NODE  = ".";
+    private static final int    DMT_PAGE_SIZE  = 100;
+    private static final String LOADING_TEXT   = "Loading...";
+    private static final String MORE_NODE_TEXT = "%d more nodes (double click to load)";
 
     @Log
     @Inject
@@ -83,7 +88,10 @@ public final class DmtFxController {
     @Named("is_snapshot_agent")
     private boolean           isSnapshotAgent;
 
-    private final Map<FilterableTreeItem<String>, XDmtNodeDTO> items = Maps.newHashMap();
+    private final Map<FilterableTreeItem<String>, XDmtNodeDTO>                items        = Maps.newHashMap();
+    // key: placeholder item of the children yet to be loaded, value: parent item
+    private final Map<FilterableTreeItem<String>, FilterableTreeItem<String>> pendingItems = Maps.newHashMap();
+    private final Set<FilterableTreeItem<String>>                             loadingItems = Sets.newHashSet();
 
     @FXML
     public void initialize() {
@@ -104,7 +112,7 @@ public final class DmtFxController {
     }
 
     private void initTree() {
-        final var promise = dataProvider.readDmtNode(ROOT_DMT_NODE);
+        final var promise = dataProvider.readDmtNode(ROOT_DMT_NODE, 1, 0, DMT_PAGE_SIZE);
         if (promise == null) {
             return;
         }
@@ -113,10 +121,15 @@ public final class DmtFxController {
                 return;
             }
             threadSync.asyncExec(() -> {
+                items.clear();
+                pendingItems.clear();
+                loadingItems.clear();
+
                 final var rootItem = new FilterableTreeItem<>(node.uri);
                 rootItem.setExpanded(true);
                 dmtTree.setRoot(rootItem);
-                initDmtTree(node, rootItem);
+                addDoubleClickEvent();
+                addChildren(rootItem, node);
 
                 searchBox.setOnKeyPressed(event -> {
                     if (event.getCode() == KeyCode.ENTER) {
@@ -149,35 +162,84 @@ public final class DmtFxController {
         executor.runAsync(task);
     }
 
-    private void initDmtTree(final XDmtNodeDTO dmtNode, final FilterableTreeItem<String> parent) {
-        var node = parent;
-        if (!ROOT_DMT_NODE.equals(dmtNode.uri)) {
-            node = new FilterableTreeItem<>(initItemText(dmtNode));
-            addDoubleClickEvent();
-            items.put(node, dmtNode);
-            parent.getInternalChildren().add(node);
-        }
-        if (!dmtNode.children.isEmpty()) {
-            for (final XDmtNodeDTO child : dmtNode.children) {
-                initDmtTree(child, node);
+    private void addChildren(final FilterableTreeItem<String> parent, final XDmtNodeDTO dmtNode) {
+        final var children = parent.getInternalChildren();
+        children.removeIf(child -> pendingItems.remove(child) != null);
+
+        for (final XDmtNodeDTO child : dmtNode.children) {
+            final var item = new FilterableTreeItem<>(initItemText(child));
+            items.put(item, child);
+            if (child.childCount > 0) {
+                // the children are loaded as soon as the node gets expanded for the first time
+                addPendingItem(item, LOADING_TEXT);
+                item.expandedProperty().addListener((obs, wasExpanded, isExpanded) -> {
+                    if (isExpanded) {
+                        loadChildren(item);
+                    }
+                });
             }
+            children.add(item);
+        }
+        final var remaining = dmtNode.childCount - children.size();
+        if (remaining > 0) {
+            addPendingItem(parent, String.format(MORE_NODE_TEXT, remaining));
         }
     }
 
+    private void addPendingItem(final FilterableTreeItem<String> parent, final String text) {
+        final var pendingItem = new FilterableTreeItem<>(text);
+        pendingItems.put(pendingItem, parent);
+        parent.getInternalChildren().add(pendingItem);
+    }
+
+    private void loadChildren(final FilterableTreeItem<String> parent) {
+        final var children = parent.getInternalChildren();
+        // the placeholder is always the last child and all others have already been loaded
+        if (children.isEmpty() || !pendingItems.containsKey(children.get(children.size() - 1))
+                || !loadingItems.add(parent)) {
+            return;
+        }
+        final var dmtNode = items.get(parent);
+        final var uri     = dmtNode == null ? ROOT_DMT_NODE : dmtNode.uri;
+        final var offset  = children.size() - 1;
+        final var promise = dataProvider.readDmtNode(uri, 1, offset, DMT_PAGE_SIZE);
+        if (promise == null) {
+            loadingItems.remove(parent);
+            return;
+        }
+        promise.whenComplete((node, e) -> threadSync.asyncExec(() -> {
+            loadingItems.remove(parent);
+            if (e != null) {
+                logger.atError().withException(e).log("DMT children of '%s' cannot be loaded", uri);
+                return;
+            }
+            if (node != null) {
+                addChildren(parent, node);
+                logger.atDebug().log("%s DMT children of '%s' have been loaded", node.children.size(), uri);
+            }
+        }));
+    }
+
     private void addDoubleClickEvent() {
-        if (!isSnapshotAgent) {
-            dmtTree.setOnMouseClicked(mouseEvent -> {
-                // double click
-                if (mouseEvent.getClickCount() == 2) {
-                    final var item = dmtTree.getSelectionModel().getSelectedItem();
-                    final var node = items.get(item);
-                    if (node != null && !node.children.isEmpty()) {
-                        return;
-                    }
-                    showDialog(node);
+        dmtTree.setOnMouseClicked(mouseEvent -> {
+            // double click
+            if (mouseEvent.getClickCount() == 2) {
+                final var item   = dmtTree.getSelectionModel().getSelectedItem();
+                final var parent = pendingItems.get(item);
+                if (parent != null) {
+                    loadChildren(parent);
+                    return;
                 }
-            });
-        }
+                if (isSnapshotAgent) {
+                    return;
+                }
+                final var node = items.get(item);
+                if (node == null || node.childCount > 0) {
+                    return;
+                }
+                showDialog(node);
+            }
+        });
     }
 
     private void showDialog(final XDmtNodeDTO node) {
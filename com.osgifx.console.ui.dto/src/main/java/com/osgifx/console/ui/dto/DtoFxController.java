@@ -15,6 +15,11 @@
  ******************************************************************************/
 package com.osgifx.console.ui.dto;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -22,20 +27,14 @@ import org.apache.commons.lang3.StringUtils;
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.Log;
-import org.eclipse.fx.ui.controls.tree.FilterableTreeItem;
-import org.eclipse.fx.ui.controls.tree.TreeItemPredicate;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.osgifx.console.data.provider.DataProvider;
 import com.osgifx.console.executor.Executor;
 
-import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
+import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 import javafx.scene.input.KeyCode;
 
@@ -63,6 +62,8 @@ public final class DtoFxController {
     @Named("is_snapshot_agent")
     private boolean           isSnapshotAgent;
 
+    private final AtomicInteger searches = new AtomicInteger();
+
     @FXML
     public void initialize() {
         if (!isConnected) {
@@ -87,66 +88,73 @@ public final class DtoFxController {
             return;
         }
         promise.thenAccept(dto -> {
-            final var content = new Gson().toJson(dto);
-            final var json    = JsonParser.parseString(content).getAsJsonObject();
-
+            if (dto == null) {
+                return;
+            }
+            // the children are materialized straight from the DTO only when expanded
+            final var node = new DtoNode("ROOT", dto);
             threadSync.asyncExec(() -> {
-                final var root = parseJSON("ROOT", json);
+                final var root = new DtoTreeItem(node);
                 root.setExpanded(true);
                 dtoTree.setRoot(root);
 
                 searchBox.setOnKeyPressed(event -> {
                     if (event.getCode() == KeyCode.ENTER) {
-                        performSearch(root);
+                        performSearch(node, root);
                     }
                 });
-                searchBtn.setOnMouseClicked(event -> performSearch(root));
+                searchBtn.setOnMouseClicked(event -> performSearch(node, root));
             });
         });
     }
 
-    private void performSearch(final FilterableTreeItem<String> rootItem) {
-        final Task<Void> task = new Task<>() {
-
-            @Override
-            protected Void call() throws Exception {
-                threadSync.asyncExec(() -> {
-                    final var itemText = searchBox.getText();
-                    if (StringUtils.isBlank(itemText)) {
-                        rootItem.setPredicate(null);
-                    } else {
-                        rootItem.setPredicate(TreeItemPredicate
-                                .create(item -> StringUtils.containsIgnoreCase(item, itemText.strip())));
-                    }
-                });
-                return null;
+    private void performSearch(final DtoNode node, final TreeItem<String> root) {
+        final var itemText = searchBox.getText();
+        final var search   = searches.incrementAndGet();
+        if (StringUtils.isBlank(itemText)) {
+            dtoTree.setRoot(root);
+            return;
+        }
+        final var query = itemText.strip();
+        executor.supplyAsync(() -> {
+            final var result = filter(node, query, () -> search != searches.get());
+            return result != null ? result : new DtoTreeItem(node, List.of());
+        }).thenAccept(result -> threadSync.asyncExec(() -> {
+            // a newer search might have been started in the meantime
+            if (search == searches.get()) {
+                result.setExpanded(true);
+                dtoTree.setRoot(result);
             }
-        };
-        executor.runAsync(task);
+        }));
     }
 
-    private static FilterableTreeItem<String> parseJSON(final String name, final Object json) {
-        final var item = new FilterableTreeItem<>(name);
-        if (json instanceof final JsonObject object) {
-            object.entrySet().forEach(entry -> {
-                final var    childName = entry.getKey();
-                final Object childJson = entry.getValue();
-                final var    child     = parseJSON(childName, childJson);
-
-                item.getInternalChildren().add(child);
-            });
-        } else if (json instanceof final JsonArray array) {
-            item.setValue(name);
-            for (var i = 0; i < array.size(); i++) {
-                final var childName = String.valueOf(i);
-                final var childJson = array.get(i);
-                final var child     = parseJSON(childName, childJson);
-
-                item.getInternalChildren().add(child);
+    /**
+     * Walks the DTO tree and creates the items of the paths to all matching
+     * nodes. The items of these paths are expanded whereas the children of a
+     * matching node are still materialized on demand.
+     */
+    private static TreeItem<String> filter(final DtoNode node, final String query, final BooleanSupplier isCancelled) {
+        if (isCancelled.getAsBoolean()) {
+            return null;
+        }
+        if (StringUtils.containsIgnoreCase(node.label(), query)) {
+            return new DtoTreeItem(node);
+        }
+        if (node.isLeaf()) {
+            return null;
+        }
+        final List<TreeItem<String>> children = new ArrayList<>();
+        for (final DtoNode child : node.children()) {
+            final var item = filter(child, query, isCancelled);
+            if (item != null) {
+                children.add(item);
             }
-        } else {
-            item.setValue(name + " : " + json);
         }
+        if (children.isEmpty()) {
+            return null;
+        }
+        final var item = new DtoTreeItem(node, children);
+        item.setExpanded(true);
         return item;
     }
 
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.dto;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A node of the DTO tree which is backed by the decoded DTO object itself.
+ * <p>
+ * The children are derived on demand the same way as the DTO would have been
+ * serialized to JSON: DTOs and other objects by their (non-null) public
+ * instance fields, maps by their keys, and arrays and collections by the
+ * indices of their elements.
+ */
+final class DtoNode {
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(final Class<?> type) {
+            final List<Field> fields = new ArrayList<>();
+            for (var clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (final Field field : clazz.getDeclaredFields()) {
+                    final var modifiers = field.getModifiers();
+                    if (Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers)
+                            && !Modifier.isTransient(modifiers)) {
+                        fields.add(field);
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    private final String name;
+    private final Object value;
+
+    DtoNode(final String name, final Object value) {
+        this.name  = name;
+        this.value = value;
+    }
+
+    boolean isLeaf() {
+        return isScalar(value);
+    }
+
+    String label() {
+        if (!isLeaf()) {
+            return name;
+        }
+        return name + " : " + (value instanceof String || value instanceof Character || value instanceof Enum<?>
+                ? "\"" + value + "\""
+                : value);
+    }
+
+    List<DtoNode> children() {
+        if (isLeaf()) {
+            return List.of();
+        }
+        final List<DtoNode> children = new ArrayList<>();
+        if (value.getClass().isArray()) {
+            final var length = Array.getLength(value);
+            for (var i = 0; i < length; i++) {
+                children.add(new DtoNode(String.valueOf(i), Array.get(value, i)));
+            }
+        } else if (value instanceof final Collection<?> collection) {
+            var i = 0;
+            for (final Object element : collection) {
+                children.add(new DtoNode(String.valueOf(i++), element));
+            }
+        } else if (value instanceof final Map<?, ?> map) {
+            map.forEach((k, v) -> {
+                if (v != null) {
+                    children.add(new DtoNode(String.valueOf(k), v));
+                }
+            });
+        } else {
+            for (final Field field : FIELDS.get(value.getClass())) {
+                try {
+                    final var fieldValue = field.get(value);
+                    if (fieldValue != null) {
+                        children.add(new DtoNode(field.getName(), fieldValue));
+                    }
+                } catch (final IllegalAccessException e) {
+                    // not accessible and hence, not part of the tree
+                }
+            }
+        }
+        return children;
+    }
+
+    private static boolean isScalar(final Object value) {
+        return value == null || value instanceof CharSequence || value instanceof Number
+                || value instanceof Boolean || value instanceof Character || value instanceof Enum<?>;
+    }
+
+}
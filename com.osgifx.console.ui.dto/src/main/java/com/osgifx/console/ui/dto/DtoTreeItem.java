@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.dto;
+
+import java.util.List;
+
+import javafx.collections.ObservableList;
+import javafx.scene.control.TreeItem;
+
+/**
+ * A tree item of a {@link DtoNode} which materializes its children only when
+ * they are accessed for the first time, that is, when the item gets expanded.
+ */
+final class DtoTreeItem extends TreeItem<String> {
+
+    private final DtoNode node;
+    private boolean       isLoaded;
+
+    DtoTreeItem(final DtoNode node) {
+        super(node.label());
+        this.node = node;
+    }
+
+    /**
+     * Creates an item with the specified children instead of all the children of
+     * the node
+     *
+     * @param node the node
+     * @param children the children to show
+     */
+    DtoTreeItem(final DtoNode node, final List<TreeItem<String>> children) {
+        this(node);
+        isLoaded = true;
+        super.getChildren().setAll(children);
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return node.isLeaf() || isLoaded && super.getChildren().isEmpty();
+    }
+
+    @Override
+    public ObservableList<TreeItem<String>> getChildren() {
+        if (!isLoaded) {
+            isLoaded = true;
+            super.getChildren().setAll(node.children().stream().<TreeItem<String>> map(DtoTreeItem::new).toList());
+        }
+        return super.getChildren();
+    }
+
+}
@@ -18,11 +18,14 @@ package com.osgifx.console.ui.events.handler;
 import static com.osgifx.console.event.topics.EventReceiveEventTopics.EVENT_RECEIVE_STARTED_EVENT_TOPIC;
 import static com.osgifx.console.event.topics.EventReceiveEventTopics.EVENT_RECEIVE_STOPPED_EVENT_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_CONNECTED_EVENT_TOPIC;
+import static org.osgi.framework.Constants.SERVICE_PID;
+import static org.osgi.service.cm.ConfigurationAdmin.SERVICE_BUNDLELOCATION;
+import static org.osgi.service.cm.ConfigurationAdmin.SERVICE_FACTORYPID;
 
 import java.io.IOException;
-import java.util.Dictionary;
+import java.util.Collections;
+import java.util.Hashtable;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
@@ -50,7 +53,6 @@ import org.eclipse.fx.core.di.Service;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.Log;
 import org.osgi.framework.BundleContext;
-import org.osgi.framework.FrameworkUtil;
 import org.osgi.service.cm.ConfigurationAdmin;
 
 import com.osgifx.console.agent.Agent;
@@ -62,7 +64,9 @@ import com.osgifx.console.util.fx.Fx;
 
 public final class EventReceiveMenuContributionHandler {
 
-    private static final String PID = "event.receive.topics";
+    private static final String      PID                    = "event.receive.topics";
+    private static final Set<String> CONFIGURATION_METADATA = Set.of(SERVICE_PID, SERVICE_FACTORYPID,
+            SERVICE_BUNDLELOCATION);
 
     @Log
     @Inject
@@ -195,12 +199,24 @@ public final class EventReceiveMenuContributionHandler {
     private void updateConfig(final Set<String> topics) {
         try {
             final var configuration = configAdmin.getConfiguration(PID, "?");
-            if (!topics.isEmpty()) {
-                final Dictionary<String, String[]> properties = FrameworkUtil
-                        .asDictionary(Map.of("topics", topics.toArray(new String[0])));
-                configuration.update(properties);
+            final var existing      = configuration.getProperties();
+            final var properties    = new Hashtable<String, Object>();
+            if (existing != null) {
+                Collections.list(existing.keys()).forEach(key -> properties.put(key, existing.get(key)));
+            }
+            // only the topics are owned by this handler, the other properties (e.g. filter) are kept
+            if (topics.isEmpty()) {
+                properties.remove("topics");
             } else {
-                configuration.delete();
+                properties.put("topics", topics.toArray(new String[0]));
+            }
+            final var isEmpty = properties.keySet().stream().allMatch(CONFIGURATION_METADATA::contains);
+            if (isEmpty) {
+                if (existing != null) {
+                    configuration.delete();
+                }
+            } else {
+                configuration.update(properties);
             }
         } catch (final IOException e) {
             logger.atError().withException(e).log("Cannot retrieve configuration '%s'", PID);
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.graph;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.connectivity.KosarajuStrongConnectivityInspector;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Finds the cycles of a directed graph through its strongly connected
+ * components instead of enumerating all of its simple cycles, the number of
+ * which can grow exponentially.
+ * <p>
+ * Every edge between two vertices of the same strongly connected component
+ * lies on a cycle and every cycle lies within one strongly connected component.
+ * Hence, the union of all cycles is the union of the edges within the cyclic
+ * components which can be found in linear time.
+ */
+public final class CycleAnalyzer {
+
+    private CycleAnalyzer() {
+        throw new IllegalAccessError("Cannot be instantiated");
+    }
+
+    /**
+     * A strongly connected component which contains at least one cycle
+     *
+     * @param vertices the vertices of the component
+     * @param witness a shortest cycle through one of the vertices, where the last
+     *            vertex is connected to the first one
+     */
+    public record CyclicComponent<V>(Set<V> vertices, List<V> witness) {
+    }
+
+    public static <V, E> List<CyclicComponent<V>> findCyclicComponents(final Graph<V, E> graph) {
+        final List<CyclicComponent<V>> components = Lists.newArrayList();
+        for (final Set<V> vertices : new KosarajuStrongConnectivityInspector<>(graph).stronglyConnectedSets()) {
+            if (vertices.size() == 1) {
+                final var vertex = vertices.iterator().next();
+                if (graph.containsEdge(vertex, vertex)) {
+                    components.add(new CyclicComponent<>(vertices, List.of(vertex)));
+                }
+                continue;
+            }
+            components.add(new CyclicComponent<>(vertices, findWitness(graph, vertices)));
+        }
+        return components;
+    }
+
+    /**
+     * Returns the graph of all cycles, that is, all edges within the cyclic
+     * components.
+     */
+    public static <V, E> Graph<V, DefaultEdge> toCycleGraph(final Graph<V, E> graph,
+                                                            final List<CyclicComponent<V>> components) {
+        final Graph<V, DefaultEdge> cycleGraph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        for (final CyclicComponent<V> component : components) {
+            final var vertices = component.vertices();
+            vertices.forEach(cycleGraph::addVertex);
+            for (final V source : vertices) {
+                for (final E edge : graph.outgoingEdgesOf(source)) {
+                    final var target = graph.getEdgeTarget(edge);
+                    if (vertices.contains(target)) {
+                        cycleGraph.addEdge(source, target);
+                    }
+                }
+            }
+        }
+        return cycleGraph;
+    }
+
+    /**
+     * Returns the graph of the witness cycles of the cyclic components.
+     */
+    public static <V> Graph<V, DefaultEdge> toWitnessGraph(final List<CyclicComponent<V>> components) {
+        final Graph<V, DefaultEdge> witnessGraph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        for (final CyclicComponent<V> component : components) {
+            final var witness = component.witness();
+            witness.forEach(witnessGraph::addVertex);
+            for (var i = 0; i < witness.size(); i++) {
+                witnessGraph.addEdge(witness.get(i), witness.get((i + 1) % witness.size()));
+            }
+        }
+        return witnessGraph;
+    }
+
+    /**
+     * Finds a shortest cycle through the smallest vertex (by its string
+     * representation) of the component by a breadth-first search which does not
+     * leave the component.
+     */
+    private static <V, E> List<V> findWitness(final Graph<V, E> graph, final Set<V> vertices) {
+        final var       start   = vertices.stream().min(Comparator.comparing(String::valueOf)).orElseThrow();
+        final Map<V, V> parents = Maps.newHashMap();
+        final var       queue   = new ArrayDeque<V>();
+
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            final var current = queue.poll();
+            for (final E edge : graph.outgoingEdgesOf(current)) {
+                final var target = graph.getEdgeTarget(edge);
+                if (target.equals(start)) {
+                    final List<V> witness = Lists.newArrayList();
+                    for (var v = current; v != null; v = parents.get(v)) {
+                        witness.add(v);
+                    }
+                    return Lists.reverse(witness);
+                }
+                if (vertices.contains(target) && !parents.containsKey(target)) {
+                    parents.put(target, current);
+                    queue.add(target);
+                }
+            }
+        }
+        // cannot happen, as every vertex of a strongly connected component lies on a cycle
+        return List.of(start);
+    }
+
+}
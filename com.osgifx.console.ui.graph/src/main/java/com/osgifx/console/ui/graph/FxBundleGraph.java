@@ -20,7 +20,7 @@ import java.util.Collection;
 import org.jgrapht.GraphPath;
 import org.jgrapht.graph.DefaultEdge;
 
-import com.osgifx.console.smartgraph.graph.DigraphEdgeList;
+import com.osgifx.console.smartgraph.graph.DigraphAdjacencyList;
 import com.osgifx.console.smartgraph.graph.Edge;
 import com.osgifx.console.smartgraph.graph.Graph;
 import com.osgifx.console.smartgraph.graph.Vertex;
@@ -33,12 +33,28 @@ public final class FxBundleGraph {
         graph = buildGraph(graphPaths);
     }
 
+    public FxBundleGraph(final org.jgrapht.Graph<BundleVertex, DefaultEdge> graph) {
+        this.graph = buildGraph(graph);
+    }
+
     public Graph<BundleVertex, String> getGraph() {
         return graph;
     }
 
+    private Graph<BundleVertex, String> buildGraph(final org.jgrapht.Graph<BundleVertex, DefaultEdge> jgraph) {
+        final Graph<BundleVertex, String> graph = new DigraphAdjacencyList<>();
+        // the source graph has no parallel edges, hence no duplicate checks are needed
+        jgraph.vertexSet().forEach(graph::insertVertex);
+        for (final DefaultEdge edge : jgraph.edgeSet()) {
+            final var source = jgraph.getEdgeSource(edge);
+            final var target = jgraph.getEdgeTarget(edge);
+            graph.insertEdge(source, target, source + "->" + target);
+        }
+        return graph;
+    }
+
     private Graph<BundleVertex, String> buildGraph(final Collection<GraphPath<BundleVertex, DefaultEdge>> graphPaths) {
-        final Graph<BundleVertex, String> graph = new DigraphEdgeList<>();
+        final Graph<BundleVertex, String> graph = new DigraphAdjacencyList<>();
         for (final GraphPath<BundleVertex, DefaultEdge> path : graphPaths) {
             for (final DefaultEdge edge : path.getEdgeList()) {
                 final var source = path.getGraph().getEdgeSource(edge);
@@ -20,7 +20,7 @@ import java.util.Collection;
 import org.jgrapht.GraphPath;
 import org.jgrapht.graph.DefaultEdge;
 
-import com.osgifx.console.smartgraph.graph.DigraphEdgeList;
+import com.osgifx.console.smartgraph.graph.DigraphAdjacencyList;
 import com.osgifx.console.smartgraph.graph.Edge;
 import com.osgifx.console.smartgraph.graph.Graph;
 import com.osgifx.console.smartgraph.graph.Vertex;
@@ -42,25 +42,19 @@ public final class FxComponentGraph {
     }
 
     private Graph<ComponentVertex, String> buildGraph(final org.jgrapht.Graph<ComponentVertex, DefaultEdge> jgraph) {
-        final Graph<ComponentVertex, String> graph = new DigraphEdgeList<>();
+        final Graph<ComponentVertex, String> graph = new DigraphAdjacencyList<>();
+        // the source graph has no parallel edges, hence no duplicate checks are needed
+        jgraph.vertexSet().forEach(graph::insertVertex);
         for (final DefaultEdge edge : jgraph.edgeSet()) {
             final var source = jgraph.getEdgeSource(edge);
             final var target = jgraph.getEdgeTarget(edge);
-            if (graph.vertices().stream().noneMatch(v -> v.element().equals(source))) {
-                graph.insertVertex(source);
-            }
-            if (graph.vertices().stream().noneMatch(v -> v.element().equals(target))) {
-                graph.insertVertex(target);
-            }
-            if (!containsEdge(graph.edges(), source, target)) {
-                graph.insertEdge(source, target, source + "->" + target);
-            }
+            graph.insertEdge(source, target, source + "->" + target);
         }
         return graph;
     }
 
     private Graph<ComponentVertex, String> buildGraph(final Collection<GraphPath<ComponentVertex, DefaultEdge>> graphPaths) {
-        final Graph<ComponentVertex, String> graph = new DigraphEdgeList<>();
+        final Graph<ComponentVertex, String> graph = new DigraphAdjacencyList<>();
         for (final GraphPath<ComponentVertex, DefaultEdge> path : graphPaths) {
             for (final DefaultEdge edge : path.getEdgeList()) {
                 final var source = path.getGraph().getEdgeSource(edge);
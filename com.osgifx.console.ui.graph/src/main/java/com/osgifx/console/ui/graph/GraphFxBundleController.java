@@ -20,7 +20,6 @@ import static javafx.scene.control.SelectionMode.MULTIPLE;
 import static org.controlsfx.control.SegmentedButton.STYLE_CLASS_DARK;
 
 import java.io.File;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.concurrent.Future;
 import java.util.stream.Stream;
@@ -35,7 +34,6 @@ import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.Log;
 import org.jgrapht.Graph;
-import org.jgrapht.GraphPath;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.nio.ExportException;
 import org.jgrapht.nio.dot.DOTExporter;
@@ -51,6 +49,7 @@ import com.osgifx.console.smartgraph.graphview.SmartPlacementStrategy;
 import com.osgifx.console.smartgraph.graphview.SmartRandomPlacementStrategy;
 import com.osgifx.console.util.fx.Fx;
 
+import javafx.beans.value.ChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.concurrent.Task;
@@ -131,8 +130,17 @@ public final class GraphFxBundleController implements GraphController {
     }
 
     private void initWiringSelection() {
-        wiringSelection.getItems().addAll("Find all bundles that are required by", "Find all bundles that require");
+        wiringSelection.getItems().addAll("Find all bundles that are required by", "Find all bundles that require",
+                "Find all bundle cycles", "Find shortest bundle cycles");
         wiringSelection.getSelectionModel().select(0);
+        wiringSelection.getSelectionModel().selectedIndexProperty()
+                .addListener((ChangeListener<Number>) (observable, oldValue, newValue) -> {
+                    final var condition = newValue.intValue() >= 2;
+
+                    searchText.setDisable(condition);
+                    bundlesList.setDisable(condition);
+                    bundlesList.getCheckModel().clearChecks();
+                });
     }
 
     private void addExportToDotContextMenu() {
@@ -207,8 +215,9 @@ public final class GraphFxBundleController implements GraphController {
     @FXML
     private void generateGraph(final ActionEvent event) {
         logger.atInfo().log("Generating graph for bundles");
+        final var selection       = wiringSelection.getSelectionModel().getSelectedIndex();
         final var selectedBundles = Lists.newArrayList(bundlesList.getCheckModel().getCheckedItems());
-        if (selectedBundles.isEmpty()) {
+        if (selectedBundles.isEmpty() && selection < 2) {
             logger.atInfo().log("No bundle has been selected. Skipped graph generation.");
             return;
         }
@@ -218,16 +227,20 @@ public final class GraphFxBundleController implements GraphController {
             @Override
             protected Void call() throws Exception {
                 progressPane.setVisible(true);
-                final var selection = wiringSelection.getSelectionModel().getSelectedIndex();
 
-                final Collection<GraphPath<BundleVertex, DefaultEdge>> dependencies;
+                final Graph<BundleVertex, DefaultEdge> dependencies;
                 if (selection == 0) {
-                    logger.atInfo().log("Generating all graph paths for bundles that are required by '%s'",
-                            selectedBundles);
+                    logger.atInfo().log("Generating graph of bundles that are required by '%s'", selectedBundles);
                     dependencies = runtimeGraph.getAllBundlesThatAreRequiredBy(selectedBundles);
-                } else {
-                    logger.atInfo().log("Generating all graph paths for bundles that require '%s'", selectedBundles);
+                } else if (selection == 1) {
+                    logger.atInfo().log("Generating graph of bundles that require '%s'", selectedBundles);
                     dependencies = runtimeGraph.getAllBundlesThatRequire(selectedBundles);
+                } else if (selection == 2) {
+                    logger.atInfo().log("Generating bundle wiring cycles");
+                    dependencies = runtimeGraph.getAllCycles();
+                } else {
+                    logger.atInfo().log("Generating shortest bundle wiring cycles");
+                    dependencies = runtimeGraph.getShortestCycles();
                 }
                 fxGraph = new FxBundleGraph(dependencies);
                 return null;
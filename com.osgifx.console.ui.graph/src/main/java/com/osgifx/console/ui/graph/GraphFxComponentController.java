@@ -20,7 +20,6 @@ import static javafx.scene.control.SelectionMode.MULTIPLE;
 import static org.controlsfx.control.SegmentedButton.STYLE_CLASS_DARK;
 
 import java.io.File;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.concurrent.Future;
 import java.util.stream.Stream;
@@ -35,7 +34,6 @@ import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.Log;
 import org.jgrapht.Graph;
-import org.jgrapht.GraphPath;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.nio.ExportException;
 import org.jgrapht.nio.dot.DOTExporter;
@@ -132,11 +130,12 @@ public final class GraphFxComponentController implements GraphController {
     }
 
     private void initWiringSelection() {
-        wiringSelection.getItems().addAll("Find all components that are required by", "Find all component cycles");
+        wiringSelection.getItems().addAll("Find all components that are required by", "Find all component cycles",
+                "Find shortest component cycles");
         wiringSelection.getSelectionModel().select(0);
         wiringSelection.getSelectionModel().selectedIndexProperty()
                 .addListener((ChangeListener<Number>) (observable, oldValue, newValue) -> {
-                    final var condition = newValue.intValue() == 1;
+                    final var condition = newValue.intValue() >= 1;
 
                     searchText.setDisable(condition);
                     componentsList.setDisable(condition);
@@ -229,15 +228,18 @@ public final class GraphFxComponentController implements GraphController {
                 progressPane.setVisible(true);
 
                 if (selection == 0) {
-                    logger.atDebug().log("Generating all graph paths for service components that are required by '%s'",
+                    logger.atDebug().log("Generating graph of service components that are required by '%s'",
                             selectedComponents);
-                    final Collection<GraphPath<ComponentVertex, DefaultEdge>> dependencies = runtimeGraph
-                            .getAllServiceComponentsThatAreRequiredBy(selectedComponents);
+                    final var dependencies = runtimeGraph.getAllServiceComponentsThatAreRequiredBy(selectedComponents);
                     fxGraph = new FxComponentGraph(dependencies);
-                } else {
+                } else if (selection == 1) {
                     logger.atDebug().log("Generating service component cycles");
                     final var graph = runtimeGraph.getAllCycles();
                     fxGraph = new FxComponentGraph(graph);
+                } else {
+                    logger.atDebug().log("Generating shortest service component cycles");
+                    final var graph = runtimeGraph.getShortestCycles();
+                    fxGraph = new FxComponentGraph(graph);
                 }
                 return null;
             }
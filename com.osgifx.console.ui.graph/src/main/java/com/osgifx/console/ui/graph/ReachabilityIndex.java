@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.graph;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.AsSubgraph;
+
+/**
+ * Answers reachability queries on a directed graph which does not change
+ * anymore.
+ * <p>
+ * The graph is converted once to an indexed adjacency structure and the
+ * transitive closure of a vertex is computed by a breadth-first search on
+ * first request and cached as a bit set. A search which reaches a vertex of
+ * which the closure has already been cached reuses that closure instead of
+ * traversing it again. The index therefore has to be recreated whenever the
+ * underlying graph is rebuilt.
+ *
+ * @param <V> the vertex type
+ * @param <E> the edge type
+ */
+public final class ReachabilityIndex<V, E> {
+
+    private final Graph<V, E>          graph;
+    private final List<V>              vertices;
+    private final Map<V, Integer>      indices;
+    private final int[][]              successors;
+    private final Map<Integer, BitSet> closures;
+
+    public ReachabilityIndex(final Graph<V, E> graph) {
+        this.graph = graph;
+        vertices   = new ArrayList<>(graph.vertexSet());
+        indices    = new HashMap<>();
+        successors = new int[vertices.size()][];
+        closures   = new ConcurrentHashMap<>();
+
+        for (var i = 0; i < vertices.size(); i++) {
+            indices.put(vertices.get(i), i);
+        }
+        for (var i = 0; i < vertices.size(); i++) {
+            final var outgoingEdges = graph.outgoingEdgesOf(vertices.get(i));
+            final var targets       = new int[outgoingEdges.size()];
+            var       count         = 0;
+            for (final E edge : outgoingEdges) {
+                targets[count++] = indices.get(graph.getEdgeTarget(edge));
+            }
+            successors[i] = targets;
+        }
+    }
+
+    /**
+     * Returns all vertices that are reachable from the specified vertices
+     * including these vertices themselves. Vertices that are not part of the
+     * graph are ignored.
+     *
+     * @param sources the vertices to start from
+     * @return the reachable vertices
+     */
+    public Set<V> reachableFrom(final Collection<V> sources) {
+        final var    closure = closureOf(sources);
+        final Set<V> result  = new LinkedHashSet<>();
+        closure.stream().forEach(i -> result.add(vertices.get(i)));
+        return result;
+    }
+
+    /**
+     * Returns the subgraph of all vertices that are reachable from the specified
+     * vertices together with all edges between them. The returned graph is a
+     * view on the indexed graph.
+     *
+     * @param sources the vertices to start from
+     * @return the reachable subgraph
+     */
+    public Graph<V, E> subgraphReachableFrom(final Collection<V> sources) {
+        final var    reachable = reachableFrom(sources);
+        final Set<E> edges     = new LinkedHashSet<>();
+        // the targets of the outgoing edges of a reachable vertex are reachable too
+        reachable.forEach(v -> edges.addAll(graph.outgoingEdgesOf(v)));
+        return new AsSubgraph<>(graph, reachable, edges);
+    }
+
+    private BitSet closureOf(final Collection<V> sources) {
+        final var closure = new BitSet(vertices.size());
+        for (final V source : sources) {
+            final var index = indices.get(source);
+            if (index != null && !closure.get(index)) {
+                closure.or(closureOf(index));
+            }
+        }
+        return closure;
+    }
+
+    private BitSet closureOf(final int source) {
+        final var cached = closures.get(source);
+        if (cached != null) {
+            return cached;
+        }
+        final var closure = new BitSet(vertices.size());
+        final var queue   = new int[vertices.size()];
+        var       head    = 0;
+        var       tail    = 0;
+
+        closure.set(source);
+        queue[tail++] = source;
+        while (head < tail) {
+            final var current = queue[head++];
+            for (final int target : successors[current]) {
+                if (closure.get(target)) {
+                    continue;
+                }
+                final var targetClosure = target == source ? null : closures.get(target);
+                if (targetClosure != null) {
+                    // everything reachable from there is already known
+                    closure.or(targetClosure);
+                } else {
+                    closure.set(target);
+                    queue[tail++] = target;
+                }
+            }
+        }
+        closures.putIfAbsent(source, closure);
+        return closure;
+    }
+
+}
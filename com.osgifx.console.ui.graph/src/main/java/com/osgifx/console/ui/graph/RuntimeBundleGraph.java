@@ -18,9 +18,11 @@ package com.osgifx.console.ui.graph;
 import static com.google.common.base.Functions.identity;
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_BUNDLES_TOPIC;
 import static com.osgifx.console.ui.graph.BundleVertex.VERTEX_ID_FUNCTION;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toMap;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -48,9 +50,11 @@ public final class RuntimeBundleGraph {
     @Inject
     private DataProvider dataProvider;
 
-    private Map<String, XBundleDTO>          bundleMap;
-    private Graph<BundleVertex, DefaultEdge> providerGraph;
-    private Graph<BundleVertex, DefaultEdge> requirerGraph;
+    private Map<String, XBundleDTO>                      bundleMap;
+    private Graph<BundleVertex, DefaultEdge>             providerGraph;
+    private Graph<BundleVertex, DefaultEdge>             requirerGraph;
+    private ReachabilityIndex<BundleVertex, DefaultEdge> providerReachability;
+    private ReachabilityIndex<BundleVertex, DefaultEdge> requirerReachability;
 
     @PostConstruct
     public void init() {
@@ -58,6 +62,9 @@ public final class RuntimeBundleGraph {
         bundleMap     = processBundles(bundles);
         providerGraph = buildGraph(bundles, Strategy.PROVIDER);
         requirerGraph = buildGraph(bundles, Strategy.REQUIRER);
+
+        providerReachability = new ReachabilityIndex<>(providerGraph);
+        requirerReachability = new ReachabilityIndex<>(requirerGraph);
     }
 
     @Inject
@@ -66,35 +73,43 @@ public final class RuntimeBundleGraph {
         init();
     }
 
-    public Collection<GraphPath<BundleVertex, DefaultEdge>> getAllBundlesThatRequire(final Collection<XBundleDTO> bundles) {
-        return getDirectedPaths(bundles, Strategy.PROVIDER);
+    public Graph<BundleVertex, DefaultEdge> getAllBundlesThatRequire(final Collection<XBundleDTO> bundles) {
+        return getReachableGraph(bundles, Strategy.PROVIDER);
+    }
+
+    public Graph<BundleVertex, DefaultEdge> getAllBundlesThatAreRequiredBy(final Collection<XBundleDTO> bundles) {
+        return getReachableGraph(bundles, Strategy.REQUIRER);
     }
 
-    public Collection<GraphPath<BundleVertex, DefaultEdge>> getAllBundlesThatAreRequiredBy(final Collection<XBundleDTO> bundles) {
-        return getDirectedPaths(bundles, Strategy.REQUIRER);
+    public Graph<BundleVertex, DefaultEdge> getReachableGraph(final Collection<XBundleDTO> bundles,
+                                                              final Strategy strategy) {
+        final var reachability = strategy == Strategy.REQUIRER ? requirerReachability : providerReachability;
+        // the index ignores the vertices that are not part of the graph
+        return reachability.subgraphReachableFrom(toVertices(bundles));
     }
 
     public Collection<GraphPath<BundleVertex, DefaultEdge>> getDirectedPaths(final Collection<XBundleDTO> bundles,
-                                                                             final Strategy strategy) {
+                                                                             final Strategy strategy,
+                                                                             final int maxDepth) {
         if (bundles.isEmpty()) {
             return List.of();
         }
-        final Graph<BundleVertex, DefaultEdge> graph;
-        if (strategy == Strategy.REQUIRER) {
-            graph = requirerGraph;
-        } else {
-            graph = providerGraph;
-        }
-        final Set<BundleVertex> vertices = Sets.newHashSet();
-        for (final XBundleDTO bundle : bundles) {
-            final var bundleVertex = new BundleVertex(bundle.symbolicName, bundle.id);
-            if (graph.containsVertex(bundleVertex)) {
-                final var vertex = graph.vertexSet().stream().filter(bundleVertex::equals).findAny().orElse(null);
-                vertices.add(vertex);
-            }
-        }
-        final var paths = new AllDirectedPaths<>(graph);
-        return paths.getAllPaths(vertices, graph.vertexSet(), true, null);
+        final var graph    = strategy == Strategy.REQUIRER ? requirerGraph : providerGraph;
+        final var vertices = toVertices(bundles);
+        vertices.removeIf(v -> !graph.containsVertex(v));
+        return new AllDirectedPaths<>(graph).getAllPaths(vertices, graph.vertexSet(), true, maxDepth);
+    }
+
+    public Graph<BundleVertex, DefaultEdge> getAllCycles() {
+        return CycleAnalyzer.toCycleGraph(requirerGraph, CycleAnalyzer.findCyclicComponents(requirerGraph));
+    }
+
+    public Graph<BundleVertex, DefaultEdge> getShortestCycles() {
+        return CycleAnalyzer.toWitnessGraph(CycleAnalyzer.findCyclicComponents(requirerGraph));
+    }
+
+    private Set<BundleVertex> toVertices(final Collection<XBundleDTO> bundles) {
+        return bundles.stream().map(b -> new BundleVertex(b.symbolicName, b.id)).collect(toCollection(HashSet::new));
     }
 
     private Map<String, XBundleDTO> processBundles(final List<XBundleDTO> bundles) {
@@ -141,7 +156,7 @@ public final class RuntimeBundleGraph {
         }
     }
 
-    private enum Strategy {
+    public enum Strategy {
         PROVIDER,
         REQUIRER
     }
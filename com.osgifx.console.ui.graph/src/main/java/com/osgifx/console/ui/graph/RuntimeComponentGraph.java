@@ -20,6 +20,7 @@ import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETR
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -31,29 +32,30 @@ import org.eclipse.e4.core.di.annotations.Optional;
 import org.eclipse.e4.core.di.extensions.EventTopic;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
-import org.jgrapht.alg.cycle.TarjanSimpleCycles;
 import org.jgrapht.alg.shortestpath.AllDirectedPaths;
 import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
 import org.osgi.framework.dto.ServiceReferenceDTO;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.osgifx.console.agent.dto.XComponentDTO;
 import com.osgifx.console.agent.dto.XSatisfiedReferenceDTO;
 import com.osgifx.console.data.provider.DataProvider;
-import com.osgifx.console.ui.graph.RuntimeComponentGraph.CircularLinkedList.Node;
 
 @Creatable
 public final class RuntimeComponentGraph {
 
     @Inject
-    private DataProvider                        dataProvider;
-    private Graph<ComponentVertex, DefaultEdge> requirerGraph;
+    private DataProvider                                    dataProvider;
+    private Graph<ComponentVertex, DefaultEdge>             requirerGraph;
+    private ReachabilityIndex<ComponentVertex, DefaultEdge> requirerReachability;
 
     @PostConstruct
     public void init() {
-        requirerGraph = buildGraph(dataProvider.components());
+        requirerGraph        = buildGraph(dataProvider.components());
+        requirerReachability = new ReachabilityIndex<>(requirerGraph);
     }
 
     @Inject
@@ -62,43 +64,34 @@ public final class RuntimeComponentGraph {
         init();
     }
 
-    public List<GraphPath<ComponentVertex, DefaultEdge>> getAllServiceComponentsThatAreRequiredBy(final Collection<XComponentDTO> components) {
+    public Graph<ComponentVertex, DefaultEdge> getAllServiceComponentsThatAreRequiredBy(final Collection<XComponentDTO> components) {
+        final Set<ComponentVertex> vertices = Sets.newHashSet();
+        components.forEach(c -> vertices.add(toVertex(c)));
+        return requirerReachability.subgraphReachableFrom(vertices);
+    }
+
+    public List<GraphPath<ComponentVertex, DefaultEdge>> getDirectedPaths(final Collection<XComponentDTO> components,
+                                                                          final int maxDepth) {
         if (components.isEmpty()) {
             return List.of();
         }
         final Set<ComponentVertex> vertices = Sets.newHashSet();
         for (final XComponentDTO component : components) {
-            final var componentVertex = toVertex(component);
-            if (requirerGraph.containsVertex(componentVertex)) {
-                final var vertex = requirerGraph.vertexSet().stream().filter(componentVertex::equals).findAny()
-                        .orElse(null);
+            final var vertex = toVertex(component);
+            if (requirerGraph.containsVertex(vertex)) {
                 vertices.add(vertex);
             }
         }
         final var paths = new AllDirectedPaths<>(requirerGraph);
-        return paths.getAllPaths(vertices, requirerGraph.vertexSet(), true, null);
+        return paths.getAllPaths(vertices, requirerGraph.vertexSet(), true, maxDepth);
     }
 
-    @SuppressWarnings("unused")
     public Graph<ComponentVertex, DefaultEdge> getAllCycles() {
-        final var                                 tarjan = new TarjanSimpleCycles<>(requirerGraph);
-        final var                                 cycles = tarjan.findSimpleCycles();
-        final Graph<ComponentVertex, DefaultEdge> graph  = new DefaultDirectedGraph<>(DefaultEdge.class);
-
-        for (final List<ComponentVertex> group : cycles) {
-            Node<ComponentVertex> node = CircularLinkedList.create(group);
-            if (node != null) {
-                for (final ComponentVertex element : group) {
-                    node = node.getNext();
-                    final var source = node.getData();
-                    graph.addVertex(source);
-                    final var target = node.getNext().getData();
-                    graph.addVertex(target);
-                    graph.addEdge(source, target);
-                }
-            }
-        }
-        return graph;
+        return CycleAnalyzer.toCycleGraph(requirerGraph, CycleAnalyzer.findCyclicComponents(requirerGraph));
+    }
+
+    public Graph<ComponentVertex, DefaultEdge> getShortestCycles() {
+        return CycleAnalyzer.toWitnessGraph(CycleAnalyzer.findCyclicComponents(requirerGraph));
     }
 
     private Graph<ComponentVertex, DefaultEdge> buildGraph(final List<XComponentDTO> components) {
@@ -120,6 +113,9 @@ public final class RuntimeComponentGraph {
 
     private void prepareEdges(final List<XComponentDTO> components,
                               final List<Entry<XComponentDTO, XComponentDTO>> edges) {
+        final Map<String, XComponentDTO> componentsByName = Maps.newHashMap();
+        components.forEach(c -> componentsByName.putIfAbsent(c.name, c));
+
         for (final XComponentDTO sourceComponent : components) {
             final var boundServices         = sourceComponent.satisfiedReferences;
             final var componentNameProperty = "component.name";
@@ -127,75 +123,19 @@ public final class RuntimeComponentGraph {
                 final var srvRefDTOs = refDTO.serviceReferences;
 
                 for (final ServiceReferenceDTO srvRefDTO : srvRefDTOs) {
-                    final var     property = (String) srvRefDTO.properties.get(componentNameProperty);
-                    XComponentDTO targetComponent;
+                    final var property = (String) srvRefDTO.properties.get(componentNameProperty);
                     if (property == null) { // not a DS component
                         continue;
                     }
-                    targetComponent = findComponentByName(components, property);
+                    final var targetComponent = componentsByName.get(property);
                     edges.add(new SimpleEntry<>(sourceComponent, targetComponent));
                 }
             }
         }
     }
 
-    private XComponentDTO findComponentByName(final List<XComponentDTO> components, final String name) {
-        return components.stream().filter(c -> name.equals(c.name)).findAny().orElse(null);
-    }
-
     private ComponentVertex toVertex(final XComponentDTO component) {
         return new ComponentVertex(component.name);
     }
 
-    public static class CircularLinkedList {
-
-        private CircularLinkedList() {
-            throw new IllegalAccessError("Cannot be instantiated");
-        }
-
-        public static class Node<E> {
-
-            private final E data;
-            private Node<E> next;
-
-            public Node(final E data) {
-                this.data = data;
-            }
-
-            public E getData() {
-                return data;
-            }
-
-            public Node<E> getNext() {
-                return next;
-            }
-
-            public void setNext(final Node<E> next) {
-                this.next = next;
-            }
-        }
-
-        public static <E> Node<E> create(final List<E> components) {
-            Node<E> nodeTop = null;
-            if (components == null || components.isEmpty()) {
-                return nodeTop;
-            }
-            Node<E> nodeBottom = null;
-            Node<E> nodeCurr   = null;
-
-            for (final E component : components) {
-                nodeCurr = new Node<>(component);
-                if (nodeTop == null) {
-                    nodeTop = nodeCurr;
-                } else {
-                    nodeBottom.setNext(nodeCurr);
-                }
-                nodeBottom = nodeCurr;
-                nodeBottom.setNext(nodeTop);
-            }
-            return nodeTop;
-        }
-
-    }
-
 }
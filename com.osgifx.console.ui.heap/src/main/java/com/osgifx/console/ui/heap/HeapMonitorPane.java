@@ -15,12 +15,17 @@
  ******************************************************************************/
 package com.osgifx.console.ui.heap;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -39,6 +44,8 @@ import com.osgifx.console.agent.dto.XHeapUsageDTO;
 import com.osgifx.console.agent.dto.XHeapUsageDTO.XGarbageCollectorMXBean;
 import com.osgifx.console.agent.dto.XHeapUsageDTO.XMemoryPoolMXBean;
 import com.osgifx.console.agent.dto.XHeapUsageDTO.XMemoryUsage;
+import com.osgifx.console.agent.dto.XHeapdumpDTO;
+import com.osgifx.console.agent.dto.XResultDTO;
 import com.osgifx.console.data.provider.DataProvider;
 import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
@@ -79,7 +86,9 @@ import javafx.util.Duration;
 @Creatable
 public final class HeapMonitorPane extends BorderPane {
 
-    private static final double REFRESH_DELAY = 2;
+    private static final double REFRESH_DELAY               = 2;
+    private static final int    HEAPDUMP_CHUNK_SIZE         = 4 * 1024 * 1024;
+    private static final int    HEAPDUMP_CHUNK_MAX_ATTEMPTS = 3;
 
     private final List<HeapMonitorChart> memoryUsageCharts = Lists.newArrayList();
     private final StringProperty         totalUsedHeap     = new SimpleStringProperty();
@@ -330,16 +339,47 @@ public final class HeapMonitorPane extends BorderPane {
         if (location == null) {
             return;
         }
-        final var agent = supervisor.getAgent();
+        final var agent                      = supervisor.getAgent();
+        final var isChunkedTransferSupported = supervisor.isNegotiated();
+        final var heapdumpFile               = new File(location, IO.prepareFilenameFor("hprof"));
 
-        final Task<byte[]> heapdumpTask = new Task<>() {
+        final Task<File> heapdumpTask = new Task<>() {
 
             @Override
-            protected byte[] call() throws Exception {
+            protected File call() throws Exception {
                 try {
                     updateMessage("Capturing heapdump");
-                    return agent.heapdump();
+                    if (!isChunkedTransferSupported) {
+                        // older agents do not answer the unknown calls and the caller would wait for the timeout
+                        final var heapdump = agent.heapdump();
+                        if (heapdump == null) {
+                            throw new IOException("Heapdump cannot be captured in the remote runtime");
+                        }
+                        FileUtils.writeByteArrayToFile(heapdumpFile, heapdump);
+                        return heapdumpFile;
+                    }
+                    final var heapdump = agent.captureHeapdump();
+                    if (heapdump == null) {
+                        // timed out or not supported by the remote runtime which must not trigger a second dump
+                        throw new IOException("Heapdump cannot be captured in the remote runtime");
+                    }
+                    try {
+                        transfer(heapdump);
+                    } catch (final Exception e) {
+                        deleteRemoteHeapdump(heapdump.id);
+                        throw e;
+                    }
+                    deleteRemoteHeapdump(heapdump.id);
+                    if (isCancelled()) {
+                        FileUtils.deleteQuietly(heapdumpFile);
+                        return null;
+                    }
+                    return heapdumpFile;
                 } catch (final Exception e) {
+                    FileUtils.deleteQuietly(heapdumpFile);
+                    if (isCancelled()) {
+                        return null;
+                    }
                     logger.atError().withException(e).log("Cannot capture heapdump");
                     threadSync.asyncExec(() -> {
                         progressDialog.close();
@@ -348,19 +388,64 @@ public final class HeapMonitorPane extends BorderPane {
                     throw e;
                 }
             }
+
+            private void transfer(final XHeapdumpDTO heapdump) throws Exception {
+                final var size = heapdump.size;
+                try (var out = new BufferedOutputStream(new FileOutputStream(heapdumpFile))) {
+                    var offset   = 0L;
+                    var attempts = 0;
+                    while (offset < size && !isCancelled()) {
+                        updateMessage("Transferring heapdump (" + FileUtils.byteCountToDisplaySize(offset) + " / "
+                                + FileUtils.byteCountToDisplaySize(size) + ")");
+                        updateProgress(offset, size);
+                        final byte[] chunk;
+                        try {
+                            chunk = agent.readHeapdumpChunk(heapdump.id, offset, HEAPDUMP_CHUNK_SIZE, true);
+                        } catch (final Exception e) {
+                            // resume from the last successfully written offset
+                            if (++attempts > HEAPDUMP_CHUNK_MAX_ATTEMPTS) {
+                                throw e;
+                            }
+                            logger.atWarning().withException(e).log("Retrying heapdump chunk at offset %s", offset);
+                            continue;
+                        }
+                        if (chunk == null) {
+                            if (++attempts > HEAPDUMP_CHUNK_MAX_ATTEMPTS) {
+                                throw new IOException("Heapdump chunk at offset " + offset + " cannot be read");
+                            }
+                            logger.atWarning().log("Retrying heapdump chunk at offset %s", offset);
+                            continue;
+                        }
+                        attempts = 0;
+                        if (chunk.length == 0) {
+                            break;
+                        }
+                        offset += gunzip(chunk, out);
+                    }
+                    if (offset < size && !isCancelled()) {
+                        throw new IOException("Heapdump transfer ended prematurely at " + offset + " of " + size
+                                + " bytes");
+                    }
+                }
+                updateProgress(size, size);
+            }
+
+            private void deleteRemoteHeapdump(final String id) {
+                try {
+                    final var result = agent.deleteHeapdump(id);
+                    if (result == null || result.result != XResultDTO.SUCCESS) {
+                        logger.atWarning().log("Remote heapdump '%s' cannot be deleted - %s", id,
+                                result == null ? null : result.response);
+                    }
+                } catch (final Exception e) {
+                    logger.atWarning().withException(e).log("Remote heapdump '%s' cannot be deleted", id);
+                }
+            }
         };
-        heapdumpTask.valueProperty().addListener((ChangeListener<byte[]>) (obs, oldValue, newValue) -> {
+        heapdumpTask.valueProperty().addListener((ChangeListener<File>) (obs, oldValue, newValue) -> {
             if (newValue != null) {
-                threadSync.asyncExec(() -> {
-                    try {
-                        final var heapdumpFile = new File(location, IO.prepareFilenameFor("hprof"));
-                        FileUtils.writeByteArrayToFile(heapdumpFile, newValue);
-                        threadSync.asyncExec(() -> Fx.showSuccessNotification("Heapdump Successfully Captured",
-                                heapdumpFile.getAbsolutePath()));
-                    } catch (final IOException e) {
-                        FxDialog.showExceptionDialog(e, getClass().getClassLoader());
-                    }
-                });
+                threadSync.asyncExec(() -> Fx.showSuccessNotification("Heapdump Successfully Captured",
+                        newValue.getAbsolutePath()));
             }
         });
         final var taskFuture = executor.runAsync(heapdumpTask);
@@ -368,6 +453,12 @@ public final class HeapMonitorPane extends BorderPane {
                 () -> taskFuture.cancel(true));
     }
 
+    private static long gunzip(final byte[] chunk, final OutputStream out) throws IOException {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(chunk))) {
+            return in.transferTo(out);
+        }
+    }
+
     private Pane createLeftPane() {
         final var gridPane = new GridPane();
 
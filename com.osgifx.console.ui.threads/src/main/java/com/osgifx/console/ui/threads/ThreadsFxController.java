@@ -15,6 +15,8 @@
  ******************************************************************************/
 package com.osgifx.console.ui.threads;
 
+import java.util.function.Function;
+
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -24,10 +26,13 @@ import org.eclipse.fx.core.log.Log;
 
 import com.osgifx.console.agent.dto.XThreadDTO;
 import com.osgifx.console.data.provider.DataProvider;
+import com.osgifx.console.util.fx.ConsoleFxHelper;
 import com.osgifx.console.util.fx.DTOCellValueFactory;
 import com.osgifx.console.util.fx.Fx;
 
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.fxml.FXML;
+import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.paint.Color;
@@ -55,6 +60,10 @@ public final class ThreadsFxController {
     private TableColumn<XThreadDTO, String> isDaemonColumn;
     @FXML
     private TableColumn<XThreadDTO, String> isDeadlockedColumn;
+    @FXML
+    private TableColumn<XThreadDTO, Double> cpuUsageColumn;
+    @FXML
+    private TableColumn<XThreadDTO, Long>   allocationRateColumn;
     @Inject
     @Named("is_connected")
     private boolean                         isConnected;
@@ -90,8 +99,31 @@ public final class ThreadsFxController {
         isDeadlockedColumn.setCellValueFactory(new DTOCellValueFactory<>("isDeadlocked", String.class));
         Fx.addCellFactory(isDeadlockedColumn, b -> b.isDeadlocked, Color.RED, Color.BLACK);
 
+        // the numeric values are kept to sort the threads by their resource consumption
+        cpuUsageColumn.setCellValueFactory(p -> new SimpleObjectProperty<>(p.getValue().cpuUsage));
+        cpuUsageColumn.setCellFactory(c -> new FormattingCell<>(usage -> usage < 0 ? "-" : String.format("%.1f", usage)));
+
+        allocationRateColumn.setCellValueFactory(p -> new SimpleObjectProperty<>(p.getValue().allocationRate));
+        allocationRateColumn.setCellFactory(c -> new FormattingCell<>(
+                rate -> rate < 0 ? "-" : ConsoleFxHelper.humanReadableByteCount(rate) + "/s"));
+
         table.setItems(dataProvider.threads());
         TableFilter.forTableView(table).lazy(true).apply();
     }
 
+    private static final class FormattingCell<T> extends TableCell<XThreadDTO, T> {
+
+        private final Function<T, String> formatter;
+
+        private FormattingCell(final Function<T, String> formatter) {
+            this.formatter = formatter;
+        }
+
+        @Override
+        protected void updateItem(final T item, final boolean empty) {
+            super.updateItem(item, empty);
+            setText(empty || item == null ? null : formatter.apply(item));
+        }
+    }
+
 }
@@ -15,6 +15,8 @@
  ******************************************************************************/
 package com.osgifx.console.util.fx;
 
+import java.text.CharacterIterator;
+import java.text.StringCharacterIterator;
 import java.util.Collection;
 import java.util.List;
 
@@ -39,6 +41,21 @@ public final class ConsoleFxHelper {
         return source;
     }
 
+    /**
+     * Formats the specified number of bytes using SI units, e.g. {@code 1.5 MB}
+     */
+    public static String humanReadableByteCount(long bytes) {
+        if (-1000 < bytes && bytes < 1000) {
+            return bytes + " B";
+        }
+        final CharacterIterator ci = new StringCharacterIterator("kMGTPE");
+        while (bytes <= -999_950 || bytes >= 999_950) {
+            bytes /= 1000;
+            ci.next();
+        }
+        return String.format("%.1f %cB", bytes / 1000.0, ci.current());
+    }
+
     public static boolean validateTopic(final String topic) {
         if (StringUtils.isBlank(topic)) {
             return false;
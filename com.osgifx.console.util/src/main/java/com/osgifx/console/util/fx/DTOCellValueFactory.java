@@ -16,12 +16,17 @@
 package com.osgifx.console.util.fx;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.invoke.MethodType.methodType;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.util.function.Function;
 
 import org.osgi.util.converter.Converter;
 import org.osgi.util.converter.Converters;
 
+import com.google.common.primitives.Primitives;
+
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.control.TableColumn.CellDataFeatures;
@@ -29,10 +34,11 @@ import javafx.util.Callback;
 
 public final class DTOCellValueFactory<S, T> implements Callback<CellDataFeatures<S, T>, ObservableValue<T>> {
 
-    private final Class<T>  clazz;
-    private final String    property;
-    private final Converter converter;
-    private Function<S, T>  nullValueReplacer;
+    private final Class<T>       clazz;
+    private final String         property;
+    private final Converter      converter;
+    private Function<S, T>       nullValueReplacer;
+    private volatile Accessor<T> accessor;
 
     public DTOCellValueFactory(final String property, final Class<T> clazz) {
         this(property, clazz, null);
@@ -48,11 +54,16 @@ public final class DTOCellValueFactory<S, T> implements Callback<CellDataFeature
     @Override
     public ObservableValue<T> call(final CellDataFeatures<S, T> celldata) {
         final var source = celldata.getValue();
-        T         value  = null;
+        var       access = accessor;
+        if (access == null || access.type() != source.getClass()) {
+            // the rows of a column are usually of the same type and hence, this is resolved only once
+            access   = resolve(source.getClass());
+            accessor = access;
+        }
+        T value = null;
         try {
-            final var field = source.getClass().getField(property);
-            value = converter.convert(field.get(source)).to(clazz);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
+            value = access.get(source);
+        } catch (final IllegalArgumentException e) {
             // nothing to do as we have to check for the null value replacer
         }
         if (value == null && nullValueReplacer != null) {
@@ -61,4 +72,37 @@ public final class DTOCellValueFactory<S, T> implements Callback<CellDataFeature
         return new ReadOnlyObjectWrapper<>(value);
     }
 
+    private Accessor<T> resolve(final Class<?> type) {
+        try {
+            final var field  = type.getField(property);
+            final var getter = MethodHandles.publicLookup().unreflectGetter(field)
+                    .asType(methodType(Object.class, Object.class));
+            // values which are already of the requested type need not be converted at all
+            final Function<Object, T> conversion = clazz.isAssignableFrom(Primitives.wrap(field.getType()))
+                    ? clazz::cast
+                    : v -> converter.convert(v).to(clazz);
+            return new Accessor<>(type, getter, conversion);
+        } catch (NoSuchFieldException | SecurityException | IllegalAccessException e) {
+            // nothing to do as we have to check for the null value replacer
+            return new Accessor<>(type, null, null);
+        }
+    }
+
+    private record Accessor<T>(Class<?> type, MethodHandle getter, Function<Object, T> conversion) {
+
+        T get(final Object source) {
+            if (getter == null) {
+                return null;
+            }
+            try {
+                return conversion.apply((Object) getter.invokeExact(source));
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable e) {
+                // a field getter never throws checked exceptions
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
 }